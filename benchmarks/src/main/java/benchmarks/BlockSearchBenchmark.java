@@ -0,0 +1,161 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import utils.BlockGeometry;
+import utils.BlockSizing;
+import utils.BlockStructure;
+import utils.SearchMode;
+import utils.TraceMode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda secuencial y binaria por bloques (BlockStructure) sobre una estructura llena y ordenada;
+ * dentro del bloque se comparan las estrategias binaria, por interpolación y exponencial.
+ * Además de ops/s se informan los totales de búsquedas y de accesos a bloques y a elementos;
+ * blockAccesses / lookups y elementAccesses / lookups dan el promedio por búsqueda.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockSearchBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int totalElements;
+
+    // Con más de 9 dígitos la comparación ya no cabe en un int y pasa a ser de texto
+    @Param({"7", "9", "12"})
+    private int keyLength;
+
+    // FULL reproduce el costo de registrar cada paso como lo hacen las ventanas
+    @Param({"COUNTS_ONLY", "FULL"})
+    private TraceMode traceMode;
+
+    // SQRT: √n bloques; BYTES: bloques de una página (BlockGeometry.PAGE_SIZE bytes)
+    @Param({"SQRT", "BYTES"})
+    private BlockSizing blockSizing;
+
+    private BlockStructure structure;
+    private String[] present;
+    private String[] absent;
+    private int presentCursor;
+    private int absentCursor;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Accesses {
+        public long lookups;
+        public long blockAccesses;
+        public long elementAccesses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lookups = 0;
+            blockAccesses = 0;
+            elementAccesses = 0;
+        }
+
+        BlockStructure.SearchResult record(BlockStructure.SearchResult result) {
+            lookups++;
+            blockAccesses += result.blockAccesses;
+            elementAccesses += result.elementAccesses;
+            return result;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void fillStructure() throws Exception {
+        structure = new BlockStructure(BlockGeometry.of(blockSizing, totalElements, keyLength, BlockGeometry.PAGE_SIZE));
+        structure.initialize();
+        structure.setPacked(true);
+
+        int capacity = structure.getTotalElements();
+        Set<String> used = new HashSet<>();
+        String[] keys = Keys.distinct(capacity, keyLength, 42, used);
+        absent = Keys.distinct(Math.min(capacity, 4096), keyLength, 43, used);
+
+        int index = 0;
+        for (int block = 0; block < structure.getNumBlocks(); block++) {
+            for (int position = 0; position < structure.getBlockSize(block); position++) {
+                structure.insertAt(keys[index++], block, position);
+            }
+        }
+        structure.sort();
+
+        // Consultar en orden aleatorio para no favorecer la caché
+        List<String> shuffled = Arrays.asList(keys);
+        Collections.shuffle(shuffled, new Random(44));
+        present = shuffled.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult linearSearchHit(Accesses accesses) {
+        return accesses.record(structure.linearSearch(nextPresent(), traceMode));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult linearSearchMiss(Accesses accesses) {
+        return accesses.record(structure.linearSearch(nextAbsent(), traceMode));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult parallelLinearSearchHit(Accesses accesses) {
+        return accesses.record(structure.parallelLinearSearch(nextPresent()));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult parallelLinearSearchMiss(Accesses accesses) {
+        return accesses.record(structure.parallelLinearSearch(nextAbsent()));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult binarySearchHit(Accesses accesses) throws Exception {
+        return accesses.record(structure.binarySearch(nextPresent(), traceMode));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult binarySearchMiss(Accesses accesses) throws Exception {
+        return accesses.record(structure.binarySearch(nextAbsent(), traceMode));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult interpolationSearchHit(Accesses accesses) throws Exception {
+        return accesses.record(structure.binarySearch(nextPresent(), traceMode, SearchMode.INTERPOLATION));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult interpolationSearchMiss(Accesses accesses) throws Exception {
+        return accesses.record(structure.binarySearch(nextAbsent(), traceMode, SearchMode.INTERPOLATION));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult exponentialSearchHit(Accesses accesses) throws Exception {
+        return accesses.record(structure.binarySearch(nextPresent(), traceMode, SearchMode.EXPONENTIAL));
+    }
+
+    @Benchmark
+    public BlockStructure.SearchResult exponentialSearchMiss(Accesses accesses) throws Exception {
+        return accesses.record(structure.binarySearch(nextAbsent(), traceMode, SearchMode.EXPONENTIAL));
+    }
+
+    private String nextPresent() {
+        String key = present[presentCursor];
+        presentCursor = (presentCursor + 1) % present.length;
+        return key;
+    }
+
+    private String nextAbsent() {
+        String key = absent[absentCursor];
+        absentCursor = (absentCursor + 1) % absent.length;
+        return key;
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import utils.HashFunction;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de las cuatro funciones hash, con y sin la conversión de la clave de texto a número.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashFunctionBenchmark {
+    private static final int KEY_COUNT = 4096;
+
+    @Param({"MOD", "MID_SQUARE", "FOLDING", "TRUNCATION"})
+    private String hashFunction;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private HashFunction function;
+    private String[] keys;
+    private long[] numericKeys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void createKeys() throws Exception {
+        int keyLength = Keys.keyLengthFor(size);
+        function = Keys.hashFunction(hashFunction, size, keyLength);
+        keys = Keys.distinct(KEY_COUNT, keyLength, 42);
+
+        numericKeys = new long[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            numericKeys[i] = HashFunction.toNumericKey(keys[i]);
+        }
+    }
+
+    @Benchmark
+    public int hashNumeric() {
+        cursor = (cursor + 1) & (KEY_COUNT - 1);
+        return function.hash(numericKeys[cursor]);
+    }
+
+    @Benchmark
+    public int hashText() throws Exception {
+        cursor = (cursor + 1) & (KEY_COUNT - 1);
+        return function.hash(HashFunction.toNumericKey(keys[cursor]));
+    }
+}
@@ -0,0 +1,116 @@
+package benchmarks;
+
+import motor.CollisionMethod;
+import motor.HashEngine;
+import motor.StepLogger;
+import org.openjdk.jmh.annotations.*;
+import utils.DataStructure;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserción, búsqueda y eliminación en tablas hash sobre DataStructure (HashEngine),
+ * por tamaño, factor de carga, método de colisión y función hash.
+ * Antes de cada iteración la tabla se llena hasta el factor de carga.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"0.25", "0.5", "0.75", "0.95"})
+    private double loadFactor;
+
+    @Param({"LINEAR_PROBING", "QUADRATIC_PROBING", "NESTED", "LINKED"})
+    private CollisionMethod collisionMethod;
+
+    // MOD, MID_SQUARE, FOLDING o TRUNCATION (-p hashFunction=...)
+    @Param({"MOD"})
+    private String hashFunction;
+
+    private HashEngine engine;
+    private String[] present;
+    private String[] absent;
+    private int searchCursor;
+    private int fillCursor;
+
+    @Setup(Level.Trial)
+    public void createKeys() {
+        int keyLength = Keys.keyLengthFor(size);
+        int count = Math.max(1, (int) (size * loadFactor));
+        Set<String> used = new HashSet<>();
+
+        present = Keys.distinct(count, keyLength, 42, used);
+        absent = Keys.distinct(count, keyLength, 43, used);
+    }
+
+    @Setup(Level.Iteration)
+    public void fillTable() throws Exception {
+        int keyLength = Keys.keyLengthFor(size);
+        DataStructure structure = new DataStructure(size, keyLength);
+        structure.initialize();
+        engine = new HashEngine(structure, Keys.hashFunction(hashFunction, size, keyLength),
+                collisionMethod, StepLogger.NONE);
+
+        for (String key : present) {
+            tryInsert(key);
+        }
+        searchCursor = 0;
+        fillCursor = present.length;
+    }
+
+    @Benchmark
+    public HashEngine.Lookup searchHit() throws Exception {
+        return engine.search(nextPresent());
+    }
+
+    @Benchmark
+    public HashEngine.Lookup searchMiss() throws Exception {
+        String key = absent[searchCursor];
+        searchCursor = (searchCursor + 1) % absent.length;
+        return engine.search(key);
+    }
+
+    // Llena la tabla desde vacía hasta el factor de carga; al completarse la vacía y vuelve a empezar
+    @Benchmark
+    public int insert() {
+        if (fillCursor == present.length) {
+            engine.clear();
+            fillCursor = 0;
+        }
+        return tryInsert(present[fillCursor++]);
+    }
+
+    // Elimina una clave y la vuelve a insertar: la carga se mantiene y se ejercitan las marcas DELETED
+    @Benchmark
+    public int deleteInsert() throws Exception {
+        String key = nextPresent();
+        if (!engine.delete(key)) {
+            return -1;
+        }
+        return tryInsert(key);
+    }
+
+    private String nextPresent() {
+        String key = present[searchCursor];
+        searchCursor = (searchCursor + 1) % present.length;
+        return key;
+    }
+
+    // Con sondeo cuadrático algunas claves no encuentran posición; se cuentan como -1
+    private int tryInsert(String key) {
+        try {
+            return engine.insert(key);
+        } catch (Exception ex) {
+            return -1;
+        }
+    }
+}
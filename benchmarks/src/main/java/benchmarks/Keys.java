@@ -0,0 +1,60 @@
+package benchmarks;
+
+import utils.FoldingHash;
+import utils.HashFunction;
+import utils.MidSquareHash;
+import utils.ModHash;
+import utils.TruncationHash;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+// Claves y funciones hash compartidas por los benchmarks
+final class Keys {
+
+    private Keys() {
+    }
+
+    // Dos dígitos más que el tamaño para que sobren claves distintas
+    static int keyLengthFor(int size) {
+        return String.valueOf(size).length() + 2;
+    }
+
+    // count claves distintas de keyLength dígitos (con ceros a la izquierda), siempre las mismas para una semilla
+    static String[] distinct(int count, int keyLength, long seed) {
+        return distinct(count, keyLength, seed, new HashSet<>());
+    }
+
+    // Igual que distinct pero sin repetir ninguna de las claves ya usadas
+    static String[] distinct(int count, int keyLength, long seed, Set<String> used) {
+        Random random = new Random(seed);
+        long bound = HashFunction.POWERS_OF_TEN[keyLength];
+        String format = "%0" + keyLength + "d";
+        String[] keys = new String[count];
+
+        int generated = 0;
+        while (generated < count) {
+            String key = String.format(format, (random.nextLong() & Long.MAX_VALUE) % bound);
+            if (used.add(key)) {
+                keys[generated++] = key;
+            }
+        }
+        return keys;
+    }
+
+    static HashFunction hashFunction(String name, int size, int keyLength) throws Exception {
+        switch (name) {
+            case "MOD":
+                return new ModHash(size);
+            case "MID_SQUARE":
+                return new MidSquareHash(size, keyLength);
+            case "FOLDING":
+                return new FoldingHash(size, keyLength, 2);
+            case "TRUNCATION":
+                return new TruncationHash(size, keyLength, "1,2,3,4,5,6,7");
+            default:
+                throw new Exception("Función hash desconocida: " + name);
+        }
+    }
+}
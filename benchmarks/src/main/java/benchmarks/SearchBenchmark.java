@@ -0,0 +1,91 @@
+package benchmarks;
+
+import motor.ParallelSearch;
+import motor.SearchEngine;
+import org.openjdk.jmh.annotations.*;
+import utils.DataStructure;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda lineal (secuencial, por tramos y paralela), binaria, por interpolación, exponencial y Eytzinger (SearchEngine) sobre una DataStructure llena y ordenada,
+ * y el costo de eliminar y reinsertar una clave en modo ordenado (desplazamientos con arraycopy).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private DataStructure structure;
+    private String[] keys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void fillStructure() throws Exception {
+        int keyLength = Keys.keyLengthFor(size);
+        keys = Keys.distinct(size, keyLength, 42);
+
+        structure = new DataStructure(size, keyLength);
+        structure.initialize();
+        for (String key : keys) {
+            structure.insert(key);
+        }
+        structure.setKeepSorted(true);
+        // La copia Eytzinger se construye una vez, fuera de la medición
+        structure.getEytzingerLayout();
+    }
+
+    @Benchmark
+    public int linearSearch() {
+        return SearchEngine.linearSearch(structure, nextKey(), null);
+    }
+
+    @Benchmark
+    public int chunkedLinearSearch() {
+        return SearchEngine.chunkedLinearSearch(structure, nextKey(), null);
+    }
+
+    @Benchmark
+    public int parallelLinearSearch() {
+        return ParallelSearch.linearSearch(structure, nextKey());
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return SearchEngine.binarySearch(structure, nextKey(), null);
+    }
+
+    @Benchmark
+    public int interpolationSearch() {
+        return SearchEngine.interpolationSearch(structure, nextKey(), null);
+    }
+
+    @Benchmark
+    public int exponentialSearch() {
+        return SearchEngine.exponentialSearch(structure, nextKey(), null);
+    }
+
+    @Benchmark
+    public int eytzingerSearch() {
+        return SearchEngine.eytzingerSearch(structure, nextKey(), null);
+    }
+
+    @Benchmark
+    public int sortedDeleteInsert() throws Exception {
+        String key = nextKey();
+        structure.remove(key);
+        return structure.insert(key);
+    }
+
+    private String nextKey() {
+        String key = keys[cursor];
+        cursor = (cursor + 1) % keys.length;
+        return key;
+    }
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import utils.BlockStructure;
+import utils.DataStructure;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordenamiento completo de una DataStructure (claves numéricas en su long[]) y de una
+ * BlockStructure (claves normalizadas entre bloques). Antes de cada invocación se vuelve
+ * a cargar la estructura desordenada; esa carga no se mide.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private String[] keys;
+    private DataStructure structure;
+    private BlockStructure blockStructure;
+
+    @Setup(Level.Trial)
+    public void createKeys() {
+        keys = Keys.distinct(size, Keys.keyLengthFor(size), 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillStructures() throws Exception {
+        int keyLength = Keys.keyLengthFor(size);
+
+        structure = new DataStructure(size, keyLength);
+        structure.initialize();
+        for (String key : keys) {
+            structure.insert(key);
+        }
+
+        blockStructure = new BlockStructure(size, keyLength);
+        blockStructure.initialize();
+        int index = 0;
+        for (int block = 0; block < blockStructure.getNumBlocks(); block++) {
+            for (int position = 0; position < blockStructure.getBlockSize(block); position++) {
+                blockStructure.insertAt(keys[index++], block, position);
+            }
+        }
+    }
+
+    @Benchmark
+    public DataStructure sortDataStructure() {
+        structure.sort();
+        return structure;
+    }
+
+    @Benchmark
+    public BlockStructure sortBlockStructure() {
+        blockStructure.sort();
+        return blockStructure;
+    }
+}
@@ -1,5 +1,6 @@
 package arboles;
 
+import motor.DigitalTreeEngine;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -12,7 +13,7 @@ public class ArbolesDigitales extends AlgorithmWindow {
     private JTextField messageField, individualCharField;
     private JButton buildTreeButton, insertCharButton, searchCharButton, deleteCharButton;
     private TreeVisualization treeVisualization;
-    private TreeNode root;
+    private DigitalTreeEngine engine;
     private List<Character> insertedCharacters;
 
     public ArbolesDigitales(JFrame parent) {
@@ -20,6 +21,7 @@ public class ArbolesDigitales extends AlgorithmWindow {
         logToTerminal("Sistema de Árboles Digitales iniciado", "info");
         logToTerminal("Algoritmo: Últimos 5 bits del código ASCII", "info");
         insertedCharacters = new ArrayList<>();
+        engine = new DigitalTreeEngine(getStepLogger());
         initializeTreeVisualization();
     }
 
@@ -117,7 +119,7 @@ public class ArbolesDigitales extends AlgorithmWindow {
             }
 
             // Reinicializar estructura
-            root = null;
+            engine.clear();
             insertedCharacters.clear();
             treeVisualization.setRoot(null);
 
@@ -138,7 +140,7 @@ public class ArbolesDigitales extends AlgorithmWindow {
             for (Character character : uniqueChars) {
                 int ascii = (int) character;
                 String fullBinary = Integer.toBinaryString(ascii);
-                String last5Bits = getLast5Bits(fullBinary);
+                String last5Bits = DigitalTreeEngine.getLast5Bits(fullBinary);
                 logToTerminal(String.format("%d\t%c\t%s\t\t%s", ascii, character, fullBinary, last5Bits), "info");
             }
 
@@ -146,11 +148,11 @@ public class ArbolesDigitales extends AlgorithmWindow {
 
             // Insertar cada carácter único del mensaje
             for (Character character : uniqueChars) {
-                insertDigitalNode(character);
+                engine.insert(character);
                 insertedCharacters.add(character);
             }
 
-            treeVisualization.setRoot(root);
+            treeVisualization.setRoot(engine.getRoot());
             logToTerminal("Árbol digital construido exitosamente", "success");
             logToTerminal("Use el mouse para navegar: arrastrar (mover), rueda (zoom), clic (seleccionar)", "info");
             showTreeStructure();
@@ -174,10 +176,10 @@ public class ArbolesDigitales extends AlgorithmWindow {
                 throw new Exception(String.format("El carácter '%c' ya existe en el árbol", character));
             }
 
-            insertDigitalNode(character);
+            engine.insert(character);
             insertedCharacters.add(character);
 
-            treeVisualization.setRoot(root);
+            treeVisualization.setRoot(engine.getRoot());
             individualCharField.setText("");
 
         } catch (Exception ex) {
@@ -185,126 +187,6 @@ public class ArbolesDigitales extends AlgorithmWindow {
         }
     }
 
-    private void insertDigitalNode(char character) throws Exception {
-        int ascii = (int) character;
-        String fullBinary = Integer.toBinaryString(ascii);
-        String last5Bits = getLast5Bits(fullBinary);
-
-        logToTerminal(String.format("Insertando '%c': ASCII=%d, Binario=%s, LSB5=%s",
-                character, ascii, fullBinary, last5Bits), "info");
-
-        // Verificar si ya existe un nodo con este camino
-        TreeNode existingNode = findNodeByPath(last5Bits);
-        if (existingNode != null && existingNode.data != null) {
-            throw new Exception(String.format("Colisión: ya existe el carácter '%c' en la ruta %s",
-                    existingNode.data, last5Bits));
-        }
-
-        if (root == null) {
-            root = new TreeNode();
-            root.level = 0;
-        }
-
-        TreeNode current = root;
-
-        // Navegar/crear el camino hasta el nodo final
-        for (int i = 0; i < last5Bits.length(); i++) {
-            char bit = last5Bits.charAt(i);
-
-            logToTerminal(String.format("  Bit %d: '%c' → %s",
-                    i + 1, bit, bit == '0' ? "izquierda" : "derecha"), "info");
-
-            if (i == last5Bits.length() - 1) {
-                // Último bit - aquí va el carácter
-                TreeNode leafNode = new TreeNode(character);
-                leafNode.ascii = ascii;
-                leafNode.binaryPath = last5Bits;
-                leafNode.level = current.level + 1;
-                leafNode.parent = current;
-                leafNode.isLeaf = true;
-
-                if (bit == '0') {
-                    if (current.left != null) {
-                        throw new Exception("Posición ya ocupada en ruta izquierda");
-                    }
-                    current.left = leafNode;
-                } else {
-                    if (current.right != null) {
-                        throw new Exception("Posición ya ocupada en ruta derecha");
-                    }
-                    current.right = leafNode;
-                }
-
-                logToTerminal(String.format("Carácter '%c' insertado en posición final", character), "success");
-
-            } else {
-                // Bit intermedio - crear o navegar nodo interno
-                TreeNode nextNode;
-
-                if (bit == '0') {
-                    if (current.left == null) {
-                        current.left = new TreeNode(); // Nodo interno sin data
-                        current.left.parent = current;
-                        current.left.level = current.level + 1;
-                        current.left.isLeaf = false;
-                    }
-                    nextNode = current.left;
-                } else {
-                    if (current.right == null) {
-                        current.right = new TreeNode(); // Nodo interno sin data
-                        current.right.parent = current;
-                        current.right.level = current.level + 1;
-                        current.right.isLeaf = false;
-                    }
-                    nextNode = current.right;
-                }
-
-                // Verificar que no sea un nodo hoja existente
-                if (nextNode.data != null) {
-                    throw new Exception(String.format("Colisión: el camino está bloqueado por '%c'", nextNode.data));
-                }
-
-                current = nextNode;
-            }
-        }
-
-        logToTerminal(String.format("Carácter '%c' insertado exitosamente (ruta: %s)",
-                character, last5Bits), "success");
-    }
-
-    private String getLast5Bits(String binary) {
-        if (binary.length() <= 5) {
-            // Rellenar con ceros a la izquierda si es necesario
-            while (binary.length() < 5) {
-                binary = "0" + binary;
-            }
-            return binary;
-        } else {
-            // Tomar los últimos 5 bits
-            return binary.substring(binary.length() - 5);
-        }
-    }
-
-    private TreeNode findNodeByPath(String binaryPath) {
-        if (root == null) return null;
-
-        TreeNode current = root;
-
-        for (char bit : binaryPath.toCharArray()) {
-            if (bit == '0') {
-                current = current.left;
-            } else {
-                current = current.right;
-            }
-
-            if (current == null) {
-                return null;
-            }
-        }
-
-        return current;
-    }
-
     private void searchCharacter(ActionEvent e) {
         try {
             String input = individualCharField.getText().trim().toUpperCase();
@@ -314,7 +196,7 @@ public class ArbolesDigitales extends AlgorithmWindow {
             }
 
             char character = input.charAt(0);
-            TreeNode result = searchDigitalNode(character);
+            TreeNode result = engine.search(character);
 
             if (result != null) {
                 logToTerminal(String.format("Carácter '%c' encontrado", character), "success");
@@ -328,24 +210,6 @@ public class ArbolesDigitales extends AlgorithmWindow {
         }
     }
 
-    private TreeNode searchDigitalNode(char character) {
-        if (root == null) return null;
-
-        int ascii = (int) character;
-        String fullBinary = Integer.toBinaryString(ascii);
-        String last5Bits = getLast5Bits(fullBinary);
-
-        logToTerminal(String.format("Buscando '%c': ruta binaria %s", character, last5Bits), "info");
-
-        TreeNode node = findNodeByPath(last5Bits);
-
-        if (node != null && node.data != null && node.data.equals(character)) {
-            return node;
-        }
-
-        return null;
-    }
-
     private void deleteCharacter(ActionEvent e) {
         try {
             String input = individualCharField.getText().trim().toUpperCase();
@@ -355,12 +219,12 @@ public class ArbolesDigitales extends AlgorithmWindow {
             }
 
             char character = input.charAt(0);
-            boolean deleted = deleteDigitalNode(character);
+            boolean deleted = engine.delete(character);
 
             if (deleted) {
                 logToTerminal(String.format("Carácter '%c' eliminado", character), "success");
                 insertedCharacters.remove(Character.valueOf(character));
-                treeVisualization.setRoot(root);
+                treeVisualization.setRoot(engine.getRoot());
                 individualCharField.setText("");
             } else {
                 logToTerminal(String.format("Carácter '%c' no encontrado", character), "error");
@@ -371,49 +235,8 @@ public class ArbolesDigitales extends AlgorithmWindow {
         }
     }
 
-    private boolean deleteDigitalNode(char character) {
-        TreeNode node = searchDigitalNode(character);
-        if (node == null) return false;
-
-        // Remover el nodo hoja
-        TreeNode parent = node.parent;
-        if (parent != null) {
-            if (parent.left == node) {
-                parent.left = null;
-            } else {
-                parent.right = null;
-            }
-
-            // Limpiar nodos internos innecesarios
-            cleanupEmptyInternalNodes(parent);
-        } else {
-            // Es la raíz
-            root = null;
-        }
-
-        return true;
-    }
-
-    private void cleanupEmptyInternalNodes(TreeNode node) {
-        if (node == null || node == root) return;
-
-        // Solo limpiar si es un nodo interno sin hijos y sin data
-        if (node.data == null && node.left == null && node.right == null) {
-            TreeNode parent = node.parent;
-            if (parent != null) {
-                if (parent.left == node) {
-                    parent.left = null;
-                } else {
-                    parent.right = null;
-                }
-
-                // Continuar limpieza hacia arriba
-                cleanupEmptyInternalNodes(parent);
-            }
-        }
-    }
-
     private void showTreeStructure() {
+        TreeNode root = engine.getRoot();
         if (root == null) {
             logToTerminal("=== ESTRUCTURA DEL ÁRBOL ===", "info");
             logToTerminal("Árbol vacío", "warning");
@@ -469,12 +292,12 @@ public class ArbolesDigitales extends AlgorithmWindow {
                 writer.println("Caracteres_Insertados," + String.join("", insertedCharacters.stream().map(String::valueOf).toArray(String[]::new)));
 
                 writer.println("#ESTRUCTURA_ARBOL");
-                if (root != null) {
-                    exportTreeStructure(writer, root, "");
+                if (engine.getRoot() != null) {
+                    exportTreeStructure(writer, engine.getRoot(), "");
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Árbol exportado exitosamente", "success");
 
@@ -538,13 +361,13 @@ public class ArbolesDigitales extends AlgorithmWindow {
                 JOptionPane.YES_NO_OPTION);
 
         if (option == JOptionPane.YES_OPTION) {
-            root = null;
+            engine.clear();
             messageField.setText("");
             individualCharField.setText("");
             insertedCharacters.clear();
 
             treeVisualization.setRoot(null);
-            terminalArea.setText("");
+            clearTerminal();
 
             logToTerminal("Árbol digital reseteado", "warning");
         }
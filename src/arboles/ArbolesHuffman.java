@@ -1,5 +1,6 @@
 package arboles;
 
+import motor.HuffmanTreeEngine;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -12,16 +13,13 @@ public class ArbolesHuffman extends AlgorithmWindow {
     private JTextField messageField, individualCharField;
     private JButton buildTreeButton, insertCharButton, searchCharButton, deleteCharButton;
     private TreeVisualization treeVisualization;
-    private TreeNode root;
-    private Map<Character, String> huffmanCodes;
-    private Map<Character, Integer> frequencies;
+    private HuffmanTreeEngine engine;
 
     public ArbolesHuffman(JFrame parent) {
         super(parent, "Árboles de Huffman");
         logToTerminal("Sistema de Árboles de Huffman iniciado", "info");
         logToTerminal("Algoritmo: Codificación por frecuencias", "info");
-        huffmanCodes = new HashMap<>();
-        frequencies = new HashMap<>();
+        engine = new HuffmanTreeEngine(getStepLogger());
         initializeTreeVisualization();
     }
 
@@ -117,23 +115,13 @@ public class ArbolesHuffman extends AlgorithmWindow {
                 throw new Exception("Ingrese un mensaje válido");
             }
 
-            root = null;
-            huffmanCodes.clear();
-            frequencies.clear();
-
             logToTerminal(String.format("Construyendo árbol de Huffman para: \"%s\"", message), "info");
             logToTerminal("=== CÁLCULO DE FRECUENCIAS ===", "info");
 
-            // Calcular frecuencias
-            calculateFrequencies(message);
-
-            // Construir árbol de Huffman
-            buildHuffmanTreeFromFrequencies();
+            // Frecuencias, construcción del árbol y códigos
+            engine.build(message);
 
-            // Generar códigos
-            generateHuffmanCodes();
-
-            treeVisualization.setRoot(root);
+            treeVisualization.setRoot(engine.getRoot());
             logToTerminal("Árbol de Huffman construido exitosamente", "success");
             showHuffmanCodes();
 
@@ -142,101 +130,8 @@ public class ArbolesHuffman extends AlgorithmWindow {
         }
     }
 
-    private void calculateFrequencies(String message) {
-        for (char c : message.toCharArray()) {
-            frequencies.put(c, frequencies.getOrDefault(c, 0) + 1);
-        }
-
-        logToTerminal("Tabla de frecuencias:", "info");
-        List<Character> sortedChars = new ArrayList<>(frequencies.keySet());
-        sortedChars.sort(Comparator.comparing(frequencies::get));
-
-        for (char c : sortedChars) {
-            int freq = frequencies.get(c);
-            double prob = (double) freq / message.length();
-            logToTerminal(String.format("  '%c': %d (%.3f)", c, freq, prob), "info");
-        }
-    }
-
-    private void buildHuffmanTreeFromFrequencies() {
-        // Crear cola de prioridad con nodos hoja
-        PriorityQueue<TreeNode> pq = new PriorityQueue<>((a, b) -> {
-            int freqCompare = Integer.compare(a.frequency, b.frequency);
-            if (freqCompare != 0) return freqCompare;
-
-            // En caso de empate, priorizar caracteres individuales
-            if (a.data != null && b.data == null) return -1;
-            if (a.data == null && b.data != null) return 1;
-            if (a.data != null && b.data != null) {
-                return Character.compare((Character) a.data, (Character) b.data);
-            }
-            return 0;
-        });
-
-        // Agregar nodos hoja
-        for (Map.Entry<Character, Integer> entry : frequencies.entrySet()) {
-            TreeNode node = new TreeNode(entry.getKey());
-            node.frequency = entry.getValue();
-            node.isLeaf = true;
-            pq.offer(node);
-        }
-
-        logToTerminal("=== PROCESO DE CONSTRUCCIÓN ===", "info");
-        int step = 1;
-
-        // Construir árbol
-        while (pq.size() > 1) {
-            TreeNode left = pq.poll();
-            TreeNode right = pq.poll();
-
-            TreeNode parent = new TreeNode();
-            parent.frequency = left.frequency + right.frequency;
-            parent.left = left;
-            parent.right = right;
-            parent.isLeaf = false;
-
-            left.parent = parent;
-            right.parent = parent;
-
-            String leftDesc = left.data != null ? "'" + left.data + "'" : "grupo";
-            String rightDesc = right.data != null ? "'" + right.data + "'" : "grupo";
-
-            logToTerminal(String.format("Paso %d: %s(%d) + %s(%d) = %d",
-                    step++, leftDesc, left.frequency, rightDesc, right.frequency, parent.frequency), "info");
-
-            pq.offer(parent);
-        }
-
-        root = pq.poll();
-    }
-
-    private void generateHuffmanCodes() {
-        huffmanCodes.clear();
-        if (root != null) {
-            if (root.data != null) {
-                // Caso especial: solo un carácter
-                huffmanCodes.put((Character) root.data, "0");
-            } else {
-                generateCodesRecursive(root, "");
-            }
-        }
-    }
-
-    private void generateCodesRecursive(TreeNode node, String code) {
-        if (node == null) return;
-
-        if (node.data != null) {
-            // Nodo hoja
-            huffmanCodes.put((Character) node.data, code);
-            node.binaryPath = code;
-        } else {
-            // Nodo interno
-            generateCodesRecursive(node.left, code + "0");
-            generateCodesRecursive(node.right, code + "1");
-        }
-    }
-
     private void showHuffmanCodes() {
+        Map<Character, String> huffmanCodes = engine.getCodes();
         if (huffmanCodes.isEmpty()) {
             logToTerminal("No hay códigos Huffman generados", "warning");
             return;
@@ -255,7 +150,7 @@ public class ArbolesHuffman extends AlgorithmWindow {
         for (Map.Entry<Character, String> entry : sortedCodes) {
             char character = entry.getKey();
             String code = entry.getValue();
-            int frequency = frequencies.get(character);
+            int frequency = engine.getFrequencies().get(character);
 
             logToTerminal(String.format("  '%c': %s (freq: %d, bits: %d)",
                     character, code, frequency, code.length()), "info");
@@ -266,19 +161,10 @@ public class ArbolesHuffman extends AlgorithmWindow {
     }
 
     private void calculateCompressionEfficiency() {
-        if (huffmanCodes.isEmpty() || frequencies.isEmpty()) return;
-
-        int totalChars = frequencies.values().stream().mapToInt(Integer::intValue).sum();
-        int huffmanBits = 0;
+        if (engine.getCodes().isEmpty()) return;
 
-        for (Map.Entry<Character, String> entry : huffmanCodes.entrySet()) {
-            char character = entry.getKey();
-            String code = entry.getValue();
-            int frequency = frequencies.get(character);
-            huffmanBits += frequency * code.length();
-        }
-
-        int originalBits = totalChars * 8; // ASCII estándar
+        int huffmanBits = engine.getEncodedBits();
+        int originalBits = engine.getOriginalBits(); // ASCII estándar
         double compressionRatio = (double) huffmanBits / originalBits;
         double savings = (1 - compressionRatio) * 100;
 
@@ -299,13 +185,14 @@ public class ArbolesHuffman extends AlgorithmWindow {
 
             char character = input.charAt(0);
 
+            Map<Character, String> huffmanCodes = engine.getCodes();
             if (!huffmanCodes.containsKey(character)) {
                 logToTerminal(String.format("Carácter '%c' no está en el árbol", character), "error");
                 return;
             }
 
             String code = huffmanCodes.get(character);
-            TreeNode result = searchInHuffmanTree(character);
+            TreeNode result = engine.search(character);
 
             if (result != null) {
                 logToTerminal(String.format("Carácter '%c' encontrado con código: %s", character, code), "success");
@@ -327,25 +214,6 @@ public class ArbolesHuffman extends AlgorithmWindow {
         }
     }
 
-    private TreeNode searchInHuffmanTree(char character) {
-        if (root == null || !huffmanCodes.containsKey(character)) return null;
-
-        String code = huffmanCodes.get(character);
-        TreeNode current = root;
-
-        for (char bit : code.toCharArray()) {
-            if (bit == '0') {
-                current = current.left;
-            } else {
-                current = current.right;
-            }
-
-            if (current == null) return null;
-        }
-
-        return current;
-    }
-
     @Override
     protected void exportToCSV() {
         JFileChooser fileChooser = new JFileChooser();
@@ -358,22 +226,22 @@ public class ArbolesHuffman extends AlgorithmWindow {
                 writer.println("Mensaje," + messageField.getText());
 
                 writer.println("#FRECUENCIAS");
-                for (Map.Entry<Character, Integer> entry : frequencies.entrySet()) {
+                for (Map.Entry<Character, Integer> entry : engine.getFrequencies().entrySet()) {
                     writer.println(entry.getKey() + "," + entry.getValue());
                 }
 
                 writer.println("#CODIGOS_HUFFMAN");
-                for (Map.Entry<Character, String> entry : huffmanCodes.entrySet()) {
+                for (Map.Entry<Character, String> entry : engine.getCodes().entrySet()) {
                     writer.println(entry.getKey() + "," + entry.getValue());
                 }
 
                 writer.println("#ESTRUCTURA_ARBOL");
-                if (root != null) {
-                    exportHuffmanTreeStructure(writer, root, "");
+                if (engine.getRoot() != null) {
+                    exportHuffmanTreeStructure(writer, engine.getRoot(), "");
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Árbol de Huffman exportado exitosamente", "success");
 
@@ -438,14 +306,12 @@ public class ArbolesHuffman extends AlgorithmWindow {
                 JOptionPane.YES_NO_OPTION);
 
         if (option == JOptionPane.YES_OPTION) {
-            root = null;
+            engine.clear();
             messageField.setText("");
             individualCharField.setText("");
-            huffmanCodes.clear();
-            frequencies.clear();
 
             treeVisualization.setRoot(null);
-            terminalArea.setText("");
+            clearTerminal();
 
             logToTerminal("Árbol de Huffman reseteado", "warning");
         }
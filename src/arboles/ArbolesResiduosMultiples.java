@@ -1,5 +1,6 @@
 package arboles;
 
+import motor.MultipleResidueTreeEngine;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -10,12 +11,13 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
     private JTextField messageField, individualCharField, mBitsField;
     private JButton buildTreeButton, insertCharButton, searchCharButton, deleteCharButton;
     private TreeVisualization treeVisualization;
-    private TreeNode root;
+    private MultipleResidueTreeEngine engine;
 
     public ArbolesResiduosMultiples(JFrame parent) {
         super(parent, "Árboles por Residuos Múltiples");
         logToTerminal("Sistema de Árboles por Residuos Múltiples iniciado", "info");
         logToTerminal("Algoritmo: M bits por rama con 2^M enlaces", "info");
+        engine = new MultipleResidueTreeEngine(getStepLogger());
         initializeTreeVisualization();
     }
 
@@ -130,7 +132,7 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
             }
 
             // Reinicializar el árbol
-            root = null;
+            engine.clear();
             treeVisualization.setRoot(null);
 
             int maxEnlaces = (int) Math.pow(2, mBits);
@@ -152,17 +154,10 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
 
             for (Character character : uniqueChars) {
                 int ascii = (int) character;
-                String binary = Integer.toBinaryString(ascii);
-                while (binary.length() % mBits != 0) {
-                    binary = "0" + binary;
-                }
+                String binary = MultipleResidueTreeEngine.padToSegments(Integer.toBinaryString(ascii), mBits);
                 String segments = "";
                 for (int i = 0; i < binary.length(); i += mBits) {
-                    String segment = binary.substring(i, Math.min(i + mBits, binary.length()));
-                    while (segment.length() < mBits) {
-                        segment += "0";
-                    }
-                    segments += segment + " ";
+                    segments += MultipleResidueTreeEngine.segmentAt(binary, i, mBits) + " ";
                 }
                 logToTerminal(String.format("%d\t%c\t%s\t\t%s", ascii, character, binary, segments.trim()), "info");
             }
@@ -170,10 +165,10 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
             logToTerminal("\n=== INSERTANDO CARACTERES ===", "info");
 
             for (Character character : uniqueChars) {
-                insertMultipleResiduoNode(character, mBits);
+                engine.insert(character, mBits);
             }
 
-            treeVisualization.setRoot(root);
+            treeVisualization.setRoot(engine.getRoot());
             logToTerminal("Árbol por residuos múltiples construido exitosamente", "success");
             logToTerminal("Estructura del árbol:", "info");
             showTreeStructure();
@@ -202,14 +197,14 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
             char character = input.charAt(0);
 
             // Verificar si el carácter ya existe
-            TreeNode existingNode = searchMultipleResiduoNode(character, mBits);
+            TreeNode existingNode = engine.search(character, mBits);
             if (existingNode != null) {
                 throw new Exception(String.format("El carácter '%c' ya existe en el árbol", character));
             }
 
-            insertMultipleResiduoNode(character, mBits);
+            engine.insert(character, mBits);
 
-            treeVisualization.setRoot(root);
+            treeVisualization.setRoot(engine.getRoot());
             individualCharField.setText("");
 
         } catch (NumberFormatException ex) {
@@ -219,108 +214,6 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
         }
     }
 
-    private void insertMultipleResiduoNode(char character, int mBits) throws Exception {
-        int ascii = (int) character;
-        String binary = Integer.toBinaryString(ascii);
-
-        logToTerminal(String.format("Insertando '%c': ASCII=%d, Binario original=%s",
-                character, ascii, binary), "info");
-
-        // Asegurar que el binario tenga longitud múltiple de mBits
-        while (binary.length() % mBits != 0) {
-            binary = "0" + binary;
-        }
-
-        logToTerminal(String.format("Binario ajustado: %s (longitud: %d)", binary, binary.length()), "info");
-
-        if (root == null) {
-            root = new TreeNode();
-            root.level = 0;
-        }
-
-        TreeNode current = root;
-        String pathSegments = "";
-        int depth = 0;
-
-        // Procesar de M bits en M bits
-        for (int i = 0; i < binary.length(); i += mBits) {
-            String segment = binary.substring(i, Math.min(i + mBits, binary.length()));
-
-            // Rellenar con ceros si es necesario
-            while (segment.length() < mBits) {
-                segment += "0";
-            }
-
-            int segmentValue = Integer.parseInt(segment, 2);
-            pathSegments += segment + " ";
-            depth++;
-
-            logToTerminal(String.format("  Nivel %d - Segmento: %s = %d", depth, segment, segmentValue), "info");
-
-            // Si estamos en el último segmento, crear nodo hoja
-            if (i + mBits >= binary.length()) {
-                TreeNode leafNode = getOrCreateChild(current, segmentValue, mBits);
-
-                if (leafNode.data != null) {
-                    throw new Exception(String.format("Colisión: posición ya ocupada por '%c'", leafNode.data));
-                }
-
-                leafNode.data = character;
-                leafNode.ascii = ascii;
-                leafNode.binaryPath = pathSegments.trim();
-                leafNode.isLeaf = true;
-
-                logToTerminal(String.format("Carácter '%c' insertado en nodo hoja", character), "success");
-            } else {
-                // Nodo intermedio
-                current = getOrCreateChild(current, segmentValue, mBits);
-                current.isLeaf = false;
-            }
-        }
-
-        logToTerminal(String.format("Carácter '%c' insertado exitosamente (ruta: %s)",
-                character, pathSegments.trim()), "success");
-    }
-
-    private TreeNode getOrCreateChild(TreeNode parent, int index, int mBits) {
-        // Para simplificar la visualización en TreeVisualization (que solo maneja left/right),
-        // vamos a mapear los índices a una estructura binaria
-        // Esto es una simplificación - en una implementación completa se usaría un array de hijos
-
-        TreeNode current = parent;
-
-        // Convertir el índice a binario para navegación
-        String indexBinary = Integer.toBinaryString(index);
-        while (indexBinary.length() < mBits) {
-            indexBinary = "0" + indexBinary;
-        }
-
-        // Navegar bit por bit para crear la estructura
-        for (int i = 0; i < indexBinary.length(); i++) {
-            char bit = indexBinary.charAt(i);
-
-            if (bit == '0') {
-                if (current.left == null) {
-                    current.left = new TreeNode();
-                    current.left.parent = current;
-                    current.left.level = current.level + 1;
-                    current.left.isLeaf = false;
-                }
-                current = current.left;
-            } else {
-                if (current.right == null) {
-                    current.right = new TreeNode();
-                    current.right.parent = current;
-                    current.right.level = current.level + 1;
-                    current.right.isLeaf = false;
-                }
-                current = current.right;
-            }
-        }
-
-        return current;
-    }
-
     private void searchCharacter(ActionEvent e) {
         try {
             String input = individualCharField.getText().trim().toUpperCase();
@@ -333,7 +226,7 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
             int mBits = Integer.parseInt(mBitsStr);
             char character = input.charAt(0);
 
-            TreeNode result = searchMultipleResiduoNode(character, mBits);
+            TreeNode result = engine.search(character, mBits);
 
             if (result != null) {
                 logToTerminal(String.format("Carácter '%c' encontrado", character), "success");
@@ -347,73 +240,6 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
         }
     }
 
-    private TreeNode searchMultipleResiduoNode(char character, int mBits) {
-        if (root == null) return null;
-
-        int ascii = (int) character;
-        String binary = Integer.toBinaryString(ascii);
-
-        while (binary.length() % mBits != 0) {
-            binary = "0" + binary;
-        }
-
-        logToTerminal(String.format("Buscando '%c': ruta binaria segmentada", character), "info");
-
-        TreeNode current = root;
-
-        for (int i = 0; i < binary.length(); i += mBits) {
-            String segment = binary.substring(i, Math.min(i + mBits, binary.length()));
-
-            while (segment.length() < mBits) {
-                segment += "0";
-            }
-
-            int segmentValue = Integer.parseInt(segment, 2);
-            logToTerminal(String.format("  Navegando por segmento: %s = %d", segment, segmentValue), "info");
-
-            current = getChild(current, segmentValue, mBits);
-
-            if (current == null) {
-                logToTerminal("Camino interrumpido", "info");
-                return null;
-            }
-        }
-
-        if (current.data != null && current.data.equals(character)) {
-            return current;
-        }
-
-        return null;
-    }
-
-    private TreeNode getChild(TreeNode parent, int index, int mBits) {
-        // Navegar siguiendo la misma lógica que getOrCreateChild pero sin crear nodos
-        TreeNode current = parent;
-
-        // Convertir el índice a binario para navegación
-        String indexBinary = Integer.toBinaryString(index);
-        while (indexBinary.length() < mBits) {
-            indexBinary = "0" + indexBinary;
-        }
-
-        // Navegar bit por bit
-        for (int i = 0; i < indexBinary.length(); i++) {
-            char bit = indexBinary.charAt(i);
-
-            if (bit == '0') {
-                current = current.left;
-            } else {
-                current = current.right;
-            }
-
-            if (current == null) {
-                return null;
-            }
-        }
-
-        return current;
-    }
-
     private void deleteCharacter(ActionEvent e) {
         try {
             String input = individualCharField.getText().trim().toUpperCase();
@@ -422,12 +248,13 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
                 throw new Exception("Ingrese un solo carácter");
             }
 
+            int mBits = Integer.parseInt(mBitsField.getText().trim());
             char character = input.charAt(0);
-            boolean deleted = deleteMultipleResiduoNode(character);
+            boolean deleted = engine.delete(character, mBits);
 
             if (deleted) {
                 logToTerminal(String.format("Carácter '%c' eliminado", character), "success");
-                treeVisualization.setRoot(root);
+                treeVisualization.setRoot(engine.getRoot());
                 individualCharField.setText("");
             } else {
                 logToTerminal(String.format("Carácter '%c' no encontrado", character), "error");
@@ -438,30 +265,6 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
         }
     }
 
-    private boolean deleteMultipleResiduoNode(char character) {
-        try {
-            int mBits = Integer.parseInt(mBitsField.getText());
-            TreeNode node = searchMultipleResiduoNode(character, mBits);
-
-            if (node != null && node.data != null) {
-                // Marcar el nodo como eliminado
-                node.data = null;
-                node.ascii = 0;
-                node.binaryPath = "";
-                node.isLeaf = false;
-
-                logToTerminal(String.format("Carácter '%c' eliminado (nodo marcado como vacío)", character), "info");
-                return true;
-            }
-
-            return false;
-
-        } catch (Exception ex) {
-            logToTerminal("Error al eliminar nodo: " + ex.getMessage(), "error");
-            return false;
-        }
-    }
-
     @Override
     protected void exportToCSV() {
         JFileChooser fileChooser = new JFileChooser();
@@ -475,12 +278,12 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
                 writer.println("M_Bits," + mBitsField.getText());
 
                 writer.println("#ESTRUCTURA_ARBOL");
-                if (root != null) {
-                    exportTreeStructure(writer, root, "");
+                if (engine.getRoot() != null) {
+                    exportTreeStructure(writer, engine.getRoot(), "");
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Árbol exportado exitosamente", "success");
 
@@ -546,19 +349,20 @@ public class ArbolesResiduosMultiples extends AlgorithmWindow {
                 JOptionPane.YES_NO_OPTION);
 
         if (option == JOptionPane.YES_OPTION) {
-            root = null;
+            engine.clear();
             messageField.setText("");
             individualCharField.setText("");
             mBitsField.setText("2");
 
             treeVisualization.setRoot(null);
-            terminalArea.setText("");
+            clearTerminal();
 
             logToTerminal("Árbol de residuos múltiples reseteado", "warning");
         }
     }
 
     private void showTreeStructure() {
+        TreeNode root = engine.getRoot();
         if (root == null) {
             logToTerminal("=== ESTRUCTURA DEL ÁRBOL ===", "info");
             logToTerminal("Árbol vacío", "warning");
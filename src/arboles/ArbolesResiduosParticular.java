@@ -1,5 +1,6 @@
 package arboles;
 
+import motor.ParticularResidueTreeEngine;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -10,12 +11,13 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
     private JTextField messageField, individualCharField, moduloField;
     private JButton buildTreeButton, insertCharButton, searchCharButton, deleteCharButton;
     private TreeVisualization treeVisualization;
-    private TreeNode root;
+    private ParticularResidueTreeEngine engine;
 
     public ArbolesResiduosParticular(JFrame parent) {
         super(parent, "Árboles por Residuos Particular");
         logToTerminal("Sistema de Árboles por Residuos Particular iniciado", "info");
         logToTerminal("Algoritmo: Módulo fijo definido por usuario", "info");
+        engine = new ParticularResidueTreeEngine(getStepLogger());
         initializeTreeVisualization();
     }
 
@@ -123,7 +125,7 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
             }
 
             // Reinicializar el árbol
-            root = null;
+            engine.clear();
             treeVisualization.setRoot(null);
 
             logToTerminal(String.format("Construyendo árbol por residuos para: \"%s\"", message), "info");
@@ -152,11 +154,11 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
 
             // Insertar cada carácter único
             for (Character character : uniqueChars) {
-                insertResiduoNode(character, modulo);
+                engine.insert(character, modulo);
             }
 
             // Actualizar la visualización
-            treeVisualization.setRoot(root);
+            treeVisualization.setRoot(engine.getRoot());
             logToTerminal("Árbol por residuos construido exitosamente", "success");
             logToTerminal("Estructura del árbol:", "info");
             showTreeStructure();
@@ -185,14 +187,14 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
             char character = input.charAt(0);
 
             // Verificar si el carácter ya existe
-            TreeNode existingNode = searchResiduoNode(character, modulo);
+            TreeNode existingNode = engine.search(character, modulo);
             if (existingNode != null) {
                 throw new Exception(String.format("El carácter '%c' ya existe en el árbol", character));
             }
 
-            insertResiduoNode(character, modulo);
+            engine.insert(character, modulo);
 
-            treeVisualization.setRoot(root);
+            treeVisualization.setRoot(engine.getRoot());
             individualCharField.setText("");
 
         } catch (NumberFormatException ex) {
@@ -202,53 +204,6 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
         }
     }
 
-    private void insertResiduoNode(char character, int modulo) throws Exception {
-        int ascii = (int) character;
-        int residuo = ascii % modulo;
-
-        logToTerminal(String.format("Insertando '%c': ASCII=%d, %d %% %d = %d",
-                character, ascii, ascii, modulo, residuo), "info");
-
-        TreeNode newNode = new TreeNode(character);
-        newNode.ascii = ascii;
-
-        // Insertar en ABB basado en el residuo calculado
-        if (root == null) {
-            root = newNode;
-        } else {
-            insertInBST(root, newNode, residuo, modulo);
-        }
-
-        logToTerminal(String.format("Carácter '%c' insertado con residuo %d", character, residuo), "success");
-    }
-
-    private void insertInBST(TreeNode node, TreeNode newNode, int newKey, int modulo) {
-        while (true) {
-            // Calcular la clave del nodo actual
-            int currentKey = ((Character) node.data).charValue() % modulo;
-
-            if (newKey < currentKey) {
-                // Insertar a la izquierda
-                if (node.left == null) {
-                    node.left = newNode;
-                    newNode.parent = node;
-                    break;
-                } else {
-                    node = node.left;
-                }
-            } else {
-                // Insertar a la derecha (incluye duplicados)
-                if (node.right == null) {
-                    node.right = newNode;
-                    newNode.parent = node;
-                    break;
-                } else {
-                    node = node.right;
-                }
-            }
-        }
-    }
-
     private void searchCharacter(ActionEvent e) {
         try {
             String input = individualCharField.getText().trim().toUpperCase();
@@ -261,7 +216,7 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
             int modulo = Integer.parseInt(moduloStr);
             char character = input.charAt(0);
 
-            TreeNode result = searchResiduoNode(character, modulo);
+            TreeNode result = engine.search(character, modulo);
 
             if (result != null) {
                 logToTerminal(String.format("Carácter '%c' encontrado", character), "success");
@@ -275,40 +230,6 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
         }
     }
 
-    private TreeNode searchResiduoNode(char character, int modulo) {
-        if (root == null) return null;
-
-        int ascii = (int) character;
-        int residuo = ascii % modulo;
-
-        logToTerminal(String.format("Buscando '%c': residuo %d", character, residuo), "info");
-
-        return searchInBST(root, character, residuo, modulo);
-    }
-
-    private TreeNode searchInBST(TreeNode node, char target, int targetKey, int modulo) {
-        if (node == null || node.data == null) return null;
-
-        // Verificar si es el nodo buscado
-        if (node.data instanceof Character && ((Character) node.data).charValue() == target) {
-            return node;
-        }
-
-        // Calcular la clave del nodo actual
-        int nodeKey = ((Character) node.data).charValue() % modulo;
-
-        if (targetKey < nodeKey) {
-            return searchInBST(node.left, target, targetKey, modulo);
-        } else if (targetKey > nodeKey) {
-            return searchInBST(node.right, target, targetKey, modulo);
-        } else {
-            // Misma clave, buscar en ambos lados por si hay duplicados
-            TreeNode leftResult = searchInBST(node.left, target, targetKey, modulo);
-            if (leftResult != null) return leftResult;
-            return searchInBST(node.right, target, targetKey, modulo);
-        }
-    }
-
     private void deleteCharacter(ActionEvent e) {
         try {
             String input = individualCharField.getText().trim().toUpperCase();
@@ -317,12 +238,13 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
                 throw new Exception("Ingrese un solo carácter");
             }
 
+            int modulo = Integer.parseInt(moduloField.getText().trim());
             char character = input.charAt(0);
-            boolean deleted = deleteResiduoNode(character);
+            boolean deleted = engine.delete(character, modulo);
 
             if (deleted) {
                 logToTerminal(String.format("Carácter '%c' eliminado", character), "success");
-                treeVisualization.setRoot(root);
+                treeVisualization.setRoot(engine.getRoot());
                 individualCharField.setText("");
             } else {
                 logToTerminal(String.format("Carácter '%c' no encontrado", character), "error");
@@ -333,28 +255,6 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
         }
     }
 
-    private boolean deleteResiduoNode(char character) {
-        try {
-            int modulo = Integer.parseInt(moduloField.getText());
-            TreeNode nodeToDelete = searchResiduoNode(character, modulo);
-
-            if (nodeToDelete == null) {
-                return false;
-            }
-
-            // Implementación simplificada: marcar como eliminado
-            // En una implementación completa se reestructuraría el BST
-            nodeToDelete.data = null;
-
-            logToTerminal(String.format("Nodo '%c' marcado como eliminado", character), "info");
-            return true;
-
-        } catch (Exception ex) {
-            logToTerminal("Error al eliminar nodo: " + ex.getMessage(), "error");
-            return false;
-        }
-    }
-
     @Override
     protected void exportToCSV() {
         JFileChooser fileChooser = new JFileChooser();
@@ -368,12 +268,12 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
                 writer.println("Modulo," + moduloField.getText());
 
                 writer.println("#ESTRUCTURA_ARBOL");
-                if (root != null) {
-                    exportTreeStructure(writer, root, "");
+                if (engine.getRoot() != null) {
+                    exportTreeStructure(writer, engine.getRoot(), "");
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Árbol exportado exitosamente", "success");
 
@@ -446,19 +346,20 @@ public class ArbolesResiduosParticular extends AlgorithmWindow {
                 JOptionPane.YES_NO_OPTION);
 
         if (option == JOptionPane.YES_OPTION) {
-            root = null;
+            engine.clear();
             messageField.setText("");
             individualCharField.setText("");
             moduloField.setText("10");
 
             treeVisualization.setRoot(null);
-            terminalArea.setText("");
+            clearTerminal();
 
             logToTerminal("Árbol de residuos reseteado", "warning");
         }
     }
 
     private void showTreeStructure() {
+        TreeNode root = engine.getRoot();
         if (root == null) {
             logToTerminal("=== ESTRUCTURA DEL ÁRBOL ===", "info");
             logToTerminal("Árbol vacío", "warning");
@@ -1,5 +1,6 @@
 package busquedas;
 
+import motor.SearchEngine;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -11,22 +12,10 @@ import java.util.List;
 
 public class BusquedaBinaria extends AlgorithmWindow {
     private JTextField sizeField, keyLengthField, searchKeyField;
-    private JButton initButton, insertButton, searchButton, deleteButton, sortButton;
-    private List<SearchStep> searchSteps;
-
-    private static class SearchStep {
-        int left, mid, right;
-        String value;
-        String comparison;
-
-        SearchStep(int left, int mid, int right, String value, String comparison) {
-            this.left = left;
-            this.mid = mid;
-            this.right = right;
-            this.value = value;
-            this.comparison = comparison;
-        }
-    }
+    private JButton initButton, insertButton, searchButton, deleteButton, sortButton, bulkInsertButton;
+    private JCheckBox keepSortedCheck;
+    private JComboBox<String> searchModeCombo;
+    private List<SearchEngine.BinaryStep> searchSteps;
 
     public BusquedaBinaria(JFrame parent) {
         super(parent, "Búsqueda Binaria");
@@ -60,8 +49,23 @@ public class BusquedaBinaria extends AlgorithmWindow {
         keyLengthField.setPreferredSize(Constants.INPUT_SIZE);
         configPanel.add(keyLengthField, gbc);
 
-        // Botón inicializar
+        // Mantener el orden en cada inserción y eliminación
         gbc.gridx = 4; gbc.gridy = 0;
+        keepSortedCheck = new JCheckBox("Mantener ordenada");
+        keepSortedCheck.setBackground(Constants.BACKGROUND_COLOR);
+        keepSortedCheck.addActionListener(this::toggleKeepSorted);
+        configPanel.add(keepSortedCheck, gbc);
+
+        // Estrategia de búsqueda (se puede cambiar en cualquier momento)
+        gbc.gridx = 0; gbc.gridy = 1;
+        configPanel.add(new JLabel("Modo de búsqueda:"), gbc);
+        gbc.gridx = 1;
+        searchModeCombo = new JComboBox<>(SearchMode.labels());
+        searchModeCombo.setPreferredSize(Constants.INPUT_SIZE);
+        configPanel.add(searchModeCombo, gbc);
+
+        // Botón inicializar
+        gbc.gridx = 5; gbc.gridy = 0;
         initButton = createStyledButton("Inicializar", Constants.PRIMARY_COLOR);
         initButton.addActionListener(this::initializeStructure);
         configPanel.add(initButton, gbc);
@@ -111,6 +115,12 @@ public class BusquedaBinaria extends AlgorithmWindow {
         sortButton.addActionListener(this::sortStructure);
         controlsPanel.add(sortButton, gbc);
 
+        gbc.gridx = 6;
+        bulkInsertButton = createStyledButton("Carga Masiva", Constants.PRIMARY_COLOR);
+        bulkInsertButton.setEnabled(false);
+        bulkInsertButton.addActionListener(this::bulkInsert);
+        controlsPanel.add(bulkInsertButton, gbc);
+
         return controlsPanel;
     }
 
@@ -125,13 +135,18 @@ public class BusquedaBinaria extends AlgorithmWindow {
 
             structure = new DataStructure(size, keyLength);
             structure.initialize();
+            structure.setKeepSorted(keepSortedCheck.isSelected());
 
             // Habilitar controles
             enableControls(true);
 
             logToTerminal(String.format("Estructura inicializada: %d elementos, claves de %d dígitos",
                     size, keyLength), "success");
-            logToTerminal("IMPORTANTE: Use 'Ordenar' antes de realizar búsquedas binarias", "warning");
+            if (structure.isKeepSorted()) {
+                logToTerminal("Modo ordenado: cada inserción conserva el orden, no hace falta 'Ordenar'", "info");
+            } else {
+                logToTerminal("IMPORTANTE: Use 'Ordenar' antes de realizar búsquedas binarias", "warning");
+            }
             updateVisualization();
 
         } catch (NumberFormatException ex) {
@@ -167,85 +182,58 @@ public class BusquedaBinaria extends AlgorithmWindow {
                 }
             }
 
+            SearchMode mode = SearchMode.fromLabel((String) searchModeCombo.getSelectedItem());
+            if ((mode == SearchMode.INTERPOLATION || mode == SearchMode.EYTZINGER)
+                    && !structure.getCompactKeys().isNumeric()) {
+                logToTerminal(String.format("La búsqueda %s requiere claves numéricas; se usa búsqueda binaria",
+                        mode), "warning");
+                mode = SearchMode.BINARY;
+            }
+            if (mode == SearchMode.EYTZINGER && !structure.hasEytzingerLayout()) {
+                long start = System.nanoTime();
+                structure.getEytzingerLayout();
+                logToTerminal(String.format("Copia Eytzinger construida: %d claves en %.3f ms",
+                        structure.getCount(), (System.nanoTime() - start) / 1e6), "info");
+            }
+
             searchSteps.clear();
-            int result = performBinarySearch(key);
+            int result = SearchEngine.search(mode, structure, key, searchSteps);
+
+            // Tiempo de la misma búsqueda sin registrar pasos
+            long start = System.nanoTime();
+            SearchEngine.search(mode, structure, key, null);
+            long elapsed = System.nanoTime() - start;
 
             if (result != -1) {
-                logToTerminal(String.format("Clave '%s' encontrada en índice %d (Comparaciones: %d)",
-                        key, result + 1, searchSteps.size()), "success");
+                logToTerminal(String.format("Clave '%s' encontrada en índice %d (Búsqueda %s, comparaciones: %d)",
+                        key, result + 1, mode, searchSteps.size()), "success");
                 highlightSearchResult(result, true);
             } else {
-                logToTerminal(String.format("Clave '%s' no encontrada (Comparaciones: %d)",
-                        key, searchSteps.size()), "error");
+                logToTerminal(String.format("Clave '%s' no encontrada (Búsqueda %s, comparaciones: %d)",
+                        key, mode, searchSteps.size()), "error");
             }
 
+            logToTerminal(String.format("Tiempo de búsqueda: %.3f µs", elapsed / 1e3), "info");
+
             // Mostrar pasos de búsqueda
-            logSearchSteps(key);
+            logSearchSteps(mode);
 
         } catch (Exception ex) {
             logToTerminal("Error en búsqueda: " + ex.getMessage(), "error");
         }
     }
 
-    private int performBinarySearch(String key) {
-        Object[] data = structure.getData();
-
-        // Obtener elementos no nulos y ordenados
-        java.util.List<Integer> validIndices = new java.util.ArrayList<>();
-        for (int i = 0; i < data.length; i++) {
-            if (data[i] != null) {
-                validIndices.add(i);
-            }
-        }
-
-        int left = 0;
-        int right = validIndices.size() - 1;
-
-        while (left <= right) {
-            int mid = (left + right) / 2;
-            int actualIndex = validIndices.get(mid);
-            String midValue = data[actualIndex].toString();
-
-            // Guardar paso para logging
-            int leftIndex = left < validIndices.size() ? validIndices.get(left) + 1 : -1;
-            int rightIndex = right >= 0 ? validIndices.get(right) + 1 : -1;
-            int midIndexDisplay = actualIndex + 1;
-
-            String comparison;
-            int cmp = compareKeys(midValue, key);
-
-            if (cmp == 0) {
-                comparison = "ENCONTRADO";
-                searchSteps.add(new SearchStep(leftIndex, midIndexDisplay, rightIndex, midValue, comparison));
-                return actualIndex;
-            } else if (cmp < 0) {
-                comparison = "MENOR - buscar a la derecha";
-                left = mid + 1;
+    private void logSearchSteps(SearchMode mode) {
+        logToTerminal(String.format("Pasos de búsqueda (%s):", mode), "info");
+        for (int i = 0; i < searchSteps.size(); i++) {
+            SearchEngine.BinaryStep step = searchSteps.get(i);
+            if (step.left > 0) {
+                logToTerminal(String.format("  Paso %d: left=%d, mid=%d, right=%d",
+                        i + 1, step.left, step.mid, step.right), "info");
             } else {
-                comparison = "MAYOR - buscar a la izquierda";
-                right = mid - 1;
+                // Eytzinger no mantiene un rango, solo el nodo visitado
+                logToTerminal(String.format("  Paso %d: nodo en índice %d", i + 1, step.mid), "info");
             }
-
-            searchSteps.add(new SearchStep(leftIndex, midIndexDisplay, rightIndex, midValue, comparison));
-        }
-
-        return -1;
-    }
-
-    private int compareKeys(String a, String b) {
-        try {
-            return Integer.compare(Integer.parseInt(a), Integer.parseInt(b));
-        } catch (NumberFormatException e) {
-            return a.compareTo(b);
-        }
-    }
-
-    private void logSearchSteps(String key) {
-        logToTerminal("Pasos de búsqueda binaria:", "info");
-        for (int i = 0; i < searchSteps.size(); i++) {
-            SearchStep step = searchSteps.get(i);
-            logToTerminal(String.format("  Paso %d: left=%d, mid=%d, right=%d",
-                    i + 1, step.left, step.mid, step.right), "info");
             logToTerminal(String.format("    Valor en mid[%d] = '%s' → %s",
                     step.mid, step.value, step.comparison), "info");
         }
@@ -266,7 +254,9 @@ public class BusquedaBinaria extends AlgorithmWindow {
 
             int index = structure.insert(key);
             logToTerminal(String.format("Clave '%s' insertada en índice %d", key, index), "success");
-            logToTerminal("Recuerde ordenar la estructura antes de búsquedas binarias", "warning");
+            if (!structure.isSorted()) {
+                logToTerminal("Recuerde ordenar la estructura antes de búsquedas binarias", "warning");
+            }
             updateVisualization();
             searchKeyField.setText("");
 
@@ -275,6 +265,20 @@ public class BusquedaBinaria extends AlgorithmWindow {
         }
     }
 
+    private void bulkInsert(ActionEvent e) {
+        enableControls(false);
+        initButton.setEnabled(false);
+
+        runBulkInsert(structure.getKeyLength(), key -> structure.insert(key), () -> {
+            enableControls(true);
+            updateVisualization();
+            if (!structure.isSorted()) {
+                logToTerminal("Recuerde ordenar la estructura antes de búsquedas binarias", "warning");
+            }
+            initButton.setEnabled(true);
+        });
+    }
+
     private void deleteKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -309,10 +313,22 @@ public class BusquedaBinaria extends AlgorithmWindow {
         }
     }
 
+    private void toggleKeepSorted(ActionEvent e) {
+        if (structure == null || !structure.isInitialized()) {
+            return;
+        }
+
+        structure.setKeepSorted(keepSortedCheck.isSelected());
+        if (structure.isKeepSorted()) {
+            logToTerminal("Modo ordenado activado: estructura ordenada y compactada una sola vez", "success");
+        } else {
+            logToTerminal("Modo ordenado desactivado: las inserciones usan la primera posición libre", "warning");
+        }
+        updateVisualization();
+    }
+
     private void highlightSearchResult(int index, boolean found) {
-        SwingUtilities.invokeLater(() -> {
-            updateVisualization();
-        });
+        highlightSlot(index);
     }
 
     private void enableControls(boolean enabled) {
@@ -320,6 +336,8 @@ public class BusquedaBinaria extends AlgorithmWindow {
         searchButton.setEnabled(enabled);
         deleteButton.setEnabled(enabled);
         sortButton.setEnabled(enabled);
+        bulkInsertButton.setEnabled(enabled);
+        keepSortedCheck.setEnabled(enabled || structure == null || !structure.isInitialized());
     }
 
     @Override
@@ -340,6 +358,7 @@ public class BusquedaBinaria extends AlgorithmWindow {
                 writer.println("Tamaño," + structure.getSize());
                 writer.println("Longitud_Clave," + structure.getKeyLength());
                 writer.println("Ordenado," + structure.isSorted());
+                writer.println("Modo_Ordenado," + structure.isKeepSorted());
 
                 writer.println("#DATOS");
                 Object[] data = structure.getData();
@@ -348,7 +367,7 @@ public class BusquedaBinaria extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -380,6 +399,8 @@ public class BusquedaBinaria extends AlgorithmWindow {
                             sizeField.setText(parts[1]);
                         } else if (parts[0].equals("Longitud_Clave")) {
                             keyLengthField.setText(parts[1]);
+                        } else if (parts[0].equals("Modo_Ordenado")) {
+                            keepSortedCheck.setSelected(Boolean.parseBoolean(parts[1]));
                         }
                     }
                 }
@@ -409,7 +430,7 @@ public class BusquedaBinaria extends AlgorithmWindow {
             searchKeyField.setText("");
 
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
             searchSteps.clear();
 
             updateVisualization();
@@ -1,5 +1,7 @@
 package busquedas;
 
+import motor.ParallelSearch;
+import motor.SearchEngine;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -11,8 +13,9 @@ import java.util.List;
 
 public class BusquedaLineal extends AlgorithmWindow {
     private JTextField sizeField, keyLengthField, searchKeyField;
-    private JButton initButton, insertButton, searchButton, deleteButton, sortButton;
+    private JButton initButton, insertButton, searchButton, deleteButton, sortButton, bulkInsertButton, rangeButton;
     private List<Integer> searchSteps;
+    private JComboBox<String> linearModeCombo;
 
     public BusquedaLineal(JFrame parent) {
         super(parent, "Búsqueda Lineal");
@@ -46,6 +49,14 @@ public class BusquedaLineal extends AlgorithmWindow {
         keyLengthField.setPreferredSize(Constants.INPUT_SIZE);
         configPanel.add(keyLengthField, gbc);
 
+        // Variante de la búsqueda (se puede cambiar en cualquier momento)
+        gbc.gridx = 0; gbc.gridy = 1;
+        configPanel.add(new JLabel("Modo de búsqueda:"), gbc);
+        gbc.gridx = 1;
+        linearModeCombo = new JComboBox<>(LinearMode.labels());
+        linearModeCombo.setPreferredSize(Constants.INPUT_SIZE);
+        configPanel.add(linearModeCombo, gbc);
+
         // Botón inicializar
         gbc.gridx = 4; gbc.gridy = 0;
         initButton = createStyledButton("Inicializar", Constants.PRIMARY_COLOR);
@@ -97,6 +108,18 @@ public class BusquedaLineal extends AlgorithmWindow {
         sortButton.addActionListener(this::sortStructure);
         controlsPanel.add(sortButton, gbc);
 
+        gbc.gridx = 6;
+        bulkInsertButton = createStyledButton("Carga Masiva", Constants.PRIMARY_COLOR);
+        bulkInsertButton.setEnabled(false);
+        bulkInsertButton.addActionListener(this::bulkInsert);
+        controlsPanel.add(bulkInsertButton, gbc);
+
+        gbc.gridx = 7;
+        rangeButton = createStyledButton("Contar Rango", Constants.INFO_COLOR);
+        rangeButton.setEnabled(false);
+        rangeButton.addActionListener(this::countRange);
+        controlsPanel.add(rangeButton, gbc);
+
         return controlsPanel;
     }
 
@@ -159,8 +182,18 @@ public class BusquedaLineal extends AlgorithmWindow {
                 throw new Exception("Ingrese una clave válida");
             }
 
+            LinearMode mode = LinearMode.fromLabel((String) linearModeCombo.getSelectedItem());
+            if (mode == LinearMode.CHUNKED) {
+                searchByChunks(key);
+                return;
+            }
+            if (mode == LinearMode.PARALLEL) {
+                searchInParallel(key);
+                return;
+            }
+
             searchSteps.clear();
-            int result = performLinearSearch(key);
+            int result = SearchEngine.linearSearch(structure, key, searchSteps);
 
             if (result != -1) {
                 logToTerminal(String.format("Clave '%s' encontrada en índice %d (Comparaciones: %d)",
@@ -179,18 +212,83 @@ public class BusquedaLineal extends AlgorithmWindow {
         }
     }
 
-    private int performLinearSearch(String key) {
-        Object[] data = structure.getData();
+    private void searchByChunks(String key) {
+        int lanes = NumericKeyStore.LANES;
+        searchSteps.clear();
+        int result = SearchEngine.chunkedLinearSearch(structure, key, searchSteps);
+
+        if (result != -1) {
+            logToTerminal(String.format("Clave '%s' encontrada en índice %d (Tramos: %d de %d claves)",
+                    key, result + 1, searchSteps.size(), lanes), "success");
+            highlightSearchResult(result, true);
+        } else {
+            logToTerminal(String.format("Clave '%s' no encontrada (Tramos: %d de %d claves)",
+                    key, searchSteps.size(), lanes), "error");
+        }
 
-        for (int i = 0; i < data.length; i++) {
-            searchSteps.add(i + 1); // Guardar paso para logging
+        logToTerminal("Tramos comparados:", "info");
+        for (int i = 0; i < searchSteps.size(); i++) {
+            int start = searchSteps.get(i);
+            int end = Math.min(start + lanes - 1, structure.getSize());
+            boolean hit = result >= start - 1 && result < end;
+            logToTerminal(String.format("  Tramo %d: Índices[%d..%d] → %s",
+                    i + 1, start, end, hit ? "✓ ENCONTRADO" : "✗ No coincide"), "info");
+        }
+    }
+
+    private void searchInParallel(String key) {
+        long start = System.nanoTime();
+        int result = ParallelSearch.linearSearch(structure, key);
+        double elapsed = (System.nanoTime() - start) / 1e6;
+
+        if (result != -1) {
+            logToTerminal(String.format("Clave '%s' encontrada en índice %d (Búsqueda paralela: %d hilos, %.3f ms)",
+                    key, result + 1, ParallelSearch.getParallelism(), elapsed), "success");
+            highlightSearchResult(result, true);
+        } else {
+            logToTerminal(String.format("Clave '%s' no encontrada (Búsqueda paralela: %d hilos, %.3f ms)",
+                    key, ParallelSearch.getParallelism(), elapsed), "error");
+        }
+    }
 
-            if (data[i] != null && data[i].toString().equals(key)) {
-                return i;
+    private void countRange(ActionEvent e) {
+        try {
+            String[] range = askRange();
+            if (range == null) {
+                return;
             }
+
+            long start = System.nanoTime();
+            int[] slots = ParallelSearch.rangeQuery(structure, range[0], range[1]);
+            double elapsed = (System.nanoTime() - start) / 1e6;
+
+            logToTerminal(String.format("Claves entre '%s' y '%s': %d (%d hilos, %.3f ms)",
+                    range[0], range[1], slots.length, ParallelSearch.getParallelism(), elapsed), "success");
+            for (int i = 0; i < Math.min(slots.length, 20); i++) {
+                logToTerminal(String.format("  Índice[%d] = '%s'", slots[i] + 1, structure.getAt(slots[i])), "info");
+            }
+            if (slots.length > 20) {
+                logToTerminal(String.format("  ... y %d más", slots.length - 20), "info");
+            }
+
+        } catch (Exception ex) {
+            logToTerminal("Error al contar rango: " + ex.getMessage(), "error");
+        }
+    }
+
+    // Pide "desde,hasta"; devuelve null si se cancela
+    private String[] askRange() throws Exception {
+        String input = JOptionPane.showInputDialog(this, "Rango de claves (desde,hasta):",
+                "Contar Rango", JOptionPane.QUESTION_MESSAGE);
+        if (input == null) {
+            return null;
         }
 
-        return -1;
+        String[] parts = input.split(",");
+        if (parts.length != 2 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty()) {
+            throw new Exception("Ingrese el rango como desde,hasta");
+        }
+        return new String[]{parts[0].trim(), parts[1].trim()};
     }
 
     private void logSearchSteps(String key) {
@@ -206,6 +304,17 @@ public class BusquedaLineal extends AlgorithmWindow {
         }
     }
 
+    private void bulkInsert(ActionEvent e) {
+        enableControls(false);
+        initButton.setEnabled(false);
+
+        runBulkInsert(structure.getKeyLength(), key -> structure.insert(key), () -> {
+            enableControls(true);
+            updateVisualization();
+            initButton.setEnabled(true);
+        });
+    }
+
     private void deleteKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -241,11 +350,7 @@ public class BusquedaLineal extends AlgorithmWindow {
     }
 
     private void highlightSearchResult(int index, boolean found) {
-        // Implementar highlighting visual del resultado
-        SwingUtilities.invokeLater(() -> {
-            updateVisualization();
-            // Aquí se podría agregar animación o highlighting especial
-        });
+        highlightSlot(index);
     }
 
     private void enableControls(boolean enabled) {
@@ -253,6 +358,8 @@ public class BusquedaLineal extends AlgorithmWindow {
         searchButton.setEnabled(enabled);
         deleteButton.setEnabled(enabled);
         sortButton.setEnabled(enabled);
+        bulkInsertButton.setEnabled(enabled);
+        rangeButton.setEnabled(enabled);
     }
 
     @Override
@@ -280,7 +387,7 @@ public class BusquedaLineal extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -341,7 +448,7 @@ public class BusquedaLineal extends AlgorithmWindow {
             searchKeyField.setText("");
 
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
             searchSteps.clear();
 
             updateVisualization();
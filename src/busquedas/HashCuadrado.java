@@ -1,5 +1,7 @@
 package busquedas;
 
+import motor.CollisionMethod;
+import motor.HashEngine;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -9,7 +11,8 @@ import java.io.*;
 public class HashCuadrado extends AlgorithmWindow {
     private JTextField sizeField, keyLengthField, searchKeyField;
     private JComboBox<String> collisionMethodCombo;
-    private JButton initButton, insertButton, searchButton, deleteButton, resetHashButton;
+    private JButton initButton, insertButton, searchButton, deleteButton, resetHashButton, bulkInsertButton;
+    private HashEngine engine;
 
     public HashCuadrado(JFrame parent) {
         super(parent, "Hash Cuadrado");
@@ -104,6 +107,12 @@ public class HashCuadrado extends AlgorithmWindow {
         resetHashButton.addActionListener(this::resetHash);
         controlsPanel.add(resetHashButton, gbc);
 
+        gbc.gridx = 6;
+        bulkInsertButton = createStyledButton("Carga Masiva", Constants.PRIMARY_COLOR);
+        bulkInsertButton.setEnabled(false);
+        bulkInsertButton.addActionListener(this::bulkInsert);
+        controlsPanel.add(bulkInsertButton, gbc);
+
         return controlsPanel;
     }
 
@@ -118,6 +127,8 @@ public class HashCuadrado extends AlgorithmWindow {
 
             structure = new DataStructure(size, keyLength);
             structure.initialize();
+            engine = new HashEngine(structure, new MidSquareHash(size, keyLength),
+                    CollisionMethod.fromLabel((String) collisionMethodCombo.getSelectedItem()), getStepLogger());
 
             // Habilitar controles
             enableControls(true);
@@ -134,6 +145,10 @@ public class HashCuadrado extends AlgorithmWindow {
                     "Error de configuración",
                     JOptionPane.ERROR_MESSAGE);
             logToTerminal("Error en configuración: " + ex.getMessage(), "error");
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(),
+                    "Error de configuración", JOptionPane.ERROR_MESSAGE);
+            logToTerminal("Error: " + ex.getMessage(), "error");
         }
     }
 
@@ -150,15 +165,8 @@ public class HashCuadrado extends AlgorithmWindow {
                         structure.getKeyLength()));
             }
 
-            // Calcular hash cuadrado
-            int hashValue = calculateHashCuadrado(key);
-            int originalIndex = hashValue - 1; // Convertir a índice base 0
-
-            // Verificar colisión y resolver
-            int finalIndex = resolveCollision(key, originalIndex);
-
-            structure.insertAt(key, finalIndex);
-            logToTerminal(String.format("Clave '%s' insertada en índice %d", key, finalIndex + 1), "success");
+            // Calcular hash cuadrado y resolver colisiones
+            engine.insert(key);
             updateVisualization();
             searchKeyField.setText("");
 
@@ -167,136 +175,16 @@ public class HashCuadrado extends AlgorithmWindow {
         }
     }
 
-    private int calculateHashCuadrado(String key) {
-        long numericKey = Long.parseLong(key);
-        long squared = numericKey * numericKey;
-        String squaredStr = String.valueOf(squared);
-
-        logToTerminal(String.format("Clave: %s", key), "info");
-        logToTerminal(String.format("Cuadrado: %s² = %s", key, squaredStr), "info");
-
-        // Extraer dígitos centrales
-        int length = squaredStr.length();
-        int start = length / 4;
-        int end = length - start;
-
-        if (start >= end) {
-            start = 0;
-            end = Math.min(3, length); // Tomar hasta 3 dígitos si el número es muy pequeño
-        }
-
-        String middleDigits = squaredStr.substring(start, end);
-        logToTerminal(String.format("Dígitos centrales extraídos: %s", middleDigits), "info");
-
-        int middleValue = Integer.parseInt(middleDigits);
-        int hashValue = (middleValue % structure.getSize()) + 1;
-
-        logToTerminal(String.format("Hash calculado: (%s %% %d) + 1 = %d",
-                middleDigits, structure.getSize(), hashValue), "info");
-
-        return hashValue;
-    }
-
-    private int resolveCollision(String key, int originalIndex) throws Exception {
-        String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
-
-        if (structure.getAt(originalIndex) == null) {
-            // No hay colisión
-            return originalIndex;
-        }
-
-        logToTerminal(String.format("Colisión detectada en índice %d", originalIndex + 1), "warning");
-
-        switch (collisionMethod) {
-            case "Sondeo Lineal":
-                return resolveLinearProbing(key, originalIndex);
-            case "Sondeo Cuadrático":
-                return resolveQuadraticProbing(key, originalIndex);
-            case "Estructuras Anidadas":
-                return resolveNestedStructures(key, originalIndex);
-            case "Estructuras Enlazadas":
-                return resolveLinkedStructures(key, originalIndex);
-            default:
-                throw new Exception("Método de colisión no implementado");
-        }
-    }
-
-    private int resolveLinearProbing(String key, int originalIndex) throws Exception {
-        int index = originalIndex;
-        int attempts = 0;
-
-        do {
-            index = (index + 1) % structure.getSize(); // Comportamiento circular
-            attempts++;
-
-            logToTerminal(String.format("Sondeo lineal: intento %d, índice %d",
-                    attempts, index + 1), "info");
-
-            if (structure.getAt(index) == null) {
-                logToTerminal(String.format("Posición libre encontrada en índice %d", index + 1), "success");
-                return index;
-            }
-
-            if (attempts >= structure.getSize()) {
-                throw new Exception("Tabla llena - no se puede insertar");
-            }
-
-        } while (index != originalIndex);
-
-        throw new Exception("No se pudo resolver la colisión");
-    }
-
-    private int resolveQuadraticProbing(String key, int originalIndex) throws Exception {
-        int attempts = 1;
-
-        while (attempts <= structure.getSize()) {
-            int index = (originalIndex + attempts * attempts) % structure.getSize();
-
-            logToTerminal(String.format("Sondeo cuadrático: intento %d², índice %d",
-                    attempts, index + 1), "info");
-
-            if (structure.getAt(index) == null) {
-                logToTerminal(String.format("Posición libre encontrada en índice %d", index + 1), "success");
-                return index;
-            }
-
-            attempts++;
-        }
-
-        throw new Exception("No se pudo resolver la colisión con sondeo cuadrático");
-    }
-
-    private int resolveNestedStructures(String key, int originalIndex) throws Exception {
-        for (int offset = 1; offset < structure.getSize(); offset++) {
-            int index = (originalIndex + offset) % structure.getSize();
-
-            if (structure.getAt(index) == null) {
-                logToTerminal(String.format("Estructura anidada: posición %d disponible", index + 1), "info");
-                return index;
-            }
-        }
+    private void bulkInsert(ActionEvent e) {
+        enableControls(false);
+        collisionMethodCombo.setEnabled(false);
+        initButton.setEnabled(false);
 
-        throw new Exception("No hay espacio en estructuras anidadas");
-    }
-
-    private int resolveLinkedStructures(String key, int originalIndex) throws Exception {
-        int index = originalIndex;
-        int attempts = 0;
-
-        do {
-            index = (index + 1) % structure.getSize();
-            attempts++;
-
-            logToTerminal(String.format("Estructura enlazada: enlace %d, índice %d",
-                    attempts, index + 1), "info");
-
-            if (structure.getAt(index) == null) {
-                return index;
-            }
-
-        } while (attempts < structure.getSize());
-
-        throw new Exception("No se pudo enlazar estructura");
+        runBulkInsert(structure.getKeyLength(), key -> engine.insert(key), () -> {
+            enableControls(true);
+            updateVisualization();
+            initButton.setEnabled(true);
+        });
     }
 
     private void searchKey(ActionEvent e) {
@@ -307,18 +195,19 @@ public class HashCuadrado extends AlgorithmWindow {
                 throw new Exception("Ingrese una clave válida");
             }
 
-            // Calcular hash original
-            int hashValue = calculateHashCuadrado(key);
-            int originalIndex = hashValue - 1;
+            // Buscar usando el mismo método de resolución de colisiones
+            HashEngine.Lookup lookup = engine.search(key);
 
             logToTerminal(String.format("Buscando clave '%s'", key), "info");
 
-            // Buscar usando el mismo método de resolución de colisiones
-            int foundIndex = findKey(key, originalIndex);
-
-            if (foundIndex != -1) {
-                logToTerminal(String.format("Clave '%s' encontrada en índice %d", key, foundIndex + 1), "success");
-                highlightSearchResult(foundIndex, true);
+            if (lookup.index != -1) {
+                logToTerminal(String.format("Clave '%s' encontrada en índice %d", key, lookup.index + 1), "success");
+                highlightSearchResult(lookup.index, true);
+            } else if (lookup.chainPosition != -1) {
+                logToTerminal(String.format("Clave '%s' encontrada en la cadena del índice %d, posición %d (longitud %d)",
+                        key, lookup.homeIndex + 1, lookup.chainPosition,
+                        engine.getChains().getChainLength(lookup.homeIndex)), "success");
+                highlightSearchResult(lookup.homeIndex, true);
             } else {
                 logToTerminal(String.format("Clave '%s' no encontrada", key), "error");
             }
@@ -328,54 +217,6 @@ public class HashCuadrado extends AlgorithmWindow {
         }
     }
 
-    private int findKey(String key, int originalIndex) {
-        String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
-
-        // Verificar posición original
-        if (key.equals(structure.getAt(originalIndex))) {
-            return originalIndex;
-        }
-
-        // Buscar según método de colisión
-        switch (collisionMethod) {
-            case "Sondeo Lineal":
-                return findWithLinearProbing(key, originalIndex);
-            case "Sondeo Cuadrático":
-                return findWithQuadraticProbing(key, originalIndex);
-            default:
-                return findWithLinearProbing(key, originalIndex); // Fallback
-        }
-    }
-
-    private int findWithLinearProbing(String key, int originalIndex) {
-        int index = originalIndex;
-        int attempts = 0;
-
-        do {
-            if (key.equals(structure.getAt(index))) {
-                return index;
-            }
-
-            index = (index + 1) % structure.getSize();
-            attempts++;
-
-        } while (index != originalIndex && attempts < structure.getSize());
-
-        return -1;
-    }
-
-    private int findWithQuadraticProbing(String key, int originalIndex) {
-        for (int attempts = 1; attempts <= structure.getSize(); attempts++) {
-            int index = (originalIndex + attempts * attempts) % structure.getSize();
-
-            if (key.equals(structure.getAt(index))) {
-                return index;
-            }
-        }
-
-        return -1;
-    }
-
     private void deleteKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -384,10 +225,7 @@ public class HashCuadrado extends AlgorithmWindow {
                 throw new Exception("Ingrese una clave válida");
             }
 
-            boolean removed = structure.remove(key);
-
-            if (removed) {
-                logToTerminal(String.format("Clave '%s' eliminada", key), "success");
+            if (engine.delete(key)) {
                 updateVisualization();
                 searchKeyField.setText("");
             } else {
@@ -401,23 +239,23 @@ public class HashCuadrado extends AlgorithmWindow {
 
     private void resetHash(ActionEvent e) {
         if (structure != null && structure.isInitialized()) {
-            structure.initialize();
+            engine.clear();
             updateVisualization();
             logToTerminal("Tabla hash limpiada", "warning");
         }
     }
 
     private void highlightSearchResult(int index, boolean found) {
-        SwingUtilities.invokeLater(() -> {
-            updateVisualization();
-        });
+        highlightSlot(index);
     }
 
     private void enableControls(boolean enabled) {
+        collisionMethodCombo.setEnabled(!enabled);
         insertButton.setEnabled(enabled);
         searchButton.setEnabled(enabled);
         deleteButton.setEnabled(enabled);
         resetHashButton.setEnabled(enabled);
+        bulkInsertButton.setEnabled(enabled);
     }
 
     @Override
@@ -445,8 +283,20 @@ public class HashCuadrado extends AlgorithmWindow {
                     writer.println((i + 1) + "," + (data[i] == null ? "" : data[i]));
                 }
 
+                if (engine.usesChains()) {
+                    CollisionChains chains = engine.getChains();
+                    writer.println("#CADENAS");
+                    for (int i = 0; i < data.length; i++) {
+                        if (chains.getChainLength(i) > 0) {
+                            writer.println((i + 1) + "," + java.util.Arrays.stream(chains.getChain(i))
+                                    .map(Object::toString)
+                                    .collect(java.util.stream.Collectors.joining("|")));
+                        }
+                    }
+                }
+
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -503,6 +353,7 @@ public class HashCuadrado extends AlgorithmWindow {
             if (structure != null) {
                 structure.reset();
             }
+            engine = null;
 
             sizeField.setText("");
             keyLengthField.setText("");
@@ -510,7 +361,7 @@ public class HashCuadrado extends AlgorithmWindow {
             collisionMethodCombo.setSelectedIndex(0);
 
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
 
             updateVisualization();
             logToTerminal("Sistema reseteado", "warning");
@@ -1,5 +1,7 @@
 package busquedas;
 
+import motor.CollisionMethod;
+import motor.HashEngine;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -9,7 +11,8 @@ import java.io.*;
 public class HashPlegamiento extends AlgorithmWindow {
     private JTextField sizeField, keyLengthField, searchKeyField, foldingDigitsField;
     private JComboBox<String> collisionMethodCombo;
-    private JButton initButton, insertButton, searchButton, deleteButton, resetHashButton;
+    private JButton initButton, insertButton, searchButton, deleteButton, resetHashButton, bulkInsertButton;
+    private HashEngine engine;
 
     public HashPlegamiento(JFrame parent) {
         super(parent, "Hash Plegamiento");
@@ -113,6 +116,12 @@ public class HashPlegamiento extends AlgorithmWindow {
         resetHashButton.addActionListener(this::resetHash);
         controlsPanel.add(resetHashButton, gbc);
 
+        gbc.gridx = 6;
+        bulkInsertButton = createStyledButton("Carga Masiva", Constants.PRIMARY_COLOR);
+        bulkInsertButton.setEnabled(false);
+        bulkInsertButton.addActionListener(this::bulkInsert);
+        controlsPanel.add(bulkInsertButton, gbc);
+
         return controlsPanel;
     }
 
@@ -132,6 +141,8 @@ public class HashPlegamiento extends AlgorithmWindow {
 
             structure = new DataStructure(size, keyLength);
             structure.initialize();
+            engine = new HashEngine(structure, new FoldingHash(size, keyLength, foldingDigits),
+                    CollisionMethod.fromLabel((String) collisionMethodCombo.getSelectedItem()), getStepLogger());
 
             // Habilitar controles
             enableControls(true);
@@ -181,15 +192,8 @@ public class HashPlegamiento extends AlgorithmWindow {
                         structure.getKeyLength()));
             }
 
-            // Calcular hash por plegamiento
-            int hashValue = calculateHashPlegamiento(key);
-            int originalIndex = hashValue - 1; // Convertir a índice base 0
-
-            // Verificar colisión y resolver
-            int finalIndex = resolveCollision(key, originalIndex);
-
-            structure.insertAt(key, finalIndex);
-            logToTerminal(String.format("Clave '%s' insertada en índice %d", key, finalIndex + 1), "success");
+            // Calcular hash por plegamiento y resolver colisiones
+            engine.insert(key);
             updateVisualization();
             searchKeyField.setText("");
 
@@ -198,139 +202,16 @@ public class HashPlegamiento extends AlgorithmWindow {
         }
     }
 
-    private int calculateHashPlegamiento(String key) {
-        int groupSize = Integer.parseInt(foldingDigitsField.getText().trim());
-        String keyStr = key;
-        int sum = 0;
-
-        logToTerminal(String.format("Calculando hash por plegamiento para clave: %s", key), "info");
-        logToTerminal(String.format("Tamaño de grupo: %d cifras", groupSize), "info");
-
-        // Dividir en grupos y sumar
-        for (int i = 0; i < keyStr.length(); i += groupSize) {
-            int endIndex = Math.min(i + groupSize, keyStr.length());
-            String group = keyStr.substring(i, endIndex);
-
-            // Rellenar con ceros a la derecha si es necesario
-            while (group.length() < groupSize && i + groupSize <= keyStr.length()) {
-                group += "0";
-            }
-
-            int groupValue = Integer.parseInt(group);
-            sum += groupValue;
-
-            logToTerminal(String.format("Grupo: %s = %d", group, groupValue), "info");
-        }
-
-        logToTerminal(String.format("Suma total de grupos: %d", sum), "info");
-
-        int hashValue = (sum % structure.getSize()) + 1;
-        logToTerminal(String.format("Hash calculado: (%d %% %d) + 1 = %d",
-                sum, structure.getSize(), hashValue), "info");
-
-        return hashValue;
-    }
-
-    private int resolveCollision(String key, int originalIndex) throws Exception {
-        String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
-
-        if (structure.getAt(originalIndex) == null) {
-            // No hay colisión
-            return originalIndex;
-        }
-
-        logToTerminal(String.format("Colisión detectada en índice %d", originalIndex + 1), "warning");
-
-        switch (collisionMethod) {
-            case "Sondeo Lineal":
-                return resolveLinearProbing(key, originalIndex);
-            case "Sondeo Cuadrático":
-                return resolveQuadraticProbing(key, originalIndex);
-            case "Estructuras Anidadas":
-                return resolveNestedStructures(key, originalIndex);
-            case "Estructuras Enlazadas":
-                return resolveLinkedStructures(key, originalIndex);
-            default:
-                throw new Exception("Método de colisión no implementado");
-        }
-    }
-
-    private int resolveLinearProbing(String key, int originalIndex) throws Exception {
-        int index = originalIndex;
-        int attempts = 0;
-
-        do {
-            index = (index + 1) % structure.getSize(); // Comportamiento circular
-            attempts++;
-
-            logToTerminal(String.format("Sondeo lineal: intento %d, índice %d",
-                    attempts, index + 1), "info");
-
-            if (structure.getAt(index) == null) {
-                logToTerminal(String.format("Posición libre encontrada en índice %d", index + 1), "success");
-                return index;
-            }
-
-            if (attempts >= structure.getSize()) {
-                throw new Exception("Tabla llena - no se puede insertar");
-            }
-
-        } while (index != originalIndex);
-
-        throw new Exception("No se pudo resolver la colisión");
-    }
-
-    private int resolveQuadraticProbing(String key, int originalIndex) throws Exception {
-        int attempts = 1;
-
-        while (attempts <= structure.getSize()) {
-            int index = (originalIndex + attempts * attempts) % structure.getSize();
-
-            logToTerminal(String.format("Sondeo cuadrático: intento %d², índice %d",
-                    attempts, index + 1), "info");
-
-            if (structure.getAt(index) == null) {
-                logToTerminal(String.format("Posición libre encontrada en índice %d", index + 1), "success");
-                return index;
-            }
-
-            attempts++;
-        }
-
-        throw new Exception("No se pudo resolver la colisión con sondeo cuadrático");
-    }
-
-    private int resolveNestedStructures(String key, int originalIndex) throws Exception {
-        for (int offset = 1; offset < structure.getSize(); offset++) {
-            int index = (originalIndex + offset) % structure.getSize();
-
-            if (structure.getAt(index) == null) {
-                logToTerminal(String.format("Estructura anidada: posición %d disponible", index + 1), "info");
-                return index;
-            }
-        }
-
-        throw new Exception("No hay espacio en estructuras anidadas");
-    }
-
-    private int resolveLinkedStructures(String key, int originalIndex) throws Exception {
-        int index = originalIndex;
-        int attempts = 0;
-
-        do {
-            index = (index + 1) % structure.getSize();
-            attempts++;
-
-            logToTerminal(String.format("Estructura enlazada: enlace %d, índice %d",
-                    attempts, index + 1), "info");
+    private void bulkInsert(ActionEvent e) {
+        enableControls(false);
+        collisionMethodCombo.setEnabled(false);
+        initButton.setEnabled(false);
 
-            if (structure.getAt(index) == null) {
-                return index;
-            }
-
-        } while (attempts < structure.getSize());
-
-        throw new Exception("No se pudo enlazar estructura");
+        runBulkInsert(structure.getKeyLength(), key -> engine.insert(key), () -> {
+            enableControls(true);
+            updateVisualization();
+            initButton.setEnabled(true);
+        });
     }
 
     private void searchKey(ActionEvent e) {
@@ -341,18 +222,19 @@ public class HashPlegamiento extends AlgorithmWindow {
                 throw new Exception("Ingrese una clave válida");
             }
 
-            // Calcular hash original
-            int hashValue = calculateHashPlegamiento(key);
-            int originalIndex = hashValue - 1;
+            // Buscar usando el mismo método de resolución de colisiones
+            HashEngine.Lookup lookup = engine.search(key);
 
             logToTerminal(String.format("Buscando clave '%s'", key), "info");
 
-            // Buscar usando el mismo método de resolución de colisiones
-            int foundIndex = findKey(key, originalIndex);
-
-            if (foundIndex != -1) {
-                logToTerminal(String.format("Clave '%s' encontrada en índice %d", key, foundIndex + 1), "success");
-                highlightSearchResult(foundIndex, true);
+            if (lookup.index != -1) {
+                logToTerminal(String.format("Clave '%s' encontrada en índice %d", key, lookup.index + 1), "success");
+                highlightSearchResult(lookup.index, true);
+            } else if (lookup.chainPosition != -1) {
+                logToTerminal(String.format("Clave '%s' encontrada en la cadena del índice %d, posición %d (longitud %d)",
+                        key, lookup.homeIndex + 1, lookup.chainPosition,
+                        engine.getChains().getChainLength(lookup.homeIndex)), "success");
+                highlightSearchResult(lookup.homeIndex, true);
             } else {
                 logToTerminal(String.format("Clave '%s' no encontrada", key), "error");
             }
@@ -362,54 +244,6 @@ public class HashPlegamiento extends AlgorithmWindow {
         }
     }
 
-    private int findKey(String key, int originalIndex) {
-        String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
-
-        // Verificar posición original
-        if (key.equals(structure.getAt(originalIndex))) {
-            return originalIndex;
-        }
-
-        // Buscar según método de colisión
-        switch (collisionMethod) {
-            case "Sondeo Lineal":
-                return findWithLinearProbing(key, originalIndex);
-            case "Sondeo Cuadrático":
-                return findWithQuadraticProbing(key, originalIndex);
-            default:
-                return findWithLinearProbing(key, originalIndex); // Fallback
-        }
-    }
-
-    private int findWithLinearProbing(String key, int originalIndex) {
-        int index = originalIndex;
-        int attempts = 0;
-
-        do {
-            if (key.equals(structure.getAt(index))) {
-                return index;
-            }
-
-            index = (index + 1) % structure.getSize();
-            attempts++;
-
-        } while (index != originalIndex && attempts < structure.getSize());
-
-        return -1;
-    }
-
-    private int findWithQuadraticProbing(String key, int originalIndex) {
-        for (int attempts = 1; attempts <= structure.getSize(); attempts++) {
-            int index = (originalIndex + attempts * attempts) % structure.getSize();
-
-            if (key.equals(structure.getAt(index))) {
-                return index;
-            }
-        }
-
-        return -1;
-    }
-
     private void deleteKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -418,10 +252,7 @@ public class HashPlegamiento extends AlgorithmWindow {
                 throw new Exception("Ingrese una clave válida");
             }
 
-            boolean removed = structure.remove(key);
-
-            if (removed) {
-                logToTerminal(String.format("Clave '%s' eliminada", key), "success");
+            if (engine.delete(key)) {
                 updateVisualization();
                 searchKeyField.setText("");
             } else {
@@ -435,23 +266,23 @@ public class HashPlegamiento extends AlgorithmWindow {
 
     private void resetHash(ActionEvent e) {
         if (structure != null && structure.isInitialized()) {
-            structure.initialize();
+            engine.clear();
             updateVisualization();
             logToTerminal("Tabla hash limpiada", "warning");
         }
     }
 
     private void highlightSearchResult(int index, boolean found) {
-        SwingUtilities.invokeLater(() -> {
-            updateVisualization();
-        });
+        highlightSlot(index);
     }
 
     private void enableControls(boolean enabled) {
+        collisionMethodCombo.setEnabled(!enabled);
         insertButton.setEnabled(enabled);
         searchButton.setEnabled(enabled);
         deleteButton.setEnabled(enabled);
         resetHashButton.setEnabled(enabled);
+        bulkInsertButton.setEnabled(enabled);
     }
 
     @Override
@@ -480,13 +311,25 @@ public class HashPlegamiento extends AlgorithmWindow {
                     writer.println((i + 1) + "," + (data[i] == null ? "" : data[i]));
                 }
 
+                if (engine.usesChains()) {
+                    CollisionChains chains = engine.getChains();
+                    writer.println("#CADENAS");
+                    for (int i = 0; i < data.length; i++) {
+                        if (chains.getChainLength(i) > 0) {
+                            writer.println((i + 1) + "," + java.util.Arrays.stream(chains.getChain(i))
+                                    .map(Object::toString)
+                                    .collect(java.util.stream.Collectors.joining("|")));
+                        }
+                    }
+                }
+
                 writer.println("#CASOS_PRUEBA");
                 writer.println("10203040,3,173");
                 writer.println("25303540,3,329");
                 writer.println("50153028,3,60");
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -545,6 +388,7 @@ public class HashPlegamiento extends AlgorithmWindow {
             if (structure != null) {
                 structure.reset();
             }
+            engine = null;
 
             sizeField.setText("");
             keyLengthField.setText("");
@@ -553,7 +397,7 @@ public class HashPlegamiento extends AlgorithmWindow {
             collisionMethodCombo.setSelectedIndex(0);
 
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
 
             updateVisualization();
             logToTerminal("Sistema reseteado", "warning");
@@ -485,7 +485,7 @@ public class ExpansionParcial extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -548,7 +548,7 @@ public class ExpansionParcial extends AlgorithmWindow {
 
             updateCalculatedValues();
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
             expansionHistoryArea.setText("");
 
             updateDynamicVisualization();
@@ -482,7 +482,7 @@ public class ExpansionTotal extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -545,7 +545,7 @@ public class ExpansionTotal extends AlgorithmWindow {
 
             updateCalculatedValues();
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
             expansionHistoryArea.setText("");
 
             updateDynamicVisualization();
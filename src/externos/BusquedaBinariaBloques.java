@@ -7,9 +7,11 @@ import java.awt.event.ActionEvent;
 import java.io.*;
 
 public class BusquedaBinariaBloques extends AlgorithmWindow {
-    private JTextField totalElementsField, keyLengthField, searchKeyField;
+    private JTextField totalElementsField, keyLengthField, searchKeyField, bufferFramesField, blockSizeField;
     private JLabel numBlocksLabel, elementsPerBlockLabel;
-    private JButton initButton, insertButton, searchButton, deleteButton, sortButton;
+    private JComboBox<String> blockSizingCombo;
+    private JButton initButton, insertButton, searchButton, deleteButton, sortButton, saveFileButton, fileSearchButton;
+    private JComboBox<String> searchModeCombo, evictionPolicyCombo;
     private BlockVisualization blockVisualization;
     private BlockStructure blockStructure;
 
@@ -67,25 +69,75 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
         gbc.gridx = 3;
         keyLengthField = new JTextField(10);
         keyLengthField.setPreferredSize(Constants.INPUT_SIZE);
+        keyLengthField.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyReleased(java.awt.event.KeyEvent evt) {
+                updateBlockInfo();
+            }
+        });
         configPanel.add(keyLengthField, gbc);
 
         // Información calculada
         gbc.gridx = 0; gbc.gridy = 1;
         configPanel.add(new JLabel("Bloques:"), gbc);
         gbc.gridx = 1;
-        numBlocksLabel = new JLabel("√(n) = ?");
+        numBlocksLabel = new JLabel("?");
         numBlocksLabel.setFont(Constants.MONO_FONT);
         configPanel.add(numBlocksLabel, gbc);
 
         gbc.gridx = 2; gbc.gridy = 1;
         configPanel.add(new JLabel("Elementos/bloque:"), gbc);
         gbc.gridx = 3;
-        elementsPerBlockLabel = new JLabel("n/bloques = ?");
+        elementsPerBlockLabel = new JLabel("?");
         elementsPerBlockLabel.setFont(Constants.MONO_FONT);
         configPanel.add(elementsPerBlockLabel, gbc);
 
+        // Estrategia dentro del bloque (entre bloques siempre es binaria)
+        gbc.gridx = 0; gbc.gridy = 2;
+        configPanel.add(new JLabel("Búsqueda en bloque:"), gbc);
+        gbc.gridx = 1;
+        searchModeCombo = new JComboBox<>(SearchMode.labels(
+                SearchMode.BINARY, SearchMode.INTERPOLATION, SearchMode.EXPONENTIAL));
+        searchModeCombo.setPreferredSize(Constants.INPUT_SIZE);
+        configPanel.add(searchModeCombo, gbc);
+
+        // Buffer pool delante de los bloques (vacío = sin buffer pool)
+        gbc.gridx = 0; gbc.gridy = 3;
+        configPanel.add(new JLabel("Marcos de buffer:"), gbc);
+        gbc.gridx = 1;
+        bufferFramesField = new JTextField(10);
+        bufferFramesField.setPreferredSize(Constants.INPUT_SIZE);
+        configPanel.add(bufferFramesField, gbc);
+
+        gbc.gridx = 2; gbc.gridy = 3;
+        configPanel.add(new JLabel("Reemplazo:"), gbc);
+        gbc.gridx = 3;
+        evictionPolicyCombo = new JComboBox<>(EvictionPolicy.labels());
+        evictionPolicyCombo.setPreferredSize(Constants.INPUT_SIZE);
+        configPanel.add(evictionPolicyCombo, gbc);
+
+        // Tamaño de bloque: √n bloques, registros por bloque o bytes por bloque (p. ej. una página)
+        gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 1;
+        configPanel.add(new JLabel("Tamaño de bloque:"), gbc);
+        gbc.gridx = 1;
+        blockSizingCombo = new JComboBox<>(BlockSizing.labels());
+        blockSizingCombo.setPreferredSize(Constants.INPUT_SIZE);
+        blockSizingCombo.addActionListener(e -> updateBlockInfo());
+        configPanel.add(blockSizingCombo, gbc);
+
+        gbc.gridx = 2; gbc.gridy = 4;
+        configPanel.add(new JLabel("Registros o bytes:"), gbc);
+        gbc.gridx = 3;
+        blockSizeField = new JTextField(String.valueOf(BlockGeometry.PAGE_SIZE), 10);
+        blockSizeField.setPreferredSize(Constants.INPUT_SIZE);
+        blockSizeField.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyReleased(java.awt.event.KeyEvent evt) {
+                updateBlockInfo();
+            }
+        });
+        configPanel.add(blockSizeField, gbc);
+
         // Botón inicializar
-        gbc.gridx = 4; gbc.gridy = 0; gbc.gridheight = 2;
+        gbc.gridx = 4; gbc.gridy = 0; gbc.gridheight = 5;
         initButton = createStyledButton("Inicializar", Constants.PRIMARY_COLOR);
         initButton.addActionListener(this::initializeStructure);
         configPanel.add(initButton, gbc);
@@ -135,25 +187,40 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
         sortButton.addActionListener(this::sortStructure);
         controlsPanel.add(sortButton, gbc);
 
+        gbc.gridx = 6;
+        saveFileButton = createStyledButton("Guardar Archivo", Constants.PRIMARY_COLOR);
+        saveFileButton.setEnabled(false);
+        saveFileButton.addActionListener(this::saveToFile);
+        controlsPanel.add(saveFileButton, gbc);
+
+        gbc.gridx = 7;
+        fileSearchButton = createStyledButton("Buscar en Archivo", Constants.INFO_COLOR);
+        fileSearchButton.addActionListener(this::searchInFile);
+        controlsPanel.add(fileSearchButton, gbc);
+
         return controlsPanel;
     }
 
     private void updateBlockInfo() {
         try {
-            int totalElements = Integer.parseInt(totalElementsField.getText().trim());
-            if (totalElements > 0) {
-                int numBlocks = (int) Math.floor(Math.sqrt(totalElements));
-                int elementsPerBlock = totalElements / numBlocks;
-
-                numBlocksLabel.setText("√(" + totalElements + ") = " + numBlocks);
-                elementsPerBlockLabel.setText(totalElements + "/" + numBlocks + " = " + elementsPerBlock);
-            }
-        } catch (NumberFormatException e) {
-            numBlocksLabel.setText("√(n) = ?");
-            elementsPerBlockLabel.setText("n/bloques = ?");
+            BlockGeometry geometry = readGeometry();
+            numBlocksLabel.setText(geometry.describeBlocks());
+            elementsPerBlockLabel.setText(geometry.describeBlockSize());
+        } catch (Exception e) {
+            numBlocksLabel.setText("?");
+            elementsPerBlockLabel.setText("?");
         }
     }
 
+    // Geometría de bloques según n, la longitud de clave y el tamaño de bloque elegido
+    private BlockGeometry readGeometry() throws Exception {
+        int totalElements = Integer.parseInt(totalElementsField.getText().trim());
+        int keyLength = Integer.parseInt(keyLengthField.getText().trim());
+        BlockSizing sizing = BlockSizing.fromLabel((String) blockSizingCombo.getSelectedItem());
+        int size = sizing == BlockSizing.SQRT ? 1 : Integer.parseInt(blockSizeField.getText().trim());
+        return BlockGeometry.of(sizing, totalElements, keyLength, size);
+    }
+
     private void initializeStructure(ActionEvent e) {
         try {
             int totalElements = Integer.parseInt(totalElementsField.getText().trim());
@@ -167,15 +234,24 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
                 throw new Exception("El número total de elementos debe ser al menos 4");
             }
 
-            blockStructure = new BlockStructure(totalElements, keyLength);
+            BufferPool bufferPool = createBufferPool();
+
+            blockStructure = new BlockStructure(readGeometry());
             blockStructure.initialize();
+            blockStructure.setBufferPool(bufferPool);
+            // Se inserta en la primera posición libre: los bloques pueden quedar compactos
+            blockStructure.setPacked(true);
 
             // Habilitar controles
             enableControls(true);
 
             logToTerminal(String.format("Estructura por bloques inicializada: %d elementos totales", totalElements), "success");
-            logToTerminal(String.format("Distribución: %d bloques de %d elementos cada uno",
-                    blockStructure.getNumBlocks(), blockStructure.getElementsPerBlock()), "info");
+            logToTerminal("Distribución: " + blockStructure.getGeometry().describe(), "info");
+            logToTerminal("Bloques compactos: al eliminar se corren las claves siguientes del bloque", "info");
+            if (bufferPool != null) {
+                logToTerminal(String.format("Buffer pool: %d marcos de %d bloques, reemplazo %s",
+                        bufferPool.getFrames(), blockStructure.getNumBlocks(), bufferPool.getPolicy()), "info");
+            }
             logToTerminal("IMPORTANTE: Use 'Ordenar' antes de realizar búsquedas binarias", "warning");
             updateBlockVisualization();
 
@@ -192,6 +268,35 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
         }
     }
 
+    // Buffer pool según la configuración; null si no se indicaron marcos
+    private BufferPool createBufferPool() throws Exception {
+        String frames = bufferFramesField.getText().trim();
+        if (frames.isEmpty()) {
+            return null;
+        }
+        return new BufferPool(Integer.parseInt(frames),
+                EvictionPolicy.fromLabel((String) evictionPolicyCombo.getSelectedItem()));
+    }
+
+    private BufferPool.Stats bufferStats() {
+        BufferPool bufferPool = blockStructure.getBufferPool();
+        return bufferPool != null ? bufferPool.getStats() : null;
+    }
+
+    // Aciertos, fallos y E/S simulada de la última operación y acumulados
+    private void logBufferStats(BufferPool.Stats before) {
+        if (before == null) {
+            return;
+        }
+
+        BufferPool.Stats total = bufferStats();
+        BufferPool.Stats last = total.since(before);
+        logToTerminal(String.format("Buffer pool: %d aciertos, %d fallos (%.1f%%); E/S simulada: %d lecturas, %d escrituras",
+                last.hits, last.misses, last.getHitRatio(), last.reads, last.writes), "info");
+        logToTerminal(String.format("Buffer pool acumulado: %.1f%% aciertos en %d accesos (%d lecturas, %d escrituras)",
+                total.getHitRatio(), total.getAccesses(), total.reads, total.writes), "info");
+    }
+
     private void insertKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -263,10 +368,13 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
                 }
             }
 
-            logToTerminal(String.format("Iniciando búsqueda binaria por bloques para: '%s'", key), "info");
+            SearchMode mode = SearchMode.fromLabel((String) searchModeCombo.getSelectedItem());
+            logToTerminal(String.format("Iniciando búsqueda binaria por bloques para: '%s' (en bloque: %s)",
+                    key, mode), "info");
             logToTerminal("=== PROCESO DE BÚSQUEDA BINARIA ===", "info");
 
-            BlockStructure.SearchResult result = blockStructure.binarySearch(key);
+            BufferPool.Stats before = bufferStats();
+            BlockStructure.SearchResult result = blockStructure.binarySearch(key, TraceMode.FULL, mode);
 
             // Mostrar pasos de búsqueda
             logSearchSteps(result.steps);
@@ -277,18 +385,69 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
             if (result.found) {
                 logToTerminal(String.format("Clave '%s' encontrada en bloque %d, posición %d",
                         key, result.blockIndex + 1, result.position + 1), "success");
-                logToTerminal(String.format("Total de accesos: %d", result.steps.size()), "info");
+                logToTerminal(String.format("Total de accesos: %d (bloques: %d, elementos: %d)",
+                        result.getTotalAccesses(), result.blockAccesses, result.elementAccesses), "info");
                 blockVisualization.highlightPosition(result.blockIndex, result.position);
             } else {
                 logToTerminal(String.format("Clave '%s' no encontrada", key), "error");
-                logToTerminal(String.format("Total de accesos: %d", result.steps.size()), "info");
+                logToTerminal(String.format("Total de accesos: %d (bloques: %d, elementos: %d)",
+                        result.getTotalAccesses(), result.blockAccesses, result.elementAccesses), "info");
             }
+            logBufferStats(before);
 
         } catch (Exception ex) {
             logToTerminal("Error en búsqueda: " + ex.getMessage(), "error");
         }
     }
 
+    private void saveToFile(ActionEvent e) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Guardar archivo de bloques");
+
+        if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            try (BlockFile blockFile = BlockFile.copyOf(blockStructure, fileChooser.getSelectedFile())) {
+                logToTerminal(String.format("Archivo de bloques guardado: %d páginas de %d bytes (%d bytes en total)",
+                        blockFile.getNumBlocks(), blockFile.getPageSize(), blockFile.getFileSize()), "success");
+            } catch (Exception ex) {
+                logToTerminal("Error al guardar archivo: " + ex.getMessage(), "error");
+            }
+        }
+    }
+
+    // Busca la clave del campo directamente en un archivo de bloques (páginas mapeadas en memoria)
+    private void searchInFile(ActionEvent e) {
+        String key = searchKeyField.getText().trim();
+        if (key.isEmpty()) {
+            logToTerminal("Error en búsqueda: Ingrese una clave válida", "error");
+            return;
+        }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Buscar en archivo de bloques");
+
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            try (BlockFile blockFile = BlockFile.open(fileChooser.getSelectedFile())) {
+                logToTerminal(String.format("Archivo de bloques: %d páginas de %d claves de %d bytes",
+                        blockFile.getNumBlocks(), blockFile.getElementsPerBlock(), blockFile.getKeyLength()), "info");
+
+                long start = System.nanoTime();
+                BlockStructure.SearchResult result = blockFile.binarySearch(key, TraceMode.COUNTS_ONLY);
+                double elapsed = (System.nanoTime() - start) / 1e6;
+
+                if (result.found) {
+                    logToTerminal(String.format("Clave '%s' encontrada en página %d, posición %d (Búsqueda binaria en archivo, %.3f ms)",
+                            key, result.blockIndex + 1, result.position + 1, elapsed), "success");
+                } else {
+                    logToTerminal(String.format("Clave '%s' no encontrada en el archivo (%.3f ms)", key, elapsed), "error");
+                }
+                logToTerminal(String.format("Total de accesos: %d (páginas: %d, elementos: %d)",
+                        result.getTotalAccesses(), result.blockAccesses, result.elementAccesses), "info");
+            } catch (Exception ex) {
+                logToTerminal("Error en búsqueda en archivo: " + ex.getMessage(), "error");
+            }
+        }
+    }
+
     private void logSearchSteps(java.util.List<BlockStructure.SearchStep> steps) {
         int stepNumber = 1;
 
@@ -324,7 +483,9 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
                 throw new Exception("Ingrese una clave válida");
             }
 
+            BufferPool.Stats before = bufferStats();
             boolean removed = blockStructure.remove(key);
+            logBufferStats(before);
 
             if (removed) {
                 logToTerminal(String.format("Clave '%s' eliminada", key), "success");
@@ -341,8 +502,10 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
 
     private void sortStructure(ActionEvent e) {
         try {
+            BufferPool.Stats before = bufferStats();
             blockStructure.sort();
             logToTerminal("Estructura ordenada - lista para búsquedas binarias", "success");
+            logBufferStats(before);
             updateBlockVisualization();
 
         } catch (Exception ex) {
@@ -359,6 +522,7 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
         searchButton.setEnabled(enabled);
         deleteButton.setEnabled(enabled);
         sortButton.setEnabled(enabled);
+        saveFileButton.setEnabled(enabled);
     }
 
     @Override
@@ -378,9 +542,12 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
                 writer.println("Algoritmo,Busqueda Binaria Bloques");
                 writer.println("Total_Elementos," + blockStructure.getTotalElements());
                 writer.println("Longitud_Clave," + blockStructure.getKeyLength());
+                writer.println("Unidad_Bloque," + blockStructure.getGeometry().getSizing().getLabel());
+                writer.println("Tamano_Bloque," + blockStructure.getGeometry().getSize());
                 writer.println("Num_Bloques," + blockStructure.getNumBlocks());
                 writer.println("Elementos_Por_Bloque," + blockStructure.getElementsPerBlock());
                 writer.println("Ordenado," + blockStructure.isSorted());
+                writeBufferConfig(writer);
 
                 writer.println("#DATOS_BLOQUES");
                 Object[][] blocks = blockStructure.getBlocks();
@@ -392,7 +559,7 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -402,6 +569,14 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
         }
     }
 
+    private void writeBufferConfig(PrintWriter writer) {
+        BufferPool bufferPool = blockStructure.getBufferPool();
+        if (bufferPool != null) {
+            writer.println("Marcos_Buffer," + bufferPool.getFrames());
+            writer.println("Reemplazo," + bufferPool.getPolicy().getLabel());
+        }
+    }
+
     @Override
     protected void importFromCSV() {
         JFileChooser fileChooser = new JFileChooser();
@@ -425,6 +600,16 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
                             updateBlockInfo();
                         } else if (parts[0].equals("Longitud_Clave")) {
                             keyLengthField.setText(parts[1]);
+                            updateBlockInfo();
+                        } else if (parts[0].equals("Unidad_Bloque")) {
+                            blockSizingCombo.setSelectedItem(parts[1]);
+                        } else if (parts[0].equals("Tamano_Bloque")) {
+                            blockSizeField.setText(parts[1]);
+                            updateBlockInfo();
+                        } else if (parts[0].equals("Marcos_Buffer")) {
+                            bufferFramesField.setText(parts[1]);
+                        } else if (parts[0].equals("Reemplazo")) {
+                            evictionPolicyCombo.setSelectedItem(parts[1]);
                         }
                     }
                 }
@@ -452,12 +637,15 @@ public class BusquedaBinariaBloques extends AlgorithmWindow {
             totalElementsField.setText("");
             keyLengthField.setText("");
             searchKeyField.setText("");
+            blockSizeField.setText(String.valueOf(BlockGeometry.PAGE_SIZE));
+            blockSizingCombo.setSelectedIndex(0);
+            bufferFramesField.setText("");
 
-            numBlocksLabel.setText("√(n) = ?");
-            elementsPerBlockLabel.setText("n/bloques = ?");
+            numBlocksLabel.setText("?");
+            elementsPerBlockLabel.setText("?");
 
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
 
             updateBlockVisualization();
             logToTerminal("Sistema reseteado", "warning");
@@ -7,9 +7,12 @@ import java.awt.event.ActionEvent;
 import java.io.*;
 
 public class BusquedaLinealBloques extends AlgorithmWindow {
-    private JTextField totalElementsField, keyLengthField, searchKeyField;
+    private JTextField totalElementsField, keyLengthField, searchKeyField, bufferFramesField, blockSizeField;
     private JLabel numBlocksLabel, elementsPerBlockLabel;
-    private JButton initButton, insertButton, searchButton, deleteButton, sortButton;
+    private JComboBox<String> blockSizingCombo;
+    private JButton initButton, insertButton, searchButton, deleteButton, sortButton, rangeButton;
+    private JButton saveFileButton, fileSearchButton;
+    private JComboBox<String> linearModeCombo, evictionPolicyCombo;
     private BlockVisualization blockVisualization;
     private BlockStructure blockStructure;
 
@@ -17,7 +20,7 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
         super(parent, "Búsqueda Lineal por Bloques");
         logToTerminal("Sistema de Búsqueda Lineal por Bloques iniciado", "info");
         logToTerminal("Algoritmo: Búsqueda secuencial entre y dentro de bloques", "info");
-        logToTerminal("Fórmula: Bloques = √(n), Elementos por bloque = n / bloques", "info");
+        logToTerminal("Bloques: √n bloques, registros o bytes por bloque; el último puede quedar parcial", "info");
         initializeBlockVisualization();
     }
 
@@ -68,25 +71,74 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
         gbc.gridx = 3;
         keyLengthField = new JTextField(10);
         keyLengthField.setPreferredSize(Constants.INPUT_SIZE);
+        keyLengthField.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyReleased(java.awt.event.KeyEvent evt) {
+                updateBlockInfo();
+            }
+        });
         configPanel.add(keyLengthField, gbc);
 
         // Información calculada
         gbc.gridx = 0; gbc.gridy = 1;
         configPanel.add(new JLabel("Bloques:"), gbc);
         gbc.gridx = 1;
-        numBlocksLabel = new JLabel("√(n) = ?");
+        numBlocksLabel = new JLabel("?");
         numBlocksLabel.setFont(Constants.MONO_FONT);
         configPanel.add(numBlocksLabel, gbc);
 
         gbc.gridx = 2; gbc.gridy = 1;
         configPanel.add(new JLabel("Elementos/bloque:"), gbc);
         gbc.gridx = 3;
-        elementsPerBlockLabel = new JLabel("n/bloques = ?");
+        elementsPerBlockLabel = new JLabel("?");
         elementsPerBlockLabel.setFont(Constants.MONO_FONT);
         configPanel.add(elementsPerBlockLabel, gbc);
 
+        // Secuencial (con animación) o repartida entre hilos
+        gbc.gridx = 0; gbc.gridy = 2;
+        configPanel.add(new JLabel("Modo de búsqueda:"), gbc);
+        gbc.gridx = 1;
+        linearModeCombo = new JComboBox<>(LinearMode.labels(LinearMode.SEQUENTIAL, LinearMode.PARALLEL));
+        linearModeCombo.setPreferredSize(Constants.INPUT_SIZE);
+        configPanel.add(linearModeCombo, gbc);
+
+        // Buffer pool delante de los bloques (vacío = sin buffer pool)
+        gbc.gridx = 0; gbc.gridy = 3;
+        configPanel.add(new JLabel("Marcos de buffer:"), gbc);
+        gbc.gridx = 1;
+        bufferFramesField = new JTextField(10);
+        bufferFramesField.setPreferredSize(Constants.INPUT_SIZE);
+        configPanel.add(bufferFramesField, gbc);
+
+        gbc.gridx = 2; gbc.gridy = 3;
+        configPanel.add(new JLabel("Reemplazo:"), gbc);
+        gbc.gridx = 3;
+        evictionPolicyCombo = new JComboBox<>(EvictionPolicy.labels());
+        evictionPolicyCombo.setPreferredSize(Constants.INPUT_SIZE);
+        configPanel.add(evictionPolicyCombo, gbc);
+
+        // Tamaño de bloque: √n bloques, registros por bloque o bytes por bloque (p. ej. una página)
+        gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 1;
+        configPanel.add(new JLabel("Tamaño de bloque:"), gbc);
+        gbc.gridx = 1;
+        blockSizingCombo = new JComboBox<>(BlockSizing.labels());
+        blockSizingCombo.setPreferredSize(Constants.INPUT_SIZE);
+        blockSizingCombo.addActionListener(e -> updateBlockInfo());
+        configPanel.add(blockSizingCombo, gbc);
+
+        gbc.gridx = 2; gbc.gridy = 4;
+        configPanel.add(new JLabel("Registros o bytes:"), gbc);
+        gbc.gridx = 3;
+        blockSizeField = new JTextField(String.valueOf(BlockGeometry.PAGE_SIZE), 10);
+        blockSizeField.setPreferredSize(Constants.INPUT_SIZE);
+        blockSizeField.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyReleased(java.awt.event.KeyEvent evt) {
+                updateBlockInfo();
+            }
+        });
+        configPanel.add(blockSizeField, gbc);
+
         // Botón inicializar
-        gbc.gridx = 4; gbc.gridy = 0; gbc.gridheight = 2;
+        gbc.gridx = 4; gbc.gridy = 0; gbc.gridheight = 5;
         initButton = createStyledButton("Inicializar", Constants.PRIMARY_COLOR);
         initButton.addActionListener(this::initializeStructure);
         configPanel.add(initButton, gbc);
@@ -136,25 +188,46 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
         sortButton.addActionListener(this::sortStructure);
         controlsPanel.add(sortButton, gbc);
 
+        gbc.gridx = 6;
+        rangeButton = createStyledButton("Contar Rango", Constants.INFO_COLOR);
+        rangeButton.setEnabled(false);
+        rangeButton.addActionListener(this::countRange);
+        controlsPanel.add(rangeButton, gbc);
+
+        gbc.gridx = 7;
+        saveFileButton = createStyledButton("Guardar Archivo", Constants.PRIMARY_COLOR);
+        saveFileButton.setEnabled(false);
+        saveFileButton.addActionListener(this::saveToFile);
+        controlsPanel.add(saveFileButton, gbc);
+
+        gbc.gridx = 8;
+        fileSearchButton = createStyledButton("Buscar en Archivo", Constants.INFO_COLOR);
+        fileSearchButton.addActionListener(this::searchInFile);
+        controlsPanel.add(fileSearchButton, gbc);
+
         return controlsPanel;
     }
 
     private void updateBlockInfo() {
         try {
-            int totalElements = Integer.parseInt(totalElementsField.getText().trim());
-            if (totalElements > 0) {
-                int numBlocks = (int) Math.floor(Math.sqrt(totalElements));
-                int elementsPerBlock = totalElements / numBlocks;
-
-                numBlocksLabel.setText("√(" + totalElements + ") = " + numBlocks);
-                elementsPerBlockLabel.setText(totalElements + "/" + numBlocks + " = " + elementsPerBlock);
-            }
-        } catch (NumberFormatException e) {
-            numBlocksLabel.setText("√(n) = ?");
-            elementsPerBlockLabel.setText("n/bloques = ?");
+            BlockGeometry geometry = readGeometry();
+            numBlocksLabel.setText(geometry.describeBlocks());
+            elementsPerBlockLabel.setText(geometry.describeBlockSize());
+        } catch (Exception e) {
+            numBlocksLabel.setText("?");
+            elementsPerBlockLabel.setText("?");
         }
     }
 
+    // Geometría de bloques según n, la longitud de clave y el tamaño de bloque elegido
+    private BlockGeometry readGeometry() throws Exception {
+        int totalElements = Integer.parseInt(totalElementsField.getText().trim());
+        int keyLength = Integer.parseInt(keyLengthField.getText().trim());
+        BlockSizing sizing = BlockSizing.fromLabel((String) blockSizingCombo.getSelectedItem());
+        int size = sizing == BlockSizing.SQRT ? 1 : Integer.parseInt(blockSizeField.getText().trim());
+        return BlockGeometry.of(sizing, totalElements, keyLength, size);
+    }
+
     private void initializeStructure(ActionEvent e) {
         try {
             int totalElements = Integer.parseInt(totalElementsField.getText().trim());
@@ -168,15 +241,24 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
                 throw new Exception("El número total de elementos debe ser al menos 4");
             }
 
-            blockStructure = new BlockStructure(totalElements, keyLength);
+            BufferPool bufferPool = createBufferPool();
+
+            blockStructure = new BlockStructure(readGeometry());
             blockStructure.initialize();
+            blockStructure.setBufferPool(bufferPool);
+            // Se inserta en la primera posición libre: los bloques pueden quedar compactos
+            blockStructure.setPacked(true);
 
             // Habilitar controles
             enableControls(true);
 
             logToTerminal(String.format("Estructura por bloques inicializada: %d elementos totales", totalElements), "success");
-            logToTerminal(String.format("Distribución: %d bloques de %d elementos cada uno",
-                    blockStructure.getNumBlocks(), blockStructure.getElementsPerBlock()), "info");
+            logToTerminal("Distribución: " + blockStructure.getGeometry().describe(), "info");
+            logToTerminal("Bloques compactos: al eliminar se corren las claves siguientes del bloque", "info");
+            if (bufferPool != null) {
+                logToTerminal(String.format("Buffer pool: %d marcos de %d bloques, reemplazo %s",
+                        bufferPool.getFrames(), blockStructure.getNumBlocks(), bufferPool.getPolicy()), "info");
+            }
             updateBlockVisualization();
 
         } catch (NumberFormatException ex) {
@@ -192,6 +274,35 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
         }
     }
 
+    // Buffer pool según la configuración; null si no se indicaron marcos
+    private BufferPool createBufferPool() throws Exception {
+        String frames = bufferFramesField.getText().trim();
+        if (frames.isEmpty()) {
+            return null;
+        }
+        return new BufferPool(Integer.parseInt(frames),
+                EvictionPolicy.fromLabel((String) evictionPolicyCombo.getSelectedItem()));
+    }
+
+    private BufferPool.Stats bufferStats() {
+        BufferPool bufferPool = blockStructure.getBufferPool();
+        return bufferPool != null ? bufferPool.getStats() : null;
+    }
+
+    // Aciertos, fallos y E/S simulada de la última operación y acumulados
+    private void logBufferStats(BufferPool.Stats before) {
+        if (before == null) {
+            return;
+        }
+
+        BufferPool.Stats total = bufferStats();
+        BufferPool.Stats last = total.since(before);
+        logToTerminal(String.format("Buffer pool: %d aciertos, %d fallos (%.1f%%); E/S simulada: %d lecturas, %d escrituras",
+                last.hits, last.misses, last.getHitRatio(), last.reads, last.writes), "info");
+        logToTerminal(String.format("Buffer pool acumulado: %.1f%% aciertos en %d accesos (%d lecturas, %d escrituras)",
+                total.getHitRatio(), total.getAccesses(), total.reads, total.writes), "info");
+    }
+
     private void insertKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -246,9 +357,15 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
                 throw new Exception("Ingrese una clave válida");
             }
 
+            if (LinearMode.fromLabel((String) linearModeCombo.getSelectedItem()) == LinearMode.PARALLEL) {
+                searchInParallel(key);
+                return;
+            }
+
             logToTerminal(String.format("Iniciando búsqueda lineal por bloques para: '%s'", key), "info");
             logToTerminal("=== PROCESO DE BÚSQUEDA ===", "info");
 
+            BufferPool.Stats before = bufferStats();
             BlockStructure.SearchResult result = blockStructure.linearSearch(key);
 
             // Mostrar pasos de búsqueda
@@ -260,18 +377,123 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
             if (result.found) {
                 logToTerminal(String.format("Clave '%s' encontrada en bloque %d, posición %d",
                         key, result.blockIndex + 1, result.position + 1), "success");
-                logToTerminal(String.format("Total de accesos: %d", result.steps.size()), "info");
+                logToTerminal(String.format("Total de accesos: %d", result.getTotalAccesses()), "info");
                 blockVisualization.highlightPosition(result.blockIndex, result.position);
             } else {
                 logToTerminal(String.format("Clave '%s' no encontrada", key), "error");
-                logToTerminal(String.format("Total de accesos: %d", result.steps.size()), "info");
+                logToTerminal(String.format("Total de accesos: %d", result.getTotalAccesses()), "info");
             }
+            logBufferStats(before);
 
         } catch (Exception ex) {
             logToTerminal("Error en búsqueda: " + ex.getMessage(), "error");
         }
     }
 
+    private void searchInParallel(String key) {
+        int threads = java.util.concurrent.ForkJoinPool.getCommonPoolParallelism();
+        long start = System.nanoTime();
+        BufferPool.Stats before = bufferStats();
+        BlockStructure.SearchResult result = blockStructure.parallelLinearSearch(key);
+        double elapsed = (System.nanoTime() - start) / 1e6;
+
+        if (result.found) {
+            logToTerminal(String.format("Clave '%s' encontrada en bloque %d, posición %d (Búsqueda paralela: %d hilos, %.3f ms)",
+                    key, result.blockIndex + 1, result.position + 1, threads, elapsed), "success");
+            blockVisualization.highlightPosition(result.blockIndex, result.position);
+        } else {
+            logToTerminal(String.format("Clave '%s' no encontrada (Búsqueda paralela: %d hilos, %.3f ms)",
+                    key, threads, elapsed), "error");
+        }
+        logToTerminal(String.format("Total de accesos (todos los hilos): %d (bloques: %d, elementos: %d)",
+                result.getTotalAccesses(), result.blockAccesses, result.elementAccesses), "info");
+        logBufferStats(before);
+    }
+
+    private void countRange(ActionEvent e) {
+        try {
+            String[] range = askRange();
+            if (range == null) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            BufferPool.Stats before = bufferStats();
+            int count = blockStructure.countInRange(range[0], range[1]);
+            double elapsed = (System.nanoTime() - start) / 1e6;
+
+            logToTerminal(String.format("Claves entre '%s' y '%s': %d (%d hilos, %.3f ms)", range[0], range[1],
+                    count, java.util.concurrent.ForkJoinPool.getCommonPoolParallelism(), elapsed), "success");
+            logBufferStats(before);
+
+        } catch (Exception ex) {
+            logToTerminal("Error al contar rango: " + ex.getMessage(), "error");
+        }
+    }
+
+    // Pide "desde,hasta"; devuelve null si se cancela
+    private String[] askRange() throws Exception {
+        String input = JOptionPane.showInputDialog(this, "Rango de claves (desde,hasta):",
+                "Contar Rango", JOptionPane.QUESTION_MESSAGE);
+        if (input == null) {
+            return null;
+        }
+
+        String[] parts = input.split(",");
+        if (parts.length != 2 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty()) {
+            throw new Exception("Ingrese el rango como desde,hasta");
+        }
+        return new String[]{parts[0].trim(), parts[1].trim()};
+    }
+
+    private void saveToFile(ActionEvent e) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Guardar archivo de bloques");
+
+        if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            try (BlockFile blockFile = BlockFile.copyOf(blockStructure, fileChooser.getSelectedFile())) {
+                logToTerminal(String.format("Archivo de bloques guardado: %d páginas de %d bytes (%d bytes en total)",
+                        blockFile.getNumBlocks(), blockFile.getPageSize(), blockFile.getFileSize()), "success");
+            } catch (Exception ex) {
+                logToTerminal("Error al guardar archivo: " + ex.getMessage(), "error");
+            }
+        }
+    }
+
+    // Busca la clave del campo directamente en un archivo de bloques (páginas mapeadas en memoria)
+    private void searchInFile(ActionEvent e) {
+        String key = searchKeyField.getText().trim();
+        if (key.isEmpty()) {
+            logToTerminal("Error en búsqueda: Ingrese una clave válida", "error");
+            return;
+        }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Buscar en archivo de bloques");
+
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            try (BlockFile blockFile = BlockFile.open(fileChooser.getSelectedFile())) {
+                logToTerminal(String.format("Archivo de bloques: %d páginas de %d claves de %d bytes",
+                        blockFile.getNumBlocks(), blockFile.getElementsPerBlock(), blockFile.getKeyLength()), "info");
+
+                long start = System.nanoTime();
+                BlockStructure.SearchResult result = blockFile.linearSearch(key, TraceMode.COUNTS_ONLY);
+                double elapsed = (System.nanoTime() - start) / 1e6;
+
+                if (result.found) {
+                    logToTerminal(String.format("Clave '%s' encontrada en página %d, posición %d (Búsqueda secuencial en archivo, %.3f ms)",
+                            key, result.blockIndex + 1, result.position + 1, elapsed), "success");
+                } else {
+                    logToTerminal(String.format("Clave '%s' no encontrada en el archivo (%.3f ms)", key, elapsed), "error");
+                }
+                logToTerminal(String.format("Total de accesos: %d (páginas: %d, elementos: %d)",
+                        result.getTotalAccesses(), result.blockAccesses, result.elementAccesses), "info");
+            } catch (Exception ex) {
+                logToTerminal("Error en búsqueda en archivo: " + ex.getMessage(), "error");
+            }
+        }
+    }
+
     private void logSearchSteps(java.util.List<BlockStructure.SearchStep> steps) {
         int blockAccesses = 0;
         int elementAccesses = 0;
@@ -314,7 +536,9 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
                 throw new Exception("Ingrese una clave válida");
             }
 
+            BufferPool.Stats before = bufferStats();
             boolean removed = blockStructure.remove(key);
+            logBufferStats(before);
 
             if (removed) {
                 logToTerminal(String.format("Clave '%s' eliminada", key), "success");
@@ -331,8 +555,10 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
 
     private void sortStructure(ActionEvent e) {
         try {
+            BufferPool.Stats before = bufferStats();
             blockStructure.sort();
             logToTerminal("Estructura ordenada", "success");
+            logBufferStats(before);
             updateBlockVisualization();
 
         } catch (Exception ex) {
@@ -349,6 +575,8 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
         searchButton.setEnabled(enabled);
         deleteButton.setEnabled(enabled);
         sortButton.setEnabled(enabled);
+        rangeButton.setEnabled(enabled);
+        saveFileButton.setEnabled(enabled);
     }
 
     @Override
@@ -368,8 +596,11 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
                 writer.println("Algoritmo,Busqueda Lineal Bloques");
                 writer.println("Total_Elementos," + blockStructure.getTotalElements());
                 writer.println("Longitud_Clave," + blockStructure.getKeyLength());
+                writer.println("Unidad_Bloque," + blockStructure.getGeometry().getSizing().getLabel());
+                writer.println("Tamano_Bloque," + blockStructure.getGeometry().getSize());
                 writer.println("Num_Bloques," + blockStructure.getNumBlocks());
                 writer.println("Elementos_Por_Bloque," + blockStructure.getElementsPerBlock());
+                writeBufferConfig(writer);
 
                 writer.println("#DATOS_BLOQUES");
                 Object[][] blocks = blockStructure.getBlocks();
@@ -381,7 +612,7 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -391,6 +622,14 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
         }
     }
 
+    private void writeBufferConfig(PrintWriter writer) {
+        BufferPool bufferPool = blockStructure.getBufferPool();
+        if (bufferPool != null) {
+            writer.println("Marcos_Buffer," + bufferPool.getFrames());
+            writer.println("Reemplazo," + bufferPool.getPolicy().getLabel());
+        }
+    }
+
     @Override
     protected void importFromCSV() {
         JFileChooser fileChooser = new JFileChooser();
@@ -414,6 +653,16 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
                             updateBlockInfo();
                         } else if (parts[0].equals("Longitud_Clave")) {
                             keyLengthField.setText(parts[1]);
+                            updateBlockInfo();
+                        } else if (parts[0].equals("Unidad_Bloque")) {
+                            blockSizingCombo.setSelectedItem(parts[1]);
+                        } else if (parts[0].equals("Tamano_Bloque")) {
+                            blockSizeField.setText(parts[1]);
+                            updateBlockInfo();
+                        } else if (parts[0].equals("Marcos_Buffer")) {
+                            bufferFramesField.setText(parts[1]);
+                        } else if (parts[0].equals("Reemplazo")) {
+                            evictionPolicyCombo.setSelectedItem(parts[1]);
                         }
                     }
                 }
@@ -441,12 +690,15 @@ public class BusquedaLinealBloques extends AlgorithmWindow {
             totalElementsField.setText("");
             keyLengthField.setText("");
             searchKeyField.setText("");
+            blockSizeField.setText(String.valueOf(BlockGeometry.PAGE_SIZE));
+            blockSizingCombo.setSelectedIndex(0);
+            bufferFramesField.setText("");
 
-            numBlocksLabel.setText("√(n) = ?");
-            elementsPerBlockLabel.setText("n/bloques = ?");
+            numBlocksLabel.setText("?");
+            elementsPerBlockLabel.setText("?");
 
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
 
             updateBlockVisualization();
             logToTerminal("Sistema reseteado", "warning");
@@ -1,5 +1,7 @@
 package externos;
 
+import motor.BlockHashEngine;
+import motor.CollisionMethod;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -7,10 +9,12 @@ import java.awt.event.ActionEvent;
 import java.io.*;
 
 public class HashModBloques extends AlgorithmWindow {
-    private JTextField totalElementsField, keyLengthField, searchKeyField;
+    private JTextField totalElementsField, keyLengthField, searchKeyField, blockSizeField;
     private JLabel numBlocksLabel, elementsPerBlockLabel;
+    private JComboBox<String> blockSizingCombo;
     private JComboBox<String> collisionMethodCombo;
     private JButton initButton, insertButton, searchButton, deleteButton, resetHashButton;
+    private BlockHashEngine engine;
     private BlockVisualization blockVisualization;
     private BlockStructure blockStructure;
 
@@ -68,20 +72,25 @@ public class HashModBloques extends AlgorithmWindow {
         gbc.gridx = 3;
         keyLengthField = new JTextField(10);
         keyLengthField.setPreferredSize(Constants.INPUT_SIZE);
+        keyLengthField.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyReleased(java.awt.event.KeyEvent evt) {
+                updateBlockInfo();
+            }
+        });
         configPanel.add(keyLengthField, gbc);
 
         // Información calculada
         gbc.gridx = 0; gbc.gridy = 1;
         configPanel.add(new JLabel("Bloques:"), gbc);
         gbc.gridx = 1;
-        numBlocksLabel = new JLabel("√(n) = ?");
+        numBlocksLabel = new JLabel("?");
         numBlocksLabel.setFont(Constants.MONO_FONT);
         configPanel.add(numBlocksLabel, gbc);
 
         gbc.gridx = 2; gbc.gridy = 1;
         configPanel.add(new JLabel("Elementos/bloque:"), gbc);
         gbc.gridx = 3;
-        elementsPerBlockLabel = new JLabel("n/bloques = ?");
+        elementsPerBlockLabel = new JLabel("?");
         elementsPerBlockLabel.setFont(Constants.MONO_FONT);
         configPanel.add(elementsPerBlockLabel, gbc);
 
@@ -95,8 +104,29 @@ public class HashModBloques extends AlgorithmWindow {
         collisionMethodCombo.setPreferredSize(new Dimension(200, 25));
         configPanel.add(collisionMethodCombo, gbc);
 
+        // Tamaño de bloque: √n bloques, registros por bloque o bytes por bloque (p. ej. una página)
+        gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 1;
+        configPanel.add(new JLabel("Tamaño de bloque:"), gbc);
+        gbc.gridx = 1;
+        blockSizingCombo = new JComboBox<>(BlockSizing.labels());
+        blockSizingCombo.setPreferredSize(Constants.INPUT_SIZE);
+        blockSizingCombo.addActionListener(e -> updateBlockInfo());
+        configPanel.add(blockSizingCombo, gbc);
+
+        gbc.gridx = 2; gbc.gridy = 3;
+        configPanel.add(new JLabel("Registros o bytes:"), gbc);
+        gbc.gridx = 3;
+        blockSizeField = new JTextField(String.valueOf(BlockGeometry.PAGE_SIZE), 10);
+        blockSizeField.setPreferredSize(Constants.INPUT_SIZE);
+        blockSizeField.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyReleased(java.awt.event.KeyEvent evt) {
+                updateBlockInfo();
+            }
+        });
+        configPanel.add(blockSizeField, gbc);
+
         // Botón inicializar
-        gbc.gridx = 4; gbc.gridy = 0; gbc.gridheight = 3; gbc.gridwidth = 1;
+        gbc.gridx = 4; gbc.gridy = 0; gbc.gridheight = 4; gbc.gridwidth = 1;
         initButton = createStyledButton("Inicializar", Constants.PRIMARY_COLOR);
         initButton.addActionListener(this::initializeStructure);
         configPanel.add(initButton, gbc);
@@ -151,20 +181,24 @@ public class HashModBloques extends AlgorithmWindow {
 
     private void updateBlockInfo() {
         try {
-            int totalElements = Integer.parseInt(totalElementsField.getText().trim());
-            if (totalElements > 0) {
-                int numBlocks = (int) Math.floor(Math.sqrt(totalElements));
-                int elementsPerBlock = totalElements / numBlocks;
-
-                numBlocksLabel.setText("√(" + totalElements + ") = " + numBlocks);
-                elementsPerBlockLabel.setText(totalElements + "/" + numBlocks + " = " + elementsPerBlock);
-            }
-        } catch (NumberFormatException e) {
-            numBlocksLabel.setText("√(n) = ?");
-            elementsPerBlockLabel.setText("n/bloques = ?");
+            BlockGeometry geometry = readGeometry();
+            numBlocksLabel.setText(geometry.describeBlocks());
+            elementsPerBlockLabel.setText(geometry.describeBlockSize());
+        } catch (Exception e) {
+            numBlocksLabel.setText("?");
+            elementsPerBlockLabel.setText("?");
         }
     }
 
+    // Geometría de bloques según n, la longitud de clave y el tamaño de bloque elegido
+    private BlockGeometry readGeometry() throws Exception {
+        int totalElements = Integer.parseInt(totalElementsField.getText().trim());
+        int keyLength = Integer.parseInt(keyLengthField.getText().trim());
+        BlockSizing sizing = BlockSizing.fromLabel((String) blockSizingCombo.getSelectedItem());
+        int size = sizing == BlockSizing.SQRT ? 1 : Integer.parseInt(blockSizeField.getText().trim());
+        return BlockGeometry.of(sizing, totalElements, keyLength, size);
+    }
+
     private void initializeStructure(ActionEvent e) {
         try {
             int totalElements = Integer.parseInt(totalElementsField.getText().trim());
@@ -178,16 +212,17 @@ public class HashModBloques extends AlgorithmWindow {
                 throw new Exception("El número total de elementos debe ser al menos 4");
             }
 
-            blockStructure = new BlockStructure(totalElements, keyLength);
+            blockStructure = new BlockStructure(readGeometry());
             blockStructure.initialize();
+            engine = new BlockHashEngine(blockStructure, new ModHash(totalElements),
+                    CollisionMethod.fromLabel((String) collisionMethodCombo.getSelectedItem()), getStepLogger());
 
             // Habilitar controles
             enableControls(true);
 
             String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
             logToTerminal(String.format("Tabla hash por bloques inicializada: %d elementos totales", totalElements), "success");
-            logToTerminal(String.format("Distribución: %d bloques de %d elementos",
-                    blockStructure.getNumBlocks(), blockStructure.getElementsPerBlock()), "info");
+            logToTerminal("Distribución: " + blockStructure.getGeometry().describe(), "info");
             logToTerminal("Método de colisión: " + collisionMethod, "info");
             updateBlockVisualization();
 
@@ -218,20 +253,14 @@ public class HashModBloques extends AlgorithmWindow {
             }
 
             // Calcular hash
-            int hashValue = calculateHashMod(key);
-            BlockStructure.BlockPosition originalPosition = blockStructure.getHashPosition(hashValue);
+            int hashValue = engine.hash(key);
+            BlockStructure.BlockPosition originalPosition = engine.homePosition(hashValue);
 
-            logToTerminal(String.format("Hash calculado: (%s %% %d) + 1 = %d",
-                    key, blockStructure.getTotalElements(), hashValue), "info");
             logToTerminal(String.format("Posición: bloque %d, posición %d",
                     originalPosition.blockIndex + 1, originalPosition.position + 1), "info");
 
             // Verificar colisión y resolver
-            BlockStructure.BlockPosition finalPosition = resolveCollision(key, originalPosition);
-
-            blockStructure.insertAt(key, finalPosition.blockIndex, finalPosition.position);
-            logToTerminal(String.format("Clave '%s' insertada en bloque %d, posición %d",
-                    key, finalPosition.blockIndex + 1, finalPosition.position + 1), "success");
+            BlockStructure.BlockPosition finalPosition = engine.insert(key, originalPosition);
 
             updateBlockVisualization();
             blockVisualization.highlightPosition(finalPosition.blockIndex, finalPosition.position);
@@ -242,121 +271,6 @@ public class HashModBloques extends AlgorithmWindow {
         }
     }
 
-    private int calculateHashMod(String key) {
-        int numericKey = Integer.parseInt(key);
-        return (numericKey % blockStructure.getTotalElements()) + 1;
-    }
-
-    private BlockStructure.BlockPosition resolveCollision(String key,
-                                                          BlockStructure.BlockPosition originalPosition) throws Exception {
-
-        if (blockStructure.getAt(originalPosition.blockIndex, originalPosition.position) == null) {
-            // No hay colisión
-            return originalPosition;
-        }
-
-        logToTerminal(String.format("Colisión detectada en bloque %d, posición %d",
-                originalPosition.blockIndex + 1, originalPosition.position + 1), "warning");
-
-        String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
-
-        switch (collisionMethod) {
-            case "Sondeo Lineal":
-                return resolveLinearProbing(key, originalPosition);
-            case "Sondeo Cuadrático":
-                return resolveQuadraticProbing(key, originalPosition);
-            case "Estructuras Anidadas":
-                return resolveNestedStructures(key, originalPosition);
-            case "Estructuras Enlazadas":
-                return resolveLinkedStructures(key, originalPosition);
-            default:
-                throw new Exception("Método de colisión no implementado");
-        }
-    }
-
-    private BlockStructure.BlockPosition resolveLinearProbing(String key,
-                                                              BlockStructure.BlockPosition originalPosition) throws Exception {
-
-        int totalPositions = blockStructure.getTotalElements();
-        int currentAbsolutePos = originalPosition.blockIndex * blockStructure.getElementsPerBlock() + originalPosition.position;
-        int attempts = 0;
-
-        do {
-            currentAbsolutePos = (currentAbsolutePos + 1) % totalPositions;
-            attempts++;
-
-            BlockStructure.BlockPosition newPosition = blockStructure.getHashPosition(currentAbsolutePos + 1);
-            logToTerminal(String.format("Sondeo lineal: intento %d, bloque %d, posición %d",
-                    attempts, newPosition.blockIndex + 1, newPosition.position + 1), "info");
-
-            if (blockStructure.getAt(newPosition.blockIndex, newPosition.position) == null) {
-                logToTerminal(String.format("Posición libre encontrada en bloque %d, posición %d",
-                        newPosition.blockIndex + 1, newPosition.position + 1), "success");
-                return newPosition;
-            }
-
-            if (attempts >= totalPositions) {
-                throw new Exception("Tabla llena - no se puede insertar");
-            }
-
-        } while (attempts < totalPositions);
-
-        throw new Exception("No se pudo resolver la colisión");
-    }
-
-    private BlockStructure.BlockPosition resolveQuadraticProbing(String key,
-                                                                 BlockStructure.BlockPosition originalPosition) throws Exception {
-
-        int totalPositions = blockStructure.getTotalElements();
-        int originalAbsolutePos = originalPosition.blockIndex * blockStructure.getElementsPerBlock() + originalPosition.position;
-        int attempts = 1;
-
-        while (attempts <= totalPositions) {
-            int newAbsolutePos = (originalAbsolutePos + attempts * attempts) % totalPositions;
-            BlockStructure.BlockPosition newPosition = blockStructure.getHashPosition(newAbsolutePos + 1);
-
-            logToTerminal(String.format("Sondeo cuadrático: intento %d², bloque %d, posición %d",
-                    attempts, newPosition.blockIndex + 1, newPosition.position + 1), "info");
-
-            if (blockStructure.getAt(newPosition.blockIndex, newPosition.position) == null) {
-                logToTerminal(String.format("Posición libre encontrada en bloque %d, posición %d",
-                        newPosition.blockIndex + 1, newPosition.position + 1), "success");
-                return newPosition;
-            }
-
-            attempts++;
-        }
-
-        throw new Exception("No se pudo resolver la colisión con sondeo cuadrático");
-    }
-
-    private BlockStructure.BlockPosition resolveNestedStructures(String key,
-                                                                 BlockStructure.BlockPosition originalPosition) throws Exception {
-
-        int totalPositions = blockStructure.getTotalElements();
-        int originalAbsolutePos = originalPosition.blockIndex * blockStructure.getElementsPerBlock() + originalPosition.position;
-
-        for (int offset = 1; offset < totalPositions; offset++) {
-            int newAbsolutePos = (originalAbsolutePos + offset) % totalPositions;
-            BlockStructure.BlockPosition newPosition = blockStructure.getHashPosition(newAbsolutePos + 1);
-
-            if (blockStructure.getAt(newPosition.blockIndex, newPosition.position) == null) {
-                logToTerminal(String.format("Estructura anidada: bloque %d, posición %d disponible",
-                        newPosition.blockIndex + 1, newPosition.position + 1), "info");
-                return newPosition;
-            }
-        }
-
-        throw new Exception("No hay espacio en estructuras anidadas");
-    }
-
-    private BlockStructure.BlockPosition resolveLinkedStructures(String key,
-                                                                 BlockStructure.BlockPosition originalPosition) throws Exception {
-
-        // Similar al sondeo lineal pero con logging específico
-        return resolveLinearProbing(key, originalPosition);
-    }
-
     private void searchKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -366,13 +280,13 @@ public class HashModBloques extends AlgorithmWindow {
             }
 
             // Calcular hash original
-            int hashValue = calculateHashMod(key);
-            BlockStructure.BlockPosition originalPosition = blockStructure.getHashPosition(hashValue);
+            int hashValue = engine.hash(key);
+            BlockStructure.BlockPosition originalPosition = engine.homePosition(hashValue);
 
             logToTerminal(String.format("Buscando clave '%s', hash calculado: %d", key, hashValue), "info");
 
             // Buscar usando el mismo método de resolución de colisiones
-            BlockStructure.BlockPosition foundPosition = findKey(key, originalPosition);
+            BlockStructure.BlockPosition foundPosition = engine.find(key, originalPosition);
 
             if (foundPosition != null) {
                 logToTerminal(String.format("Clave '%s' encontrada en bloque %d, posición %d",
@@ -387,65 +301,6 @@ public class HashModBloques extends AlgorithmWindow {
         }
     }
 
-    private BlockStructure.BlockPosition findKey(String key, BlockStructure.BlockPosition originalPosition) {
-        // Verificar posición original
-        if (key.equals(blockStructure.getAt(originalPosition.blockIndex, originalPosition.position))) {
-            return originalPosition;
-        }
-
-        String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
-
-        // Buscar según método de colisión
-        switch (collisionMethod) {
-            case "Sondeo Lineal":
-                return findWithLinearProbing(key, originalPosition);
-            case "Sondeo Cuadrático":
-                return findWithQuadraticProbing(key, originalPosition);
-            default:
-                return findWithLinearProbing(key, originalPosition); // Fallback
-        }
-    }
-
-    private BlockStructure.BlockPosition findWithLinearProbing(String key,
-                                                               BlockStructure.BlockPosition originalPosition) {
-
-        int totalPositions = blockStructure.getTotalElements();
-        int currentAbsolutePos = originalPosition.blockIndex * blockStructure.getElementsPerBlock() + originalPosition.position;
-        int attempts = 0;
-
-        do {
-            BlockStructure.BlockPosition currentPosition = blockStructure.getHashPosition(currentAbsolutePos + 1);
-
-            if (key.equals(blockStructure.getAt(currentPosition.blockIndex, currentPosition.position))) {
-                return currentPosition;
-            }
-
-            currentAbsolutePos = (currentAbsolutePos + 1) % totalPositions;
-            attempts++;
-
-        } while (attempts < totalPositions);
-
-        return null;
-    }
-
-    private BlockStructure.BlockPosition findWithQuadraticProbing(String key,
-                                                                  BlockStructure.BlockPosition originalPosition) {
-
-        int totalPositions = blockStructure.getTotalElements();
-        int originalAbsolutePos = originalPosition.blockIndex * blockStructure.getElementsPerBlock() + originalPosition.position;
-
-        for (int attempts = 1; attempts <= totalPositions; attempts++) {
-            int newAbsolutePos = (originalAbsolutePos + attempts * attempts) % totalPositions;
-            BlockStructure.BlockPosition newPosition = blockStructure.getHashPosition(newAbsolutePos + 1);
-
-            if (key.equals(blockStructure.getAt(newPosition.blockIndex, newPosition.position))) {
-                return newPosition;
-            }
-        }
-
-        return null;
-    }
-
     private void deleteKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -505,6 +360,8 @@ public class HashModBloques extends AlgorithmWindow {
                 writer.println("Algoritmo,Hash Mod Bloques");
                 writer.println("Total_Elementos," + blockStructure.getTotalElements());
                 writer.println("Longitud_Clave," + blockStructure.getKeyLength());
+                writer.println("Unidad_Bloque," + blockStructure.getGeometry().getSizing().getLabel());
+                writer.println("Tamano_Bloque," + blockStructure.getGeometry().getSize());
                 writer.println("Metodo_Colision," + collisionMethodCombo.getSelectedItem());
 
                 writer.println("#DATOS_BLOQUES");
@@ -517,7 +374,7 @@ public class HashModBloques extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -550,6 +407,12 @@ public class HashModBloques extends AlgorithmWindow {
                             updateBlockInfo();
                         } else if (parts[0].equals("Longitud_Clave")) {
                             keyLengthField.setText(parts[1]);
+                            updateBlockInfo();
+                        } else if (parts[0].equals("Unidad_Bloque")) {
+                            blockSizingCombo.setSelectedItem(parts[1]);
+                        } else if (parts[0].equals("Tamano_Bloque")) {
+                            blockSizeField.setText(parts[1]);
+                            updateBlockInfo();
                         } else if (parts[0].equals("Metodo_Colision")) {
                             collisionMethodCombo.setSelectedItem(parts[1]);
                         }
@@ -579,13 +442,15 @@ public class HashModBloques extends AlgorithmWindow {
             totalElementsField.setText("");
             keyLengthField.setText("");
             searchKeyField.setText("");
+            blockSizeField.setText(String.valueOf(BlockGeometry.PAGE_SIZE));
+            blockSizingCombo.setSelectedIndex(0);
 
-            numBlocksLabel.setText("√(n) = ?");
-            elementsPerBlockLabel.setText("n/bloques = ?");
+            numBlocksLabel.setText("?");
+            elementsPerBlockLabel.setText("?");
             collisionMethodCombo.setSelectedIndex(0);
 
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
 
             updateBlockVisualization();
             logToTerminal("Sistema reseteado", "warning");
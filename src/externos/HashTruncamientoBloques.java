@@ -1,5 +1,7 @@
 package externos;
 
+import motor.BlockHashEngine;
+import motor.CollisionMethod;
 import utils.*;
 import javax.swing.*;
 import java.awt.*;
@@ -7,10 +9,12 @@ import java.awt.event.ActionEvent;
 import java.io.*;
 
 public class HashTruncamientoBloques extends AlgorithmWindow {
-    private JTextField totalElementsField, keyLengthField, searchKeyField, positionsField;
+    private JTextField totalElementsField, keyLengthField, searchKeyField, positionsField, blockSizeField;
     private JLabel numBlocksLabel, elementsPerBlockLabel;
+    private JComboBox<String> blockSizingCombo;
     private JComboBox<String> collisionMethodCombo;
     private JButton initButton, insertButton, searchButton, deleteButton, resetHashButton;
+    private BlockHashEngine engine;
     private BlockVisualization blockVisualization;
     private BlockStructure blockStructure;
 
@@ -18,7 +22,8 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
         super(parent, "Hash Truncamiento por Bloques");
         logToTerminal("Sistema Hash Truncamiento por Bloques iniciado", "info");
         logToTerminal("Método: Extracción de posiciones específicas en bloques", "info");
-        logToTerminal("Fórmula: Bloques = √(n), hash = (dígitos_extraídos % n) + 1", "info");
+        logToTerminal("Fórmula: hash = (dígitos_extraídos % n) + 1", "info");
+        logToTerminal("Bloques: √n bloques, registros o bytes por bloque; el último puede quedar parcial", "info");
         initializeBlockVisualization();
         showTestCases();
     }
@@ -77,20 +82,25 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
         gbc.gridx = 3;
         keyLengthField = new JTextField(10);
         keyLengthField.setPreferredSize(Constants.INPUT_SIZE);
+        keyLengthField.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyReleased(java.awt.event.KeyEvent evt) {
+                updateBlockInfo();
+            }
+        });
         configPanel.add(keyLengthField, gbc);
 
         // Información calculada - Primera fila
         gbc.gridx = 0; gbc.gridy = 1;
         configPanel.add(new JLabel("Bloques:"), gbc);
         gbc.gridx = 1;
-        numBlocksLabel = new JLabel("√(n) = ?");
+        numBlocksLabel = new JLabel("?");
         numBlocksLabel.setFont(Constants.MONO_FONT);
         configPanel.add(numBlocksLabel, gbc);
 
         gbc.gridx = 2; gbc.gridy = 1;
         configPanel.add(new JLabel("Elementos/bloque:"), gbc);
         gbc.gridx = 3;
-        elementsPerBlockLabel = new JLabel("n/bloques = ?");
+        elementsPerBlockLabel = new JLabel("?");
         elementsPerBlockLabel.setFont(Constants.MONO_FONT);
         configPanel.add(elementsPerBlockLabel, gbc);
 
@@ -113,8 +123,29 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
         collisionMethodCombo.setPreferredSize(Constants.INPUT_SIZE);
         configPanel.add(collisionMethodCombo, gbc);
 
+        // Tamaño de bloque: √n bloques, registros por bloque o bytes por bloque (p. ej. una página)
+        gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 1;
+        configPanel.add(new JLabel("Tamaño de bloque:"), gbc);
+        gbc.gridx = 1;
+        blockSizingCombo = new JComboBox<>(BlockSizing.labels());
+        blockSizingCombo.setPreferredSize(Constants.INPUT_SIZE);
+        blockSizingCombo.addActionListener(e -> updateBlockInfo());
+        configPanel.add(blockSizingCombo, gbc);
+
+        gbc.gridx = 2; gbc.gridy = 3;
+        configPanel.add(new JLabel("Registros o bytes:"), gbc);
+        gbc.gridx = 3;
+        blockSizeField = new JTextField(String.valueOf(BlockGeometry.PAGE_SIZE), 10);
+        blockSizeField.setPreferredSize(Constants.INPUT_SIZE);
+        blockSizeField.addKeyListener(new java.awt.event.KeyAdapter() {
+            public void keyReleased(java.awt.event.KeyEvent evt) {
+                updateBlockInfo();
+            }
+        });
+        configPanel.add(blockSizeField, gbc);
+
         // Botón inicializar
-        gbc.gridx = 4; gbc.gridy = 1; gbc.gridheight = 2;
+        gbc.gridx = 4; gbc.gridy = 1; gbc.gridheight = 3;
         initButton = createStyledButton("Inicializar", Constants.PRIMARY_COLOR);
         initButton.addActionListener(this::initializeStructure);
         configPanel.add(initButton, gbc);
@@ -169,20 +200,24 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
 
     private void updateBlockInfo() {
         try {
-            int totalElements = Integer.parseInt(totalElementsField.getText().trim());
-            if (totalElements > 0) {
-                int numBlocks = (int) Math.floor(Math.sqrt(totalElements));
-                int elementsPerBlock = totalElements / numBlocks;
-
-                numBlocksLabel.setText("√(" + totalElements + ") = " + numBlocks);
-                elementsPerBlockLabel.setText(totalElements + "/" + numBlocks + " = " + elementsPerBlock);
-            }
-        } catch (NumberFormatException e) {
-            numBlocksLabel.setText("√(n) = ?");
-            elementsPerBlockLabel.setText("n/bloques = ?");
+            BlockGeometry geometry = readGeometry();
+            numBlocksLabel.setText(geometry.describeBlocks());
+            elementsPerBlockLabel.setText(geometry.describeBlockSize());
+        } catch (Exception e) {
+            numBlocksLabel.setText("?");
+            elementsPerBlockLabel.setText("?");
         }
     }
 
+    // Geometría de bloques según n, la longitud de clave y el tamaño de bloque elegido
+    private BlockGeometry readGeometry() throws Exception {
+        int totalElements = Integer.parseInt(totalElementsField.getText().trim());
+        int keyLength = Integer.parseInt(keyLengthField.getText().trim());
+        BlockSizing sizing = BlockSizing.fromLabel((String) blockSizingCombo.getSelectedItem());
+        int size = sizing == BlockSizing.SQRT ? 1 : Integer.parseInt(blockSizeField.getText().trim());
+        return BlockGeometry.of(sizing, totalElements, keyLength, size);
+    }
+
     private void initializeStructure(ActionEvent e) {
         try {
             int totalElements = Integer.parseInt(totalElementsField.getText().trim());
@@ -200,15 +235,16 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
             // Validar posiciones
             validatePositions(positionsStr, keyLength);
 
-            blockStructure = new BlockStructure(totalElements, keyLength);
+            blockStructure = new BlockStructure(readGeometry());
             blockStructure.initialize();
+            engine = new BlockHashEngine(blockStructure, new TruncationHash(totalElements, keyLength, positionsStr),
+                    CollisionMethod.fromLabel((String) collisionMethodCombo.getSelectedItem()), getStepLogger());
 
             enableControls(true);
 
             String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
             logToTerminal(String.format("Tabla hash por bloques inicializada: %d elementos", totalElements), "success");
-            logToTerminal(String.format("Distribución: %d bloques de %d elementos",
-                    blockStructure.getNumBlocks(), blockStructure.getElementsPerBlock()), "info");
+            logToTerminal("Distribución: " + blockStructure.getGeometry().describe(), "info");
             logToTerminal(String.format("Truncamiento: posiciones %s con %s",
                     positionsStr, collisionMethod), "info");
             updateBlockVisualization();
@@ -259,18 +295,14 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
             }
 
             // Calcular hash por truncamiento
-            int hashValue = calculateHashTruncamiento(key);
-            BlockStructure.BlockPosition position = blockStructure.getHashPosition(hashValue);
+            int hashValue = engine.hash(key);
+            BlockStructure.BlockPosition position = engine.homePosition(hashValue);
 
             logToTerminal(String.format("Posición calculada: bloque %d, posición %d",
                     position.blockIndex + 1, position.position + 1), "info");
 
             // Verificar colisión y resolver
-            BlockStructure.BlockPosition finalPosition = resolveCollision(key, position);
-
-            blockStructure.insertAt(key, finalPosition.blockIndex, finalPosition.position);
-            logToTerminal(String.format("Clave '%s' insertada en bloque %d, posición %d",
-                    key, finalPosition.blockIndex + 1, finalPosition.position + 1), "success");
+            BlockStructure.BlockPosition finalPosition = engine.insert(key, position);
 
             updateBlockVisualization();
             blockVisualization.highlightPosition(finalPosition.blockIndex, finalPosition.position);
@@ -281,138 +313,6 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
         }
     }
 
-    private int calculateHashTruncamiento(String key) throws Exception {
-        String positionsStr = positionsField.getText().trim();
-        String[] positionArray = positionsStr.split(",");
-
-        logToTerminal(String.format("Calculando hash por truncamiento para clave: %s", key), "info");
-        logToTerminal(String.format("Posiciones a extraer: %s", positionsStr), "info");
-
-        StringBuilder extractedDigits = new StringBuilder();
-
-        for (String posStr : positionArray) {
-            int position = Integer.parseInt(posStr.trim());
-
-            if (position <= key.length()) {
-                char digit = key.charAt(position - 1); // Convertir a índice base 0
-                extractedDigits.append(digit);
-                logToTerminal(String.format("Posición %d: '%c'", position, digit), "info");
-            } else {
-                logToTerminal(String.format("Posición %d fuera de rango, ignorada", position), "warning");
-            }
-        }
-
-        if (extractedDigits.length() == 0) {
-            throw new Exception("No se pudieron extraer dígitos válidos");
-        }
-
-        String extractedStr = extractedDigits.toString();
-        int extractedValue = Integer.parseInt(extractedStr);
-
-        logToTerminal(String.format("Dígitos extraídos: %s = %d", extractedStr, extractedValue), "info");
-
-        int hashValue = (extractedValue % blockStructure.getTotalElements()) + 1;
-        logToTerminal(String.format("Hash calculado: (%d %% %d) + 1 = %d",
-                extractedValue, blockStructure.getTotalElements(), hashValue), "info");
-
-        return hashValue;
-    }
-
-    private BlockStructure.BlockPosition resolveCollision(String key, BlockStructure.BlockPosition originalPosition) throws Exception {
-        String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
-
-        if (blockStructure.getAt(originalPosition.blockIndex, originalPosition.position) == null) {
-            return originalPosition;
-        }
-
-        logToTerminal(String.format("Colisión detectada en bloque %d, posición %d",
-                originalPosition.blockIndex + 1, originalPosition.position + 1), "warning");
-
-        switch (collisionMethod) {
-            case "Sondeo Lineal":
-                return resolveLinearProbing(key, originalPosition);
-            case "Sondeo Cuadrático":
-                return resolveQuadraticProbing(key, originalPosition);
-            case "Estructuras Anidadas":
-                return resolveNestedStructures(key, originalPosition);
-            case "Estructuras Enlazadas":
-                return resolveLinkedStructures(key, originalPosition);
-            default:
-                throw new Exception("Método de colisión no implementado");
-        }
-    }
-
-    private BlockStructure.BlockPosition resolveLinearProbing(String key, BlockStructure.BlockPosition original) throws Exception {
-        int totalElements = blockStructure.getTotalElements();
-        int attempts = 0;
-
-        for (int offset = 1; offset < totalElements; offset++) {
-            int newAbsolutePos = ((original.blockIndex * blockStructure.getElementsPerBlock() +
-                    original.position + offset) % totalElements);
-
-            int newBlock = newAbsolutePos / blockStructure.getElementsPerBlock();
-            int newPos = newAbsolutePos % blockStructure.getElementsPerBlock();
-
-            attempts++;
-            logToTerminal(String.format("Sondeo lineal: intento %d → bloque %d, posición %d",
-                    attempts, newBlock + 1, newPos + 1), "info");
-
-            if (blockStructure.getAt(newBlock, newPos) == null) {
-                logToTerminal(String.format("Posición libre encontrada en intento %d", attempts), "success");
-                return new BlockStructure.BlockPosition(newBlock, newPos);
-            }
-
-            if (attempts >= totalElements) {
-                throw new Exception("Estructura llena - no se puede insertar");
-            }
-        }
-
-        throw new Exception("No se pudo resolver la colisión");
-    }
-
-    private BlockStructure.BlockPosition resolveQuadraticProbing(String key, BlockStructure.BlockPosition original) throws Exception {
-        int totalElements = blockStructure.getTotalElements();
-        int originalAbsPos = original.blockIndex * blockStructure.getElementsPerBlock() + original.position;
-
-        for (int attempts = 1; attempts <= totalElements; attempts++) {
-            int newAbsolutePos = (originalAbsPos + attempts * attempts) % totalElements;
-            int newBlock = newAbsolutePos / blockStructure.getElementsPerBlock();
-            int newPos = newAbsolutePos % blockStructure.getElementsPerBlock();
-
-            logToTerminal(String.format("Sondeo cuadrático: intento %d² → bloque %d, posición %d",
-                    attempts, newBlock + 1, newPos + 1), "info");
-
-            if (blockStructure.getAt(newBlock, newPos) == null) {
-                logToTerminal(String.format("Posición libre encontrada en intento %d²", attempts), "success");
-                return new BlockStructure.BlockPosition(newBlock, newPos);
-            }
-        }
-
-        throw new Exception("No se pudo resolver la colisión con sondeo cuadrático");
-    }
-
-    private BlockStructure.BlockPosition resolveNestedStructures(String key, BlockStructure.BlockPosition original) throws Exception {
-        for (int blockOffset = 0; blockOffset < blockStructure.getNumBlocks(); blockOffset++) {
-            int targetBlock = (original.blockIndex + blockOffset) % blockStructure.getNumBlocks();
-
-            for (int posOffset = 0; posOffset < blockStructure.getElementsPerBlock(); posOffset++) {
-                int targetPos = (original.position + posOffset) % blockStructure.getElementsPerBlock();
-
-                if (blockStructure.getAt(targetBlock, targetPos) == null) {
-                    logToTerminal(String.format("Estructura anidada: bloque %d, posición %d disponible",
-                            targetBlock + 1, targetPos + 1), "info");
-                    return new BlockStructure.BlockPosition(targetBlock, targetPos);
-                }
-            }
-        }
-
-        throw new Exception("No hay espacio en estructuras anidadas");
-    }
-
-    private BlockStructure.BlockPosition resolveLinkedStructures(String key, BlockStructure.BlockPosition original) throws Exception {
-        return resolveLinearProbing(key, original);
-    }
-
     private void searchKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -424,11 +324,11 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
             logToTerminal(String.format("Buscando clave '%s' con hash truncamiento por bloques", key), "info");
 
             // Calcular hash original
-            int hashValue = calculateHashTruncamiento(key);
-            BlockStructure.BlockPosition originalPosition = blockStructure.getHashPosition(hashValue);
+            int hashValue = engine.hash(key);
+            BlockStructure.BlockPosition originalPosition = engine.homePosition(hashValue);
 
             // Buscar usando el mismo método de resolución de colisiones
-            BlockStructure.BlockPosition foundPosition = findKey(key, originalPosition);
+            BlockStructure.BlockPosition foundPosition = engine.find(key, originalPosition);
 
             if (foundPosition != null) {
                 logToTerminal(String.format("Clave '%s' encontrada en bloque %d, posición %d",
@@ -443,64 +343,6 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
         }
     }
 
-    private BlockStructure.BlockPosition findKey(String key, BlockStructure.BlockPosition originalPosition) {
-        String collisionMethod = (String) collisionMethodCombo.getSelectedItem();
-
-        // Verificar posición original
-        if (key.equals(blockStructure.getAt(originalPosition.blockIndex, originalPosition.position))) {
-            return originalPosition;
-        }
-
-        // Buscar según método de colisión
-        try {
-            switch (collisionMethod) {
-                case "Sondeo Lineal":
-                    return findWithLinearProbing(key, originalPosition);
-                case "Sondeo Cuadrático":
-                    return findWithQuadraticProbing(key, originalPosition);
-                default:
-                    return findWithLinearProbing(key, originalPosition);
-            }
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private BlockStructure.BlockPosition findWithLinearProbing(String key, BlockStructure.BlockPosition original) {
-        int totalElements = blockStructure.getTotalElements();
-
-        for (int offset = 1; offset < totalElements; offset++) {
-            int newAbsolutePos = ((original.blockIndex * blockStructure.getElementsPerBlock() +
-                    original.position + offset) % totalElements);
-
-            int newBlock = newAbsolutePos / blockStructure.getElementsPerBlock();
-            int newPos = newAbsolutePos % blockStructure.getElementsPerBlock();
-
-            if (key.equals(blockStructure.getAt(newBlock, newPos))) {
-                return new BlockStructure.BlockPosition(newBlock, newPos);
-            }
-        }
-
-        return null;
-    }
-
-    private BlockStructure.BlockPosition findWithQuadraticProbing(String key, BlockStructure.BlockPosition original) {
-        int totalElements = blockStructure.getTotalElements();
-        int originalAbsPos = original.blockIndex * blockStructure.getElementsPerBlock() + original.position;
-
-        for (int attempts = 1; attempts <= totalElements; attempts++) {
-            int newAbsolutePos = (originalAbsPos + attempts * attempts) % totalElements;
-            int newBlock = newAbsolutePos / blockStructure.getElementsPerBlock();
-            int newPos = newAbsolutePos % blockStructure.getElementsPerBlock();
-
-            if (key.equals(blockStructure.getAt(newBlock, newPos))) {
-                return new BlockStructure.BlockPosition(newBlock, newPos);
-            }
-        }
-
-        return null;
-    }
-
     private void deleteKey(ActionEvent e) {
         try {
             String key = searchKeyField.getText().trim();
@@ -560,6 +402,8 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
                 writer.println("Algoritmo,Hash Truncamiento Bloques");
                 writer.println("Total_Elementos," + blockStructure.getTotalElements());
                 writer.println("Longitud_Clave," + blockStructure.getKeyLength());
+                writer.println("Unidad_Bloque," + blockStructure.getGeometry().getSizing().getLabel());
+                writer.println("Tamano_Bloque," + blockStructure.getGeometry().getSize());
                 writer.println("Posiciones," + positionsField.getText());
                 writer.println("Metodo_Colision," + collisionMethodCombo.getSelectedItem());
 
@@ -578,7 +422,7 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
                 writer.println("50153028,1|4|7,553");
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Datos exportados exitosamente", "success");
 
@@ -610,6 +454,12 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
                             totalElementsField.setText(parts[1]);
                         } else if (parts[0].equals("Longitud_Clave")) {
                             keyLengthField.setText(parts[1]);
+                            updateBlockInfo();
+                        } else if (parts[0].equals("Unidad_Bloque")) {
+                            blockSizingCombo.setSelectedItem(parts[1]);
+                        } else if (parts[0].equals("Tamano_Bloque")) {
+                            blockSizeField.setText(parts[1]);
+                            updateBlockInfo();
                         } else if (parts[0].equals("Posiciones")) {
                             positionsField.setText(parts[1]);
                         } else if (parts[0].equals("Metodo_Colision")) {
@@ -642,12 +492,14 @@ public class HashTruncamientoBloques extends AlgorithmWindow {
             totalElementsField.setText("");
             keyLengthField.setText("");
             searchKeyField.setText("");
+            blockSizeField.setText(String.valueOf(BlockGeometry.PAGE_SIZE));
+            blockSizingCombo.setSelectedIndex(0);
             positionsField.setText("1,4,7");
             collisionMethodCombo.setSelectedIndex(0);
 
             updateBlockInfo();
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
 
             updateBlockVisualization();
             logToTerminal("Sistema reseteado", "warning");
@@ -201,7 +201,7 @@ public class IndicePrimario extends AlgorithmWindow {
                 logToTerminal("Clave no encontrada en el índice primario", "error");
             }
 
-            logToTerminal(String.format("Comparaciones realizadas: %d", result.steps.size()), "info");
+            logToTerminal(String.format("Comparaciones realizadas: %d", result.comparisons), "info");
 
         } catch (Exception ex) {
             logToTerminal("Error en búsqueda: " + ex.getMessage(), "error");
@@ -306,7 +306,7 @@ public class IndicePrimario extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Índice primario exportado exitosamente", "success");
 
@@ -368,7 +368,7 @@ public class IndicePrimario extends AlgorithmWindow {
             }
 
             clearFields();
-            terminalArea.setText("");
+            clearTerminal();
 
             updateIndexVisualization();
             logToTerminal("Índice primario reseteado", "warning");
@@ -231,7 +231,7 @@ public class IndiceSecundario extends AlgorithmWindow {
                 logToTerminal("Clave no encontrada en el índice secundario", "error");
             }
 
-            logToTerminal(String.format("Comparaciones realizadas: %d", result.steps.size()), "info");
+            logToTerminal(String.format("Comparaciones realizadas: %d", result.comparisons), "info");
 
         } catch (Exception ex) {
             logToTerminal("Error en búsqueda: " + ex.getMessage(), "error");
@@ -363,7 +363,7 @@ public class IndiceSecundario extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Índice secundario exportado exitosamente", "success");
 
@@ -435,7 +435,7 @@ public class IndiceSecundario extends AlgorithmWindow {
             }
 
             clearFields();
-            terminalArea.setText("");
+            clearTerminal();
 
             updateIndexVisualization();
             logToTerminal("Índice secundario reseteado", "warning");
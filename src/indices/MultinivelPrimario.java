@@ -242,7 +242,7 @@ public class MultinivelPrimario extends AlgorithmWindow {
             }
 
             logToTerminal(String.format("Total de accesos a niveles: %d",
-                    countLevelAccesses(result.steps)), "info");
+                    result.levelAccesses), "info");
 
         } catch (Exception ex) {
             logToTerminal("Error en búsqueda: " + ex.getMessage(), "error");
@@ -326,14 +326,6 @@ public class MultinivelPrimario extends AlgorithmWindow {
         }
     }
 
-    private int countLevelAccesses(java.util.List<IndexStructure.SearchStep> steps) {
-        java.util.Set<Integer> accessedLevels = new java.util.HashSet<>();
-        for (IndexStructure.SearchStep step : steps) {
-            accessedLevels.add(step.level);
-        }
-        return accessedLevels.size();
-    }
-
     private void animateSearch(java.util.List<IndexStructure.SearchStep> steps) {
         indexVisualization.showSearchSteps(steps);
 
@@ -406,7 +398,7 @@ public class MultinivelPrimario extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Índice multinivel primario exportado exitosamente", "success");
 
@@ -463,7 +455,7 @@ public class MultinivelPrimario extends AlgorithmWindow {
             maxEntriesField.setText("4");
             clearFields();
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
 
             updateIndexVisualization();
             logToTerminal("Índice multinivel primario reseteado", "warning");
@@ -272,7 +272,7 @@ public class MultinivelSecundario extends AlgorithmWindow {
             }
 
             logToTerminal(String.format("Total de accesos a niveles: %d",
-                    countLevelAccesses(result.steps)), "info");
+                    result.levelAccesses), "info");
 
         } catch (Exception ex) {
             logToTerminal("Error en búsqueda: " + ex.getMessage(), "error");
@@ -409,14 +409,6 @@ public class MultinivelSecundario extends AlgorithmWindow {
         }
     }
 
-    private int countLevelAccesses(java.util.List<IndexStructure.SearchStep> steps) {
-        java.util.Set<Integer> accessedLevels = new java.util.HashSet<>();
-        for (IndexStructure.SearchStep step : steps) {
-            accessedLevels.add(step.level);
-        }
-        return accessedLevels.size();
-    }
-
     private void animateSearch(java.util.List<IndexStructure.SearchStep> steps) {
         indexVisualization.showSearchSteps(steps);
 
@@ -490,7 +482,7 @@ public class MultinivelSecundario extends AlgorithmWindow {
                 }
 
                 writer.println("#CONSOLA");
-                writer.println(terminalArea.getText().replace("\n", "\\n"));
+                writer.println(getTerminalText().replace("\n", "\\n"));
 
                 logToTerminal("Índice multinivel secundario exportado exitosamente", "success");
 
@@ -547,7 +539,7 @@ public class MultinivelSecundario extends AlgorithmWindow {
             maxEntriesField.setText("3");
             clearFields();
             enableControls(false);
-            terminalArea.setText("");
+            clearTerminal();
 
             updateIndexVisualization();
             logToTerminal("Índice multinivel secundario reseteado", "warning");
@@ -0,0 +1,220 @@
+package motor;
+
+import utils.BlockStructure;
+import utils.HashFunction;
+import utils.LogLevel;
+
+/**
+ * Tabla hash distribuida en bloques: la posición absoluta calculada por la función hash
+ * se traduce a (bloque, posición) y las colisiones se resuelven recorriendo posiciones
+ * absolutas. No depende de Swing; la traza se envía a un StepLogger.
+ *
+ * Recorrido de sondeo (el mismo en las cuatro ventanas hash por bloques):
+ * - Sondeo lineal y estructuras enlazadas: posición absoluta base + 1, + 2, ... (módulo n).
+ * - Sondeo cuadrático: base + 1², + 2², ... (módulo n, calculado en long).
+ * - Estructuras anidadas: el resto del bloque base desde su posición (dando la vuelta)
+ *   y luego los bloques siguientes.
+ * Las posiciones absolutas se traducen siempre con getHashPosition, que acota el bloque y la
+ * posición a los existentes. La búsqueda usa el sondeo lineal salvo con sondeo cuadrático.
+ */
+public class BlockHashEngine {
+    private final BlockStructure blockStructure;
+    private final HashFunction hashFunction;
+    private final CollisionMethod collisionMethod;
+    private final StepLogger logger;
+
+    public BlockHashEngine(BlockStructure blockStructure, HashFunction hashFunction,
+                           CollisionMethod collisionMethod, StepLogger logger) {
+        this.blockStructure = blockStructure;
+        this.hashFunction = hashFunction;
+        this.collisionMethod = collisionMethod;
+        this.logger = logger;
+    }
+
+    // Posición hash (1..n) con los pasos del cálculo como traza
+    public int hash(String key) throws Exception {
+        long numericKey = HashFunction.toNumericKey(key);
+
+        // explain() repite el cálculo paso a paso; solo se genera si la traza está activa
+        if (logger.isLoggable(LogLevel.TRACE)) {
+            for (String step : hashFunction.explain(numericKey)) {
+                logger.trace(() -> step);
+            }
+        }
+
+        return hashFunction.hash(numericKey);
+    }
+
+    public BlockStructure.BlockPosition homePosition(int hashValue) {
+        return blockStructure.getHashPosition(hashValue);
+    }
+
+    // Inserta la clave a partir de su posición base y devuelve la posición final
+    public BlockStructure.BlockPosition insert(String key, BlockStructure.BlockPosition home) throws Exception {
+        BlockStructure.BlockPosition finalPosition = resolveCollision(home);
+
+        blockStructure.insertAt(key, finalPosition.blockIndex, finalPosition.position);
+        logger.log(LogLevel.INFO, "success", () -> String.format("Clave '%s' insertada en bloque %d, posición %d",
+                key, finalPosition.blockIndex + 1, finalPosition.position + 1));
+        return finalPosition;
+    }
+
+    public BlockStructure.BlockPosition insert(String key) throws Exception {
+        return insert(key, homePosition(hash(key)));
+    }
+
+    private BlockStructure.BlockPosition resolveCollision(BlockStructure.BlockPosition originalPosition) throws Exception {
+        if (isFree(originalPosition)) {
+            // No hay colisión
+            return originalPosition;
+        }
+
+        logger.log(LogLevel.WARN, () -> String.format("Colisión detectada en bloque %d, posición %d",
+                originalPosition.blockIndex + 1, originalPosition.position + 1));
+
+        switch (collisionMethod) {
+            case LINEAR_PROBING:
+            case LINKED:
+                return resolveLinearProbing(originalPosition);
+            case QUADRATIC_PROBING:
+                return resolveQuadraticProbing(originalPosition);
+            case NESTED:
+                return resolveNestedStructures(originalPosition);
+            default:
+                throw new Exception("Método de colisión no implementado");
+        }
+    }
+
+    private BlockStructure.BlockPosition resolveLinearProbing(BlockStructure.BlockPosition original) throws Exception {
+        int totalElements = blockStructure.getTotalElements();
+        int originalAbsPos = absolutePosition(original);
+
+        for (int attempts = 1; attempts < totalElements; attempts++) {
+            BlockStructure.BlockPosition newPosition = positionAt((originalAbsPos + attempts) % totalElements);
+
+            int attempt = attempts;
+            logger.trace(() -> String.format("Sondeo lineal: intento %d → bloque %d, posición %d",
+                    attempt, newPosition.blockIndex + 1, newPosition.position + 1));
+
+            if (isFree(newPosition)) {
+                logger.log(LogLevel.TRACE, "success",
+                        () -> String.format("Posición libre encontrada en intento %d", attempt));
+                return newPosition;
+            }
+        }
+
+        throw new Exception("Estructura llena - no se puede insertar");
+    }
+
+    private BlockStructure.BlockPosition resolveQuadraticProbing(BlockStructure.BlockPosition original) throws Exception {
+        int totalElements = blockStructure.getTotalElements();
+        int originalAbsPos = absolutePosition(original);
+
+        for (int attempts = 1; attempts <= totalElements; attempts++) {
+            BlockStructure.BlockPosition newPosition =
+                    positionAt((int) ((originalAbsPos + (long) attempts * attempts) % totalElements));
+
+            int attempt = attempts;
+            logger.trace(() -> String.format("Sondeo cuadrático: intento %d² → bloque %d, posición %d",
+                    attempt, newPosition.blockIndex + 1, newPosition.position + 1));
+
+            if (isFree(newPosition)) {
+                logger.log(LogLevel.TRACE, "success",
+                        () -> String.format("Posición libre encontrada en intento %d²", attempt));
+                return newPosition;
+            }
+        }
+
+        throw new Exception("No se pudo resolver la colisión con sondeo cuadrático");
+    }
+
+    private BlockStructure.BlockPosition resolveNestedStructures(BlockStructure.BlockPosition original) throws Exception {
+        // Buscar en bloque actual primero, luego en bloques adyacentes
+        for (int blockOffset = 0; blockOffset < blockStructure.getNumBlocks(); blockOffset++) {
+            int targetBlock = (original.blockIndex + blockOffset) % blockStructure.getNumBlocks();
+
+            // El último bloque puede ser parcial
+            int blockSize = blockStructure.getBlockSize(targetBlock);
+            for (int posOffset = 0; posOffset < blockSize; posOffset++) {
+                int targetPos = (original.position + posOffset) % blockSize;
+
+                if (blockStructure.getAt(targetBlock, targetPos) == null) {
+                    logger.log(LogLevel.INFO, () -> String.format(
+                            "Estructura anidada: bloque %d, posición %d disponible", targetBlock + 1, targetPos + 1));
+                    return new BlockStructure.BlockPosition(targetBlock, targetPos);
+                }
+            }
+        }
+
+        throw new Exception("No hay espacio en estructuras anidadas");
+    }
+
+    // Busca la clave siguiendo el mismo recorrido que la inserción; null si no está
+    public BlockStructure.BlockPosition find(String key, BlockStructure.BlockPosition originalPosition) {
+        // Verificar posición original
+        if (key.equals(blockStructure.getAt(originalPosition.blockIndex, originalPosition.position))) {
+            return originalPosition;
+        }
+
+        // Buscar según método de colisión
+        if (collisionMethod == CollisionMethod.QUADRATIC_PROBING) {
+            return findWithQuadraticProbing(key, originalPosition);
+        }
+        return findWithLinearProbing(key, originalPosition);
+    }
+
+    private BlockStructure.BlockPosition findWithLinearProbing(String key, BlockStructure.BlockPosition original) {
+        int totalElements = blockStructure.getTotalElements();
+        int originalAbsPos = absolutePosition(original);
+
+        for (int offset = 1; offset < totalElements; offset++) {
+            BlockStructure.BlockPosition newPosition = positionAt((originalAbsPos + offset) % totalElements);
+
+            if (key.equals(blockStructure.getAt(newPosition.blockIndex, newPosition.position))) {
+                return newPosition;
+            }
+        }
+
+        return null;
+    }
+
+    private BlockStructure.BlockPosition findWithQuadraticProbing(String key, BlockStructure.BlockPosition original) {
+        int totalElements = blockStructure.getTotalElements();
+        int originalAbsPos = absolutePosition(original);
+
+        for (int attempts = 1; attempts <= totalElements; attempts++) {
+            BlockStructure.BlockPosition newPosition =
+                    positionAt((int) ((originalAbsPos + (long) attempts * attempts) % totalElements));
+
+            if (key.equals(blockStructure.getAt(newPosition.blockIndex, newPosition.position))) {
+                return newPosition;
+            }
+        }
+
+        return null;
+    }
+
+    public boolean delete(String key) {
+        return blockStructure.remove(key);
+    }
+
+    public void clear() {
+        blockStructure.initialize();
+    }
+
+    private int absolutePosition(BlockStructure.BlockPosition position) {
+        return position.blockIndex * blockStructure.getElementsPerBlock() + position.position;
+    }
+
+    private BlockStructure.BlockPosition positionAt(int absolutePosition) {
+        return blockStructure.getHashPosition(absolutePosition + 1);
+    }
+
+    private boolean isFree(BlockStructure.BlockPosition position) {
+        return blockStructure.getAt(position.blockIndex, position.position) == null;
+    }
+
+    public BlockStructure getBlockStructure() { return blockStructure; }
+    public HashFunction getHashFunction() { return hashFunction; }
+    public CollisionMethod getCollisionMethod() { return collisionMethod; }
+}
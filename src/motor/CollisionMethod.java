@@ -0,0 +1,47 @@
+package motor;
+
+import utils.CollisionChains;
+import utils.LinkedOverflow;
+import utils.NestedBuckets;
+
+// Métodos de resolución de colisiones, con el texto que muestran las ventanas
+public enum CollisionMethod {
+    LINEAR_PROBING("Sondeo Lineal"),
+    QUADRATIC_PROBING("Sondeo Cuadrático"),
+    NESTED("Estructuras Anidadas"),
+    LINKED("Estructuras Enlazadas");
+
+    private final String label;
+
+    CollisionMethod(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public static CollisionMethod fromLabel(String label) throws Exception {
+        for (CollisionMethod method : values()) {
+            if (method.label.equals(label)) {
+                return method;
+            }
+        }
+        throw new Exception("Método de colisión no implementado");
+    }
+
+    // Estructuras anidadas y enlazadas guardan los choques fuera de la tabla principal
+    public CollisionChains createChains(int size) {
+        switch (this) {
+            case NESTED:
+                return new NestedBuckets(size);
+            case LINKED:
+                return new LinkedOverflow(size);
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,209 @@
+package motor;
+
+import utils.LogLevel;
+import utils.TreeNode;
+
+/**
+ * Árbol digital: cada carácter se ubica siguiendo los últimos 5 bits de su código ASCII
+ * (0 = izquierda, 1 = derecha). No depende de Swing; la traza se envía a un StepLogger.
+ */
+public class DigitalTreeEngine {
+    private static final int PATH_BITS = 5;
+
+    private final StepLogger logger;
+    private TreeNode root;
+
+    public DigitalTreeEngine(StepLogger logger) {
+        this.logger = logger;
+    }
+
+    public void insert(char character) throws Exception {
+        int ascii = (int) character;
+        String fullBinary = Integer.toBinaryString(ascii);
+        String last5Bits = getLast5Bits(fullBinary);
+
+        logger.log(LogLevel.INFO, () -> String.format("Insertando '%c': ASCII=%d, Binario=%s, LSB5=%s",
+                character, ascii, fullBinary, last5Bits));
+
+        // Verificar si ya existe un nodo con este camino
+        TreeNode existingNode = findNodeByPath(last5Bits);
+        if (existingNode != null && existingNode.data != null) {
+            throw new Exception(String.format("Colisión: ya existe el carácter '%c' en la ruta %s",
+                    existingNode.data, last5Bits));
+        }
+
+        if (root == null) {
+            root = new TreeNode();
+            root.level = 0;
+        }
+
+        TreeNode current = root;
+
+        // Navegar/crear el camino hasta el nodo final
+        for (int i = 0; i < last5Bits.length(); i++) {
+            char bit = last5Bits.charAt(i);
+
+            int step = i + 1;
+            logger.trace(() -> String.format("  Bit %d: '%c' → %s",
+                    step, bit, bit == '0' ? "izquierda" : "derecha"));
+
+            if (i == last5Bits.length() - 1) {
+                // Último bit - aquí va el carácter
+                TreeNode leafNode = new TreeNode(character);
+                leafNode.ascii = ascii;
+                leafNode.binaryPath = last5Bits;
+                leafNode.level = current.level + 1;
+                leafNode.parent = current;
+                leafNode.isLeaf = true;
+
+                if (bit == '0') {
+                    if (current.left != null) {
+                        throw new Exception("Posición ya ocupada en ruta izquierda");
+                    }
+                    current.left = leafNode;
+                } else {
+                    if (current.right != null) {
+                        throw new Exception("Posición ya ocupada en ruta derecha");
+                    }
+                    current.right = leafNode;
+                }
+
+                logger.log(LogLevel.INFO, "success",
+                        () -> String.format("Carácter '%c' insertado en posición final", character));
+
+            } else {
+                // Bit intermedio - crear o navegar nodo interno
+                TreeNode nextNode;
+
+                if (bit == '0') {
+                    if (current.left == null) {
+                        current.left = newInternalNode(current);
+                    }
+                    nextNode = current.left;
+                } else {
+                    if (current.right == null) {
+                        current.right = newInternalNode(current);
+                    }
+                    nextNode = current.right;
+                }
+
+                // Verificar que no sea un nodo hoja existente
+                if (nextNode.data != null) {
+                    throw new Exception(String.format("Colisión: el camino está bloqueado por '%c'", nextNode.data));
+                }
+
+                current = nextNode;
+            }
+        }
+
+        logger.log(LogLevel.INFO, "success", () -> String.format("Carácter '%c' insertado exitosamente (ruta: %s)",
+                character, last5Bits));
+    }
+
+    private TreeNode newInternalNode(TreeNode parent) {
+        TreeNode node = new TreeNode(); // Nodo interno sin data
+        node.parent = parent;
+        node.level = parent.level + 1;
+        node.isLeaf = false;
+        return node;
+    }
+
+    // Últimos 5 bits del binario, rellenando con ceros a la izquierda si es necesario
+    public static String getLast5Bits(String binary) {
+        if (binary.length() <= PATH_BITS) {
+            StringBuilder padded = new StringBuilder();
+            for (int i = binary.length(); i < PATH_BITS; i++) {
+                padded.append('0');
+            }
+            return padded.append(binary).toString();
+        }
+        return binary.substring(binary.length() - PATH_BITS);
+    }
+
+    private TreeNode findNodeByPath(String binaryPath) {
+        if (root == null) return null;
+
+        TreeNode current = root;
+
+        for (char bit : binaryPath.toCharArray()) {
+            if (bit == '0') {
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+
+            if (current == null) {
+                return null;
+            }
+        }
+
+        return current;
+    }
+
+    // Nodo hoja que contiene el carácter o null si no está en el árbol
+    public TreeNode search(char character) {
+        if (root == null) return null;
+
+        String last5Bits = getLast5Bits(Integer.toBinaryString((int) character));
+
+        logger.log(LogLevel.INFO, () -> String.format("Buscando '%c': ruta binaria %s", character, last5Bits));
+
+        TreeNode node = findNodeByPath(last5Bits);
+
+        if (node != null && node.data != null && node.data.equals(character)) {
+            return node;
+        }
+
+        return null;
+    }
+
+    public boolean delete(char character) {
+        TreeNode node = search(character);
+        if (node == null) return false;
+
+        // Remover el nodo hoja
+        TreeNode parent = node.parent;
+        if (parent != null) {
+            if (parent.left == node) {
+                parent.left = null;
+            } else {
+                parent.right = null;
+            }
+
+            // Limpiar nodos internos innecesarios
+            cleanupEmptyInternalNodes(parent);
+        } else {
+            // Es la raíz
+            root = null;
+        }
+
+        return true;
+    }
+
+    private void cleanupEmptyInternalNodes(TreeNode node) {
+        if (node == null || node == root) return;
+
+        // Solo limpiar si es un nodo interno sin hijos y sin data
+        if (node.data == null && node.left == null && node.right == null) {
+            TreeNode parent = node.parent;
+            if (parent != null) {
+                if (parent.left == node) {
+                    parent.left = null;
+                } else {
+                    parent.right = null;
+                }
+
+                // Continuar limpieza hacia arriba
+                cleanupEmptyInternalNodes(parent);
+            }
+        }
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    public TreeNode getRoot() {
+        return root;
+    }
+}
@@ -0,0 +1,298 @@
+package motor;
+
+import utils.CollisionChains;
+import utils.DataStructure;
+import utils.HashFunction;
+import utils.LogLevel;
+
+/**
+ * Tabla hash sobre una DataStructure: cálculo de la posición base, resolución de
+ * colisiones por sondeo o encadenamiento, búsqueda y eliminación con marcas DELETED
+ * y rehash automático. No depende de Swing; la traza se envía a un StepLogger.
+ */
+public class HashEngine {
+    private final DataStructure structure;
+    private final HashFunction hashFunction;
+    private final CollisionMethod collisionMethod;
+    private final CollisionChains chains;
+    private final StepLogger logger;
+
+    public HashEngine(DataStructure structure, HashFunction hashFunction,
+                      CollisionMethod collisionMethod, StepLogger logger) {
+        this.structure = structure;
+        this.hashFunction = hashFunction;
+        this.collisionMethod = collisionMethod;
+        this.chains = collisionMethod.createChains(structure.getSize());
+        this.logger = logger;
+    }
+
+    // Posición base (1..tamaño) con los pasos del cálculo como traza
+    public int hash(String key) throws Exception {
+        long numericKey = HashFunction.toNumericKey(key);
+
+        // explain() repite el cálculo paso a paso; solo se genera si la traza está activa
+        if (logger.isLoggable(LogLevel.TRACE)) {
+            for (String step : hashFunction.explain(numericKey)) {
+                logger.trace(() -> step);
+            }
+        }
+
+        return hashFunction.hash(numericKey);
+    }
+
+    // Inserta la clave y devuelve la posición base (índice desde 0) que le corresponde
+    public int insert(String key) throws Exception {
+        int originalIndex = hash(key) - 1;
+        storeKey(key, originalIndex);
+        return originalIndex;
+    }
+
+    private void storeKey(String key, int originalIndex) throws Exception {
+        // Verificar colisión y resolver
+        if (chains != null && structure.isOccupied(originalIndex)) {
+            insertIntoChain(key, originalIndex);
+        } else {
+            int finalIndex = resolveCollision(key, originalIndex);
+
+            structure.insertAt(key, finalIndex);
+            logger.log(LogLevel.INFO, "success",
+                    () -> String.format("Clave '%s' insertada en índice %d", key, finalIndex + 1));
+        }
+    }
+
+    private int resolveCollision(String key, int originalIndex) throws Exception {
+        if (!structure.isOccupied(originalIndex)) {
+            // No hay colisión
+            return originalIndex;
+        }
+
+        logger.log(LogLevel.WARN, () -> String.format("Colisión detectada en índice %d", originalIndex + 1));
+
+        switch (collisionMethod) {
+            case LINEAR_PROBING:
+                return resolveLinearProbing(originalIndex);
+            case QUADRATIC_PROBING:
+                return resolveQuadraticProbing(originalIndex);
+            default:
+                throw new Exception("Método de colisión no implementado");
+        }
+    }
+
+    private int resolveLinearProbing(int originalIndex) throws Exception {
+        int index = originalIndex;
+        int attempts = 0;
+
+        do {
+            index = (index + 1) % structure.getSize(); // Comportamiento circular
+            attempts++;
+
+            int attempt = attempts, probe = index;
+            logger.trace(() -> String.format("Sondeo lineal: intento %d, índice %d", attempt, probe + 1));
+
+            if (!structure.isOccupied(index)) {
+                logger.log(LogLevel.TRACE, "success",
+                        () -> String.format("Posición libre encontrada en índice %d", probe + 1));
+                return index;
+            }
+
+            if (attempts >= structure.getSize()) {
+                throw new Exception("Tabla llena - no se puede insertar");
+            }
+
+        } while (index != originalIndex);
+
+        throw new Exception("No se pudo resolver la colisión");
+    }
+
+    private int resolveQuadraticProbing(int originalIndex) throws Exception {
+        int attempts = 1;
+
+        while (attempts <= structure.getSize()) {
+            int index = (int) ((originalIndex + (long) attempts * attempts) % structure.getSize());
+
+            int attempt = attempts;
+            logger.trace(() -> String.format("Sondeo cuadrático: intento %d², índice %d", attempt, index + 1));
+
+            if (!structure.isOccupied(index)) {
+                logger.log(LogLevel.TRACE, "success",
+                        () -> String.format("Posición libre encontrada en índice %d", index + 1));
+                return index;
+            }
+
+            attempts++;
+        }
+
+        throw new Exception("No se pudo resolver la colisión con sondeo cuadrático");
+    }
+
+    private void insertIntoChain(String key, int originalIndex) throws Exception {
+        logger.log(LogLevel.WARN, () -> String.format("Colisión detectada en índice %d", originalIndex + 1));
+
+        if (structure.containsAt(originalIndex, key) || chains.find(originalIndex, key) != -1) {
+            throw new Exception("Clave '" + key + "' ya existe");
+        }
+
+        int position = chains.add(originalIndex, key);
+        logger.log(LogLevel.INFO, "success", () -> String.format(
+                "%s: clave '%s' en posición %d de la cadena del índice %d",
+                collisionMethod, key, position, originalIndex + 1));
+    }
+
+    // Busca la clave en la tabla principal y, si hay encadenamiento, en la cadena de su posición base
+    public Lookup search(String key) throws Exception {
+        int originalIndex = hash(key) - 1;
+        int index = findKey(key, originalIndex);
+        int chainPosition = (index == -1 && chains != null) ? chains.find(originalIndex, key) : -1;
+        return new Lookup(originalIndex, index, chainPosition);
+    }
+
+    private int findKey(String key, int originalIndex) {
+        // Verificar posición original
+        if (structure.containsAt(originalIndex, key)) {
+            return originalIndex;
+        }
+
+        if (isEndOfChain(originalIndex)) {
+            return -1;
+        }
+
+        // Con encadenamiento la tabla principal solo contiene la posición base
+        if (chains != null) {
+            return -1;
+        }
+
+        // Buscar según método de colisión
+        if (collisionMethod == CollisionMethod.QUADRATIC_PROBING) {
+            return findWithQuadraticProbing(key, originalIndex);
+        }
+        return findWithLinearProbing(key, originalIndex);
+    }
+
+    private int findWithLinearProbing(String key, int originalIndex) {
+        int index = originalIndex;
+        int attempts = 0;
+
+        do {
+            if (structure.containsAt(index, key)) {
+                return index;
+            }
+
+            if (isEndOfChain(index)) {
+                return -1;
+            }
+
+            index = (index + 1) % structure.getSize();
+            attempts++;
+
+        } while (index != originalIndex && attempts < structure.getSize());
+
+        return -1;
+    }
+
+    private int findWithQuadraticProbing(String key, int originalIndex) {
+        for (int attempts = 1; attempts <= structure.getSize(); attempts++) {
+            int index = (int) ((originalIndex + (long) attempts * attempts) % structure.getSize());
+
+            if (structure.containsAt(index, key)) {
+                return index;
+            }
+
+            if (isEndOfChain(index)) {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    // Una posición vacía que nunca fue eliminada termina la cadena de sondeo
+    private boolean isEndOfChain(int index) {
+        return !structure.isOccupied(index) && !structure.isDeleted(index);
+    }
+
+    /**
+     * Elimina la clave. Con encadenamiento la cadena se reacomoda; con sondeo la posición
+     * queda marcada como DELETED y, si hay demasiadas marcas, se hace rehash.
+     */
+    public boolean delete(String key) throws Exception {
+        if (chains != null) {
+            boolean removed = deleteFromChaining(key);
+            if (removed) {
+                logger.log(LogLevel.INFO, "success", () -> String.format("Clave '%s' eliminada", key));
+            }
+            return removed;
+        }
+
+        if (!structure.markDeleted(key)) {
+            return false;
+        }
+
+        logger.log(LogLevel.INFO, "success",
+                () -> String.format("Clave '%s' eliminada (posición marcada como DELETED)", key));
+        rehashIfNeeded();
+        return true;
+    }
+
+    private boolean deleteFromChaining(String key) throws Exception {
+        int originalIndex = hash(key) - 1;
+
+        if (structure.containsAt(originalIndex, key)) {
+            structure.remove(key);
+
+            // El primer elemento de la cadena pasa a ocupar la posición base
+            Object promoted = chains.removeFirst(originalIndex);
+            if (promoted != null) {
+                structure.insertAt(promoted, originalIndex);
+                logger.log(LogLevel.INFO, () -> String.format("Clave '%s' sube de la cadena al índice %d",
+                        promoted, originalIndex + 1));
+            }
+            return true;
+        }
+
+        return chains.remove(originalIndex, key);
+    }
+
+    private void rehashIfNeeded() throws Exception {
+        if (!structure.needsRehash()) {
+            return;
+        }
+
+        logger.log(LogLevel.WARN, () -> String.format(
+                "Marcas DELETED (%d) superan el %.0f%% de la tabla: rehash automático",
+                structure.getTombstoneCount(), structure.getMaxTombstoneRatio() * 100));
+        int relocated = structure.rehash(k -> resolveCollision((String) k,
+                hashFunction.hash(HashFunction.toNumericKey((String) k)) - 1));
+        logger.log(LogLevel.INFO, "success", () -> String.format("Rehash completado: %d claves reubicadas", relocated));
+    }
+
+    // Vacía la tabla y las cadenas manteniendo la configuración
+    public void clear() {
+        structure.initialize();
+        if (chains != null) {
+            chains.clear();
+        }
+    }
+
+    public DataStructure getStructure() { return structure; }
+    public HashFunction getHashFunction() { return hashFunction; }
+    public CollisionMethod getCollisionMethod() { return collisionMethod; }
+    public CollisionChains getChains() { return chains; }
+    public boolean usesChains() { return chains != null; }
+
+    // Resultado de una búsqueda: posición base, índice en la tabla y posición en la cadena
+    public static class Lookup {
+        public final int homeIndex;
+        public final int index;
+        public final int chainPosition;
+
+        public Lookup(int homeIndex, int index, int chainPosition) {
+            this.homeIndex = homeIndex;
+            this.index = index;
+            this.chainPosition = chainPosition;
+        }
+
+        public boolean isFound() {
+            return index != -1 || chainPosition != -1;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package motor;
+
+import utils.LogLevel;
+import utils.TreeNode;
+
+import java.util.*;
+
+/**
+ * Árbol de Huffman: se construye a partir de las frecuencias de un mensaje uniendo siempre
+ * los dos nodos de menor frecuencia, y cada hoja recibe su código (0 = izquierda, 1 = derecha).
+ * No depende de Swing; la traza se envía a un StepLogger.
+ */
+public class HuffmanTreeEngine {
+    private final StepLogger logger;
+    private TreeNode root;
+    private final Map<Character, String> codes = new HashMap<>();
+    private final Map<Character, Integer> frequencies = new HashMap<>();
+
+    public HuffmanTreeEngine(StepLogger logger) {
+        this.logger = logger;
+    }
+
+    // Reemplaza el árbol por el del mensaje: frecuencias, construcción y códigos
+    public void build(String message) {
+        clear();
+        calculateFrequencies(message);
+        buildFromFrequencies();
+        generateCodes();
+    }
+
+    private void calculateFrequencies(String message) {
+        for (char c : message.toCharArray()) {
+            frequencies.put(c, frequencies.getOrDefault(c, 0) + 1);
+        }
+
+        logger.log(LogLevel.INFO, () -> "Tabla de frecuencias:");
+        List<Character> sortedChars = new ArrayList<>(frequencies.keySet());
+        sortedChars.sort(Comparator.comparing(frequencies::get));
+
+        for (char c : sortedChars) {
+            int freq = frequencies.get(c);
+            double prob = (double) freq / message.length();
+            logger.log(LogLevel.INFO, () -> String.format("  '%c': %d (%.3f)", c, freq, prob));
+        }
+    }
+
+    private void buildFromFrequencies() {
+        // Crear cola de prioridad con nodos hoja
+        PriorityQueue<TreeNode> pq = new PriorityQueue<>((a, b) -> {
+            int freqCompare = Integer.compare(a.frequency, b.frequency);
+            if (freqCompare != 0) return freqCompare;
+
+            // En caso de empate, priorizar caracteres individuales
+            if (a.data != null && b.data == null) return -1;
+            if (a.data == null && b.data != null) return 1;
+            if (a.data != null && b.data != null) {
+                return Character.compare((Character) a.data, (Character) b.data);
+            }
+            return 0;
+        });
+
+        // Agregar nodos hoja
+        for (Map.Entry<Character, Integer> entry : frequencies.entrySet()) {
+            TreeNode node = new TreeNode(entry.getKey());
+            node.frequency = entry.getValue();
+            node.isLeaf = true;
+            pq.offer(node);
+        }
+
+        logger.log(LogLevel.INFO, () -> "=== PROCESO DE CONSTRUCCIÓN ===");
+        int step = 1;
+
+        // Construir árbol
+        while (pq.size() > 1) {
+            TreeNode left = pq.poll();
+            TreeNode right = pq.poll();
+
+            TreeNode parent = new TreeNode();
+            parent.frequency = left.frequency + right.frequency;
+            parent.left = left;
+            parent.right = right;
+            parent.isLeaf = false;
+
+            left.parent = parent;
+            right.parent = parent;
+
+            int current = step++;
+            logger.trace(() -> String.format("Paso %d: %s(%d) + %s(%d) = %d",
+                    current, describe(left), left.frequency, describe(right), right.frequency, parent.frequency));
+
+            pq.offer(parent);
+        }
+
+        root = pq.poll();
+    }
+
+    private static String describe(TreeNode node) {
+        return node.data != null ? "'" + node.data + "'" : "grupo";
+    }
+
+    private void generateCodes() {
+        codes.clear();
+        if (root != null) {
+            if (root.data != null) {
+                // Caso especial: solo un carácter
+                codes.put((Character) root.data, "0");
+            } else {
+                generateCodesRecursive(root, "");
+            }
+        }
+    }
+
+    private void generateCodesRecursive(TreeNode node, String code) {
+        if (node == null) return;
+
+        if (node.data != null) {
+            // Nodo hoja
+            codes.put((Character) node.data, code);
+            node.binaryPath = code;
+        } else {
+            // Nodo interno
+            generateCodesRecursive(node.left, code + "0");
+            generateCodesRecursive(node.right, code + "1");
+        }
+    }
+
+    // Hoja del carácter siguiendo su código, o null si no está en el árbol
+    public TreeNode search(char character) {
+        if (root == null || !codes.containsKey(character)) return null;
+
+        TreeNode current = root;
+
+        for (char bit : codes.get(character).toCharArray()) {
+            current = bit == '0' ? current.left : current.right;
+
+            if (current == null) return null;
+        }
+
+        return current;
+    }
+
+    // Bits del mensaje codificado con los códigos de Huffman
+    public int getEncodedBits() {
+        int bits = 0;
+        for (Map.Entry<Character, String> entry : codes.entrySet()) {
+            bits += frequencies.get(entry.getKey()) * entry.getValue().length();
+        }
+        return bits;
+    }
+
+    // Bits del mensaje en ASCII estándar (8 por carácter)
+    public int getOriginalBits() {
+        int totalChars = 0;
+        for (int frequency : frequencies.values()) {
+            totalChars += frequency;
+        }
+        return totalChars * 8;
+    }
+
+    public void clear() {
+        root = null;
+        codes.clear();
+        frequencies.clear();
+    }
+
+    public TreeNode getRoot() {
+        return root;
+    }
+
+    // Código de cada carácter y frecuencias del último mensaje (vistas de solo lectura)
+    public Map<Character, String> getCodes() {
+        return Collections.unmodifiableMap(codes);
+    }
+
+    public Map<Character, Integer> getFrequencies() {
+        return Collections.unmodifiableMap(frequencies);
+    }
+}
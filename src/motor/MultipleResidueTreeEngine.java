@@ -0,0 +1,203 @@
+package motor;
+
+import utils.LogLevel;
+import utils.TreeNode;
+
+/**
+ * Árbol por residuos múltiples: el código ASCII se parte en segmentos de M bits y cada
+ * segmento elige uno de los 2^M enlaces del nodo. Como TreeNode solo tiene hijos izquierdo
+ * y derecho, cada enlace se representa con M niveles binarios. No depende de Swing; la
+ * traza se envía a un StepLogger.
+ */
+public class MultipleResidueTreeEngine {
+    private final StepLogger logger;
+    private TreeNode root;
+
+    public MultipleResidueTreeEngine(StepLogger logger) {
+        this.logger = logger;
+    }
+
+    public void insert(char character, int mBits) throws Exception {
+        int ascii = (int) character;
+        String original = Integer.toBinaryString(ascii);
+
+        logger.log(LogLevel.INFO, () -> String.format("Insertando '%c': ASCII=%d, Binario original=%s",
+                character, ascii, original));
+
+        // Asegurar que el binario tenga longitud múltiple de mBits
+        String binary = padToSegments(original, mBits);
+
+        logger.log(LogLevel.INFO, () -> String.format("Binario ajustado: %s (longitud: %d)", binary, binary.length()));
+
+        if (root == null) {
+            root = new TreeNode();
+            root.level = 0;
+        }
+
+        TreeNode current = root;
+        String pathSegments = "";
+        int depth = 0;
+
+        // Procesar de M bits en M bits
+        for (int i = 0; i < binary.length(); i += mBits) {
+            String segment = segmentAt(binary, i, mBits);
+            int segmentValue = Integer.parseInt(segment, 2);
+            pathSegments += segment + " ";
+            depth++;
+
+            int level = depth;
+            logger.trace(() -> String.format("  Nivel %d - Segmento: %s = %d", level, segment, segmentValue));
+
+            // Si estamos en el último segmento, crear nodo hoja
+            if (i + mBits >= binary.length()) {
+                TreeNode leafNode = getOrCreateChild(current, segmentValue, mBits);
+
+                if (leafNode.data != null) {
+                    throw new Exception(String.format("Colisión: posición ya ocupada por '%c'", leafNode.data));
+                }
+
+                leafNode.data = character;
+                leafNode.ascii = ascii;
+                leafNode.binaryPath = pathSegments.trim();
+                leafNode.isLeaf = true;
+
+                logger.log(LogLevel.INFO, "success",
+                        () -> String.format("Carácter '%c' insertado en nodo hoja", character));
+            } else {
+                // Nodo intermedio
+                current = getOrCreateChild(current, segmentValue, mBits);
+                current.isLeaf = false;
+            }
+        }
+
+        String path = pathSegments.trim();
+        logger.log(LogLevel.INFO, "success", () -> String.format("Carácter '%c' insertado exitosamente (ruta: %s)",
+                character, path));
+    }
+
+    // Binario con ceros a la izquierda hasta una longitud múltiplo de mBits
+    public static String padToSegments(String binary, int mBits) {
+        while (binary.length() % mBits != 0) {
+            binary = "0" + binary;
+        }
+        return binary;
+    }
+
+    // Segmento de M bits desde la posición indicada, completado con ceros a la derecha
+    public static String segmentAt(String binary, int from, int mBits) {
+        String segment = binary.substring(from, Math.min(from + mBits, binary.length()));
+        while (segment.length() < mBits) {
+            segment += "0";
+        }
+        return segment;
+    }
+
+    private TreeNode getOrCreateChild(TreeNode parent, int index, int mBits) {
+        TreeNode current = parent;
+
+        // Navegar bit por bit el índice del enlace, creando los nodos que falten
+        String indexBinary = indexBits(index, mBits);
+        for (int i = 0; i < indexBinary.length(); i++) {
+            if (indexBinary.charAt(i) == '0') {
+                if (current.left == null) {
+                    current.left = newInternalNode(current);
+                }
+                current = current.left;
+            } else {
+                if (current.right == null) {
+                    current.right = newInternalNode(current);
+                }
+                current = current.right;
+            }
+        }
+
+        return current;
+    }
+
+    // Igual que getOrCreateChild pero sin crear nodos; null si el camino se interrumpe
+    private TreeNode getChild(TreeNode parent, int index, int mBits) {
+        TreeNode current = parent;
+
+        String indexBinary = indexBits(index, mBits);
+        for (int i = 0; i < indexBinary.length(); i++) {
+            current = indexBinary.charAt(i) == '0' ? current.left : current.right;
+
+            if (current == null) {
+                return null;
+            }
+        }
+
+        return current;
+    }
+
+    private static String indexBits(int index, int mBits) {
+        String indexBinary = Integer.toBinaryString(index);
+        while (indexBinary.length() < mBits) {
+            indexBinary = "0" + indexBinary;
+        }
+        return indexBinary;
+    }
+
+    private TreeNode newInternalNode(TreeNode parent) {
+        TreeNode node = new TreeNode();
+        node.parent = parent;
+        node.level = parent.level + 1;
+        node.isLeaf = false;
+        return node;
+    }
+
+    // Nodo que contiene el carácter o null si no está en el árbol
+    public TreeNode search(char character, int mBits) {
+        if (root == null) return null;
+
+        String binary = padToSegments(Integer.toBinaryString((int) character), mBits);
+
+        logger.log(LogLevel.INFO, () -> String.format("Buscando '%c': ruta binaria segmentada", character));
+
+        TreeNode current = root;
+
+        for (int i = 0; i < binary.length(); i += mBits) {
+            String segment = segmentAt(binary, i, mBits);
+            int segmentValue = Integer.parseInt(segment, 2);
+            logger.trace(() -> String.format("  Navegando por segmento: %s = %d", segment, segmentValue));
+
+            current = getChild(current, segmentValue, mBits);
+
+            if (current == null) {
+                logger.log(LogLevel.INFO, () -> "Camino interrumpido");
+                return null;
+            }
+        }
+
+        if (current.data != null && current.data.equals(character)) {
+            return current;
+        }
+
+        return null;
+    }
+
+    // El nodo queda en el árbol marcado como vacío
+    public boolean delete(char character, int mBits) {
+        TreeNode node = search(character, mBits);
+
+        if (node != null && node.data != null) {
+            node.data = null;
+            node.ascii = 0;
+            node.binaryPath = "";
+            node.isLeaf = false;
+
+            logger.log(LogLevel.INFO, () -> String.format("Carácter '%c' eliminado (nodo marcado como vacío)", character));
+            return true;
+        }
+
+        return false;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    public TreeNode getRoot() {
+        return root;
+    }
+}
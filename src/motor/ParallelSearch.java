@@ -0,0 +1,160 @@
+package motor;
+
+import utils.DataStructure;
+import utils.SortKey;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Búsqueda lineal, conteo y consulta por rango repartidos en el ForkJoinPool común.
+ * La tabla se divide en tramos contiguos; en la búsqueda, cuando un tramo encuentra la
+ * clave los demás se detienen en su siguiente revisión. La estructura no debe modificarse
+ * mientras dura la operación.
+ */
+public class ParallelSearch {
+    // Mínimo de posiciones por tarea hoja; por debajo no compensa repartir
+    private static final int MIN_LEAF = 1 << 14;
+    // Cada cuántas posiciones una hoja revisa si otra ya encontró la clave
+    private static final int CANCEL_CHECK = 1 << 10;
+
+    private ParallelSearch() {
+    }
+
+    public static int getParallelism() {
+        return ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    // Índice (desde 0) de la clave o -1
+    public static int linearSearch(DataStructure structure, String key) {
+        AtomicInteger found = new AtomicInteger(-1);
+        int size = structure.getSize();
+        ForkJoinPool.commonPool().invoke(new FindTask(structure, key, 0, size, leafSize(size), found));
+        return found.get();
+    }
+
+    // Cantidad de claves con low <= clave <= high
+    public static int countInRange(DataStructure structure, String low, String high) {
+        int size = structure.getSize();
+        return ForkJoinPool.commonPool().invoke(new CountTask(structure, SortKey.of(low), SortKey.of(high),
+                0, size, leafSize(size)));
+    }
+
+    // Posiciones (desde 0) de las claves con low <= clave <= high, en orden de posición
+    public static int[] rangeQuery(DataStructure structure, String low, String high) {
+        int size = structure.getSize();
+        return ForkJoinPool.commonPool().invoke(new RangeTask(structure, SortKey.of(low), SortKey.of(high),
+                0, size, leafSize(size)));
+    }
+
+    // Unas cuatro hojas por hilo, alineadas a 64 posiciones (palabras del mapa de bits)
+    private static int leafSize(int size) {
+        int perTask = size / (getParallelism() * 4);
+        return Math.max(MIN_LEAF, (perTask + 63) & ~63);
+    }
+
+    private static int split(int from, int to) {
+        return (from + (to - from) / 2) & ~63;
+    }
+
+    private static final class FindTask extends RecursiveAction {
+        private final DataStructure structure;
+        private final String key;
+        private final int from, to, leaf;
+        private final AtomicInteger found;
+
+        FindTask(DataStructure structure, String key, int from, int to, int leaf, AtomicInteger found) {
+            this.structure = structure;
+            this.key = key;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+            this.found = found;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get() >= 0) {
+                return;
+            }
+
+            if (to - from <= leaf) {
+                for (int start = from; start < to && found.get() < 0; start += CANCEL_CHECK) {
+                    int index = structure.scan(key, start, Math.min(start + CANCEL_CHECK, to));
+                    if (index >= 0) {
+                        found.compareAndSet(-1, index);
+                        return;
+                    }
+                }
+                return;
+            }
+
+            int mid = split(from, to);
+            invokeAll(new FindTask(structure, key, from, mid, leaf, found),
+                    new FindTask(structure, key, mid, to, leaf, found));
+        }
+    }
+
+    private static final class CountTask extends RecursiveTask<Integer> {
+        private final DataStructure structure;
+        private final SortKey low, high;
+        private final int from, to, leaf;
+
+        CountTask(DataStructure structure, SortKey low, SortKey high, int from, int to, int leaf) {
+            this.structure = structure;
+            this.low = low;
+            this.high = high;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= leaf) {
+                return structure.countInRange(low, high, from, to);
+            }
+
+            int mid = split(from, to);
+            CountTask left = new CountTask(structure, low, high, from, mid, leaf);
+            left.fork();
+            int right = new CountTask(structure, low, high, mid, to, leaf).compute();
+            return left.join() + right;
+        }
+    }
+
+    private static final class RangeTask extends RecursiveTask<int[]> {
+        private final DataStructure structure;
+        private final SortKey low, high;
+        private final int from, to, leaf;
+
+        RangeTask(DataStructure structure, SortKey low, SortKey high, int from, int to, int leaf) {
+            this.structure = structure;
+            this.low = low;
+            this.high = high;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= leaf) {
+                return structure.slotsInRange(low, high, from, to);
+            }
+
+            int mid = split(from, to);
+            RangeTask left = new RangeTask(structure, low, high, from, mid, leaf);
+            left.fork();
+            int[] right = new RangeTask(structure, low, high, mid, to, leaf).compute();
+            int[] leftSlots = left.join();
+
+            int[] slots = new int[leftSlots.length + right.length];
+            System.arraycopy(leftSlots, 0, slots, 0, leftSlots.length);
+            System.arraycopy(right, 0, slots, leftSlots.length, right.length);
+            return slots;
+        }
+    }
+}
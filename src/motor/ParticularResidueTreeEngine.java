@@ -0,0 +1,122 @@
+package motor;
+
+import utils.LogLevel;
+import utils.TreeNode;
+
+/**
+ * Árbol por residuo particular: árbol binario de búsqueda ordenado por el residuo del código
+ * ASCII con un módulo fijo (los residuos iguales van a la derecha). No depende de Swing; la
+ * traza se envía a un StepLogger.
+ */
+public class ParticularResidueTreeEngine {
+    private final StepLogger logger;
+    private TreeNode root;
+
+    public ParticularResidueTreeEngine(StepLogger logger) {
+        this.logger = logger;
+    }
+
+    public void insert(char character, int modulo) {
+        int ascii = (int) character;
+        int residuo = ascii % modulo;
+
+        logger.log(LogLevel.INFO, () -> String.format("Insertando '%c': ASCII=%d, %d %% %d = %d",
+                character, ascii, ascii, modulo, residuo));
+
+        TreeNode newNode = new TreeNode(character);
+        newNode.ascii = ascii;
+
+        // Insertar en ABB basado en el residuo calculado
+        if (root == null) {
+            root = newNode;
+        } else {
+            insertInBST(root, newNode, residuo, modulo);
+        }
+
+        logger.log(LogLevel.INFO, "success",
+                () -> String.format("Carácter '%c' insertado con residuo %d", character, residuo));
+    }
+
+    private void insertInBST(TreeNode node, TreeNode newNode, int newKey, int modulo) {
+        while (true) {
+            // Calcular la clave del nodo actual
+            int currentKey = ((Character) node.data).charValue() % modulo;
+
+            if (newKey < currentKey) {
+                // Insertar a la izquierda
+                if (node.left == null) {
+                    node.left = newNode;
+                    newNode.parent = node;
+                    break;
+                } else {
+                    node = node.left;
+                }
+            } else {
+                // Insertar a la derecha (incluye duplicados)
+                if (node.right == null) {
+                    node.right = newNode;
+                    newNode.parent = node;
+                    break;
+                } else {
+                    node = node.right;
+                }
+            }
+        }
+    }
+
+    // Nodo que contiene el carácter o null si no está en el árbol
+    public TreeNode search(char character, int modulo) {
+        if (root == null) return null;
+
+        int residuo = (int) character % modulo;
+
+        logger.log(LogLevel.INFO, () -> String.format("Buscando '%c': residuo %d", character, residuo));
+
+        return searchInBST(root, character, residuo, modulo);
+    }
+
+    private TreeNode searchInBST(TreeNode node, char target, int targetKey, int modulo) {
+        if (node == null || node.data == null) return null;
+
+        // Verificar si es el nodo buscado
+        if (node.data instanceof Character && ((Character) node.data).charValue() == target) {
+            return node;
+        }
+
+        // Calcular la clave del nodo actual
+        int nodeKey = ((Character) node.data).charValue() % modulo;
+
+        if (targetKey < nodeKey) {
+            return searchInBST(node.left, target, targetKey, modulo);
+        } else if (targetKey > nodeKey) {
+            return searchInBST(node.right, target, targetKey, modulo);
+        } else {
+            // Misma clave, buscar en ambos lados por si hay duplicados
+            TreeNode leftResult = searchInBST(node.left, target, targetKey, modulo);
+            if (leftResult != null) return leftResult;
+            return searchInBST(node.right, target, targetKey, modulo);
+        }
+    }
+
+    // Implementación simplificada: el nodo queda marcado como eliminado sin reestructurar el ABB
+    public boolean delete(char character, int modulo) {
+        TreeNode nodeToDelete = search(character, modulo);
+
+        if (nodeToDelete == null) {
+            return false;
+        }
+
+        nodeToDelete.data = null;
+
+        logger.log(LogLevel.INFO, () -> String.format("Nodo '%c' marcado como eliminado", character));
+        return true;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    public TreeNode getRoot() {
+        return root;
+    }
+}
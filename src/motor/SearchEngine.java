@@ -0,0 +1,248 @@
+package motor;
+
+import utils.CompactKeys;
+import utils.DataStructure;
+import utils.EytzingerLayout;
+import utils.NumericKeyStore;
+import utils.SearchMode;
+import utils.SortKey;
+
+import java.util.List;
+
+/**
+ * Búsquedas lineal (secuencial o por tramos), binaria, por interpolación y exponencial sobre una DataStructure sin depender de Swing.
+ * Cada búsqueda puede registrar sus pasos en una lista para mostrarlos después.
+ */
+public class SearchEngine {
+
+    private SearchEngine() {
+    }
+
+    /**
+     * Recorre las posiciones en orden y devuelve el índice (desde 0) de la clave o -1.
+     * Si steps no es null se agregan los índices visitados (desde 1).
+     */
+    public static int linearSearch(DataStructure structure, String key, List<Integer> steps) {
+        for (int i = 0; i < structure.getSize(); i++) {
+            if (steps != null) {
+                steps.add(i + 1); // Guardar paso para logging
+            }
+
+            if (structure.containsAt(i, key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Búsqueda lineal por tramos de NumericKeyStore.LANES claves (ver DataStructure.scan).
+     * Devuelve el índice (desde 0) de la clave o -1; si chunks no es null se agrega el inicio
+     * (desde 1) de cada tramo comparado.
+     */
+    public static int chunkedLinearSearch(DataStructure structure, String key, List<Integer> chunks) {
+        int index = structure.scan(key);
+
+        if (chunks != null) {
+            // El recorrido es fijo: todos los tramos hasta el que contiene la clave (o hasta el final)
+            int last = index >= 0 ? index : structure.getSize() - 1;
+            for (int start = 0; start <= last; start += NumericKeyStore.LANES) {
+                chunks.add(start + 1);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Búsqueda sobre claves ordenadas con la estrategia indicada.
+     * Devuelve el índice (desde 0) de la clave o -1; si steps no es null se agrega cada comparación.
+     */
+    public static int search(SearchMode mode, DataStructure structure, String key, List<BinaryStep> steps) {
+        switch (mode) {
+            case INTERPOLATION:
+                return interpolationSearch(structure, key, steps);
+            case EXPONENTIAL:
+                return exponentialSearch(structure, key, steps);
+            case EYTZINGER:
+                return eytzingerSearch(structure, key, steps);
+            default:
+                return binarySearch(structure, key, steps);
+        }
+    }
+
+    /**
+     * Búsqueda binaria sobre las posiciones ocupadas (la estructura debe estar ordenada).
+     * Devuelve el índice (desde 0) de la clave o -1; si steps no es null se agrega cada comparación.
+     */
+    public static int binarySearch(DataStructure structure, String key, List<BinaryStep> steps) {
+        // Posiciones ocupadas, en orden (se reutilizan mientras la estructura no cambie)
+        int[] slots = structure.getCompactKeys().slots;
+
+        // La clave buscada se normaliza una sola vez
+        return binarySearch(structure, slots, SortKey.of(key), 0, slots.length - 1, steps);
+    }
+
+    /**
+     * Búsqueda por interpolación: estima la posición según el valor de la clave, así que con
+     * claves numéricas casi uniformes hace muy pocas comparaciones. Requiere que todas las
+     * claves sean numéricas; si no lo son se usa la búsqueda binaria.
+     */
+    public static int interpolationSearch(DataStructure structure, String key, List<BinaryStep> steps) {
+        CompactKeys keys = structure.getCompactKeys();
+        if (!keys.isNumeric()) {
+            return binarySearch(structure, key, steps);
+        }
+
+        long target = NumericKeyStore.parse(key, structure.getKeyLength());
+        if (target < 0) {
+            return -1;
+        }
+
+        long[] numbers = keys.numbers;
+        int[] slots = keys.slots;
+        int left = 0;
+        int right = numbers.length - 1;
+
+        while (left <= right && target >= numbers[left] && target <= numbers[right]) {
+            int probe = left;
+            if (numbers[right] != numbers[left]) {
+                // Proporción del rango de valores trasladada al rango de posiciones
+                double fraction = (double) (target - numbers[left]) / (numbers[right] - numbers[left]);
+                probe = left + (int) (fraction * (right - left));
+            }
+
+            long value = numbers[probe];
+            int cmp = Long.compare(value, target);
+            if (steps != null) {
+                steps.add(new BinaryStep(slots[left] + 1, slots[probe] + 1, slots[right] + 1,
+                        structure.getAt(slots[probe]).toString(), describe(cmp)));
+            }
+
+            if (cmp == 0) {
+                return slots[probe];
+            } else if (cmp < 0) {
+                left = probe + 1;
+            } else {
+                right = probe - 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Búsqueda exponencial: compara en las posiciones 1, 2, 4, 8... hasta pasar la clave y
+     * termina con búsqueda binaria en el último tramo. Conviene cuando la clave está cerca del inicio.
+     */
+    public static int exponentialSearch(DataStructure structure, String key, List<BinaryStep> steps) {
+        int[] slots = structure.getCompactKeys().slots;
+        int n = slots.length;
+        if (n == 0) {
+            return -1;
+        }
+
+        SortKey target = SortKey.of(key);
+        int left = 0;
+        int bound = 0;
+
+        while (bound < n) {
+            int cmp = structure.compareAt(slots[bound], target);
+            if (steps != null) {
+                steps.add(new BinaryStep(slots[left] + 1, slots[bound] + 1, slots[n - 1] + 1,
+                        structure.getAt(slots[bound]).toString(),
+                        cmp < 0 ? "MENOR - duplicar el salto" : describe(cmp)));
+            }
+
+            if (cmp == 0) {
+                return slots[bound];
+            } else if (cmp > 0) {
+                return binarySearch(structure, slots, target, left, bound - 1, steps);
+            }
+
+            left = bound + 1;
+            bound = bound == 0 ? 1 : (bound <= (n >>> 1) ? bound << 1 : n);
+        }
+
+        return binarySearch(structure, slots, target, left, n - 1, steps);
+    }
+
+    /**
+     * Búsqueda sobre la copia congelada en orden Eytzinger (ver EytzingerLayout): una comparación
+     * por nivel, sin saltos condicionales. Requiere claves numéricas; si no lo son se usa la binaria.
+     * Con steps se recorre el mismo camino registrando cada nodo (left y right quedan en 0).
+     */
+    public static int eytzingerSearch(DataStructure structure, String key, List<BinaryStep> steps) {
+        EytzingerLayout layout = structure.getEytzingerLayout();
+        if (layout == null) {
+            return binarySearch(structure, key, steps);
+        }
+
+        long target = NumericKeyStore.parse(key, structure.getKeyLength());
+        if (target < 0) {
+            return -1;
+        }
+        if (steps == null) {
+            return layout.search(target);
+        }
+
+        int found = -1;
+        for (int node = 1; node <= layout.length(); ) {
+            int cmp = Long.compare(layout.keyAt(node), target);
+            int slot = layout.slotAt(node);
+            steps.add(new BinaryStep(0, slot + 1, 0, structure.getAt(slot).toString(), describe(cmp)));
+            if (cmp == 0) {
+                found = slot;
+            }
+            node = 2 * node + (cmp < 0 ? 1 : 0);
+        }
+        return found;
+    }
+
+    private static int binarySearch(DataStructure structure, int[] slots, SortKey target,
+                                    int left, int right, List<BinaryStep> steps) {
+        while (left <= right) {
+            int mid = (left + right) >>> 1;
+            int actualIndex = slots[mid];
+            int cmp = structure.compareAt(actualIndex, target);
+
+            // Guardar paso para logging
+            if (steps != null) {
+                steps.add(new BinaryStep(slots[left] + 1, actualIndex + 1, slots[right] + 1,
+                        structure.getAt(actualIndex).toString(), describe(cmp)));
+            }
+
+            if (cmp == 0) {
+                return actualIndex;
+            } else if (cmp < 0) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static String describe(int cmp) {
+        if (cmp == 0) {
+            return "ENCONTRADO";
+        }
+        return cmp < 0 ? "MENOR - buscar a la derecha" : "MAYOR - buscar a la izquierda";
+    }
+
+    // Un paso de la búsqueda binaria (índices desde 1, como se muestran en el terminal)
+    public static class BinaryStep {
+        public final int left, mid, right;
+        public final String value;
+        public final String comparison;
+
+        public BinaryStep(int left, int mid, int right, String value, String comparison) {
+            this.left = left;
+            this.mid = mid;
+            this.right = right;
+            this.value = value;
+            this.comparison = comparison;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package motor;
+
+import utils.LogLevel;
+
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+/**
+ * Destino de la traza paso a paso de los motores. Las ventanas la envían a su terminal;
+ * desde consola o pruebas puede escribirse en un flujo o descartarse.
+ */
+public interface StepLogger {
+    StepLogger NONE = new StepLogger() {
+        @Override
+        public boolean isLoggable(LogLevel level) {
+            return false;
+        }
+
+        @Override
+        public void log(LogLevel level, String type, Supplier<String> message) {
+        }
+    };
+
+    boolean isLoggable(LogLevel level);
+
+    // El mensaje solo se construye si el nivel está activo
+    void log(LogLevel level, String type, Supplier<String> message);
+
+    default void log(LogLevel level, Supplier<String> message) {
+        log(level, level.getType(), message);
+    }
+
+    default void trace(Supplier<String> message) {
+        log(LogLevel.TRACE, message);
+    }
+
+    // Escribe en el flujo los mensajes de nivel mayor o igual a minLevel
+    static StepLogger toStream(PrintStream out, LogLevel minLevel) {
+        return new StepLogger() {
+            @Override
+            public boolean isLoggable(LogLevel level) {
+                return minLevel.includes(level);
+            }
+
+            @Override
+            public void log(LogLevel level, String type, Supplier<String> message) {
+                if (isLoggable(level)) {
+                    out.println("[" + level.name() + "] " + message.get());
+                }
+            }
+        };
+    }
+}
@@ -1,18 +1,36 @@
 package utils;
 
+import motor.StepLogger;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
 
 public abstract class AlgorithmWindow extends JDialog {
     protected JPanel mainPanel;
     protected JTextArea terminalArea;
     protected JScrollPane terminalScroll;
+    private TerminalLogSink logSink;
+    private JComboBox<LogLevel> verbosityCombo;
+    // Nivel mínimo que llega al terminal; por defecto se muestra todo
+    private volatile LogLevel verbosity = LogLevel.TRACE;
     protected DataStructure structure;
     protected JPanel visualizationPanel;
+    private ArrayVisualization arrayVisualization;
+    private JScrollPane arrayScroll;
+    protected JProgressBar bulkProgressBar;
+    private volatile boolean bulkInsertRunning;
+    // Exportar, importar, resetear y cerrar: se deshabilitan durante la carga masiva
+    private final List<JButton> baseButtons = new ArrayList<>();
+
+    protected interface KeyInserter {
+        void insert(String key) throws Exception;
+    }
 
     public AlgorithmWindow(JFrame parent, String title) {
         super(parent, title, true);
@@ -40,6 +58,7 @@ public abstract class AlgorithmWindow extends JDialog {
         terminalArea.setEditable(false);
         terminalArea.setLineWrap(true);
         terminalArea.setWrapStyleWord(true);
+        logSink = new TerminalLogSink(terminalArea);
 
         terminalScroll = new JScrollPane(terminalArea);
         terminalScroll.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
@@ -50,6 +69,11 @@ public abstract class AlgorithmWindow extends JDialog {
         visualizationPanel.setBackground(new Color(248, 249, 250));
         visualizationPanel.setBorder(BorderFactory.createTitledBorder("Visualización"));
         visualizationPanel.setPreferredSize(new Dimension(600, 200));
+
+        // Progreso de carga masiva
+        bulkProgressBar = new JProgressBar(0, 100);
+        bulkProgressBar.setStringPainted(true);
+        bulkProgressBar.setVisible(false);
     }
 
     private void setupLayout() {
@@ -68,6 +92,7 @@ public abstract class AlgorithmWindow extends JDialog {
         // Panel inferior con terminal y botones
         JPanel bottomPanel = new JPanel(new BorderLayout());
         bottomPanel.setBackground(Constants.BACKGROUND_COLOR);
+        bottomPanel.add(bulkProgressBar, BorderLayout.NORTH);
         bottomPanel.add(terminalScroll, BorderLayout.CENTER);
         bottomPanel.add(createButtonPanel(), BorderLayout.SOUTH);
 
@@ -88,6 +113,11 @@ public abstract class AlgorithmWindow extends JDialog {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         buttonPanel.setBackground(Constants.BACKGROUND_COLOR);
 
+        verbosityCombo = new JComboBox<>(LogLevel.values());
+        verbosityCombo.setSelectedItem(verbosity);
+        verbosityCombo.setToolTipText("Nivel mínimo de los mensajes del terminal");
+        verbosityCombo.addActionListener(e -> verbosity = (LogLevel) verbosityCombo.getSelectedItem());
+
         JButton exportButton = createStyledButton("Exportar CSV", Constants.INFO_COLOR);
         JButton importButton = createStyledButton("Importar CSV", Constants.INFO_COLOR);
         JButton resetButton = createStyledButton("Resetear", Constants.WARNING_COLOR);
@@ -97,7 +127,10 @@ public abstract class AlgorithmWindow extends JDialog {
         importButton.addActionListener(e -> importFromCSV());
         resetButton.addActionListener(e -> resetAll());
         closeButton.addActionListener(e -> dispose());
+        Collections.addAll(baseButtons, exportButton, importButton, resetButton, closeButton);
 
+        buttonPanel.add(new JLabel("Detalle:"));
+        buttonPanel.add(verbosityCombo);
         buttonPanel.add(exportButton);
         buttonPanel.add(importButton);
         buttonPanel.add(resetButton);
@@ -132,14 +165,183 @@ public abstract class AlgorithmWindow extends JDialog {
     }
 
     protected void logToTerminal(String message, String type) {
-        String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+        if (isLoggable(LogLevel.fromType(type))) {
+            appendToTerminal(message, type);
+        }
+    }
+
+    // El mensaje solo se construye si el nivel está activo
+    protected void log(LogLevel level, Supplier<String> message) {
+        log(level, level.getType(), message);
+    }
+
+    protected void log(LogLevel level, String type, Supplier<String> message) {
+        if (isLoggable(level)) {
+            appendToTerminal(message.get(), type);
+        }
+    }
+
+    protected void trace(Supplier<String> message) {
+        log(LogLevel.TRACE, message);
+    }
+
+    protected boolean isLoggable(LogLevel level) {
+        // Mientras hay una carga masiva, los mensajes del hilo de trabajo no llegan al terminal
+        if (bulkInsertRunning && !SwingUtilities.isEventDispatchThread()) {
+            return false;
+        }
+        return verbosity.includes(level);
+    }
+
+    // Traza de los motores (paquete motor) dirigida al terminal de la ventana
+    protected StepLogger getStepLogger() {
+        return new StepLogger() {
+            @Override
+            public boolean isLoggable(LogLevel level) {
+                return AlgorithmWindow.this.isLoggable(level);
+            }
+
+            @Override
+            public void log(LogLevel level, String type, Supplier<String> message) {
+                AlgorithmWindow.this.log(level, type, message);
+            }
+        };
+    }
+
+    protected LogLevel getVerbosity() {
+        return verbosity;
+    }
+
+    protected void setVerbosity(LogLevel verbosity) {
+        this.verbosity = verbosity;
+        verbosityCombo.setSelectedItem(verbosity);
+    }
+
+    private void appendToTerminal(String message, String type) {
         String icon = getIconForType(type);
-        String formattedMessage = String.format("[%s] %s %s\n", timestamp, icon, message);
+        logSink.log("[" + TerminalLogSink.timestamp() + "] " + icon + " " + message + "\n");
+    }
+
+    // Vacía el terminal descartando también los mensajes aún no mostrados
+    protected void clearTerminal() {
+        logSink.clear();
+    }
+
+    // Contenido del terminal incluyendo los mensajes pendientes de mostrar
+    protected String getTerminalText() {
+        logSink.flush();
+        return terminalArea.getText();
+    }
 
-        SwingUtilities.invokeLater(() -> {
-            terminalArea.append(formattedMessage);
-            terminalArea.setCaretPosition(terminalArea.getDocument().getLength());
+    protected void setTerminalMaxLines(int maxLines) {
+        logSink.setMaxLines(maxLines);
+    }
+
+    @Override
+    public void dispose() {
+        // El hilo de la carga masiva sigue modificando la estructura: no cerrar hasta que termine
+        if (bulkInsertRunning) {
+            logToTerminal("Espere a que termine la carga masiva para cerrar la ventana", "warning");
+            return;
+        }
+        logSink.stop();
+        super.dispose();
+    }
+
+    /**
+     * Carga masiva: pide el origen de las claves y las inserta en segundo plano con un
+     * SwingWorker, mostrando el progreso. Al terminar registra un resumen y ejecuta
+     * onFinish en el hilo de eventos (ahí la ventana repinta una sola vez).
+     */
+    protected void runBulkInsert(int keyLength, KeyInserter inserter, Runnable onFinish) {
+        BulkInsertDialog.KeySource source = new BulkInsertDialog(this, keyLength).showDialog();
+        if (source == null) {
+            onFinish.run();
+            return;
+        }
+
+        final int maxReportedErrors = 5;
+        long startTime = System.currentTimeMillis();
+
+        SwingWorker<int[], Void> worker = new SwingWorker<int[], Void>() {
+            private final List<String> errors = new ArrayList<>();
+
+            @Override
+            protected int[] doInBackground() throws Exception {
+                List<String> keys = source.load();
+                int inserted = 0;
+                int failed = 0;
+
+                for (int i = 0; i < keys.size(); i++) {
+                    String key = keys.get(i);
+                    try {
+                        if (key.length() != keyLength) {
+                            throw new Exception(String.format("La clave debe tener %d dígitos", keyLength));
+                        }
+                        inserter.insert(key);
+                        inserted++;
+                    } catch (Exception ex) {
+                        failed++;
+                        if (errors.size() < maxReportedErrors) {
+                            errors.add(String.format("'%s': %s", key, ex.getMessage()));
+                        }
+                    }
+
+                    if ((i & 1023) == 0) {
+                        setProgress((int) ((long) i * 100 / keys.size()));
+                    }
+                }
+
+                setProgress(100);
+                return new int[]{inserted, failed};
+            }
+
+            @Override
+            protected void done() {
+                bulkInsertRunning = false;
+                bulkProgressBar.setVisible(false);
+                setBaseButtonsEnabled(true);
+                // La estructura ya no cambia: se vuelve a enlazar la vista
+                updateVisualization();
+
+                try {
+                    int[] counts = get();
+                    logToTerminal(String.format("Carga masiva: %d claves insertadas, %d rechazadas (%d ms)",
+                            counts[0], counts[1], System.currentTimeMillis() - startTime), "success");
+                    for (String error : errors) {
+                        logToTerminal("Rechazada " + error, "warning");
+                    }
+                    if (counts[1] > errors.size()) {
+                        logToTerminal(String.format("... y %d rechazos más", counts[1] - errors.size()), "warning");
+                    }
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    logToTerminal("Error en carga masiva: " + cause.getMessage(), "error");
+                }
+
+                onFinish.run();
+            }
+        };
+
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                bulkProgressBar.setValue((Integer) evt.getNewValue());
+            }
         });
+
+        logToTerminal("Carga masiva iniciada en segundo plano...", "info");
+        bulkProgressBar.setValue(0);
+        bulkProgressBar.setVisible(true);
+        bulkInsertRunning = true;
+        setBaseButtonsEnabled(false);
+        detachVisualization();
+        worker.execute();
+    }
+
+    private void setBaseButtonsEnabled(boolean enabled) {
+        for (JButton button : baseButtons) {
+            button.setEnabled(enabled);
+        }
     }
 
     private String getIconForType(String type) {
@@ -153,58 +355,67 @@ public abstract class AlgorithmWindow extends JDialog {
     }
 
     protected void updateVisualization() {
+        // Durante la carga masiva la vista queda desenlazada hasta done()
+        if (bulkInsertRunning) {
+            return;
+        }
         if (structure == null || !structure.isInitialized()) {
             showEmptyVisualization();
             return;
         }
 
-        visualizationPanel.removeAll();
-        visualizationPanel.setLayout(new FlowLayout(FlowLayout.LEFT, 5, 5));
+        if (arrayVisualization == null) {
+            arrayVisualization = new ArrayVisualization();
+            arrayScroll = new JScrollPane(arrayVisualization);
+            arrayScroll.setBorder(BorderFactory.createEmptyBorder());
+        }
 
-        Object[] data = structure.getData();
-        for (int i = 0; i < data.length; i++) {
-            JPanel itemPanel = createVisualizationItem(i + 1, data[i]);
-            visualizationPanel.add(itemPanel);
+        if (arrayScroll.getParent() != visualizationPanel) {
+            visualizationPanel.removeAll();
+            visualizationPanel.setLayout(new BorderLayout());
+            visualizationPanel.add(arrayScroll, BorderLayout.CENTER);
+            visualizationPanel.revalidate();
+            visualizationPanel.repaint();
         }
 
-        visualizationPanel.revalidate();
-        visualizationPanel.repaint();
+        // Solo se repintan las posiciones que cambiaron desde la última actualización
+        arrayVisualization.setStructure(structure);
+        arrayVisualization.flushChanges();
     }
 
-    private JPanel createVisualizationItem(int index, Object value) {
-        JPanel item = new JPanel(new BorderLayout());
-        item.setPreferredSize(new Dimension(60, 40));
-        item.setBorder(BorderFactory.createLineBorder(Constants.TEXT_COLOR, 1));
-
-        if (value == null) {
-            item.setBackground(Constants.BACKGROUND_COLOR);
-        } else {
-            item.setBackground(Constants.SUCCESS_COLOR);
+    // Resalta una posición (base 0) de la estructura y la desplaza a la vista
+    protected void highlightSlot(int index) {
+        updateVisualization();
+        if (arrayVisualization != null && arrayScroll.getParent() == visualizationPanel) {
+            arrayVisualization.highlight(index);
         }
+    }
 
-        JLabel indexLabel = new JLabel(String.valueOf(index), SwingConstants.CENTER);
-        indexLabel.setFont(new Font("Arial", Font.BOLD, 10));
-        indexLabel.setForeground(Constants.TEXT_COLOR);
-
-        JLabel valueLabel = new JLabel(value == null ? "---" : value.toString(), SwingConstants.CENTER);
-        valueLabel.setFont(Constants.BODY_FONT);
-        valueLabel.setForeground(value == null ? Constants.TEXT_COLOR : Color.WHITE);
-
-        item.add(indexLabel, BorderLayout.NORTH);
-        item.add(valueLabel, BorderLayout.CENTER);
-
-        return item;
+    /**
+     * La estructura no es segura entre hilos: mientras el SwingWorker inserta (y puede
+     * rehacer la tabla) la vista deja de leerla y de recibir avisos, y en su lugar se
+     * muestra un aviso. updateVisualization() la vuelve a enlazar al terminar.
+     */
+    private void detachVisualization() {
+        if (arrayVisualization != null) {
+            arrayVisualization.setStructure(null);
+        }
+        showVisualizationMessage("Carga masiva en curso: la vista se actualizará al terminar");
     }
 
     private void showEmptyVisualization() {
+        showVisualizationMessage("Inicialice la estructura para comenzar");
+    }
+
+    private void showVisualizationMessage(String message) {
         visualizationPanel.removeAll();
         visualizationPanel.setLayout(new BorderLayout());
 
-        JLabel emptyLabel = new JLabel("Inicialice la estructura para comenzar", SwingConstants.CENTER);
-        emptyLabel.setFont(Constants.SUBTITLE_FONT);
-        emptyLabel.setForeground(Constants.TEXT_COLOR);
+        JLabel messageLabel = new JLabel(message, SwingConstants.CENTER);
+        messageLabel.setFont(Constants.SUBTITLE_FONT);
+        messageLabel.setForeground(Constants.TEXT_COLOR);
 
-        visualizationPanel.add(emptyLabel, BorderLayout.CENTER);
+        visualizationPanel.add(messageLabel, BorderLayout.CENTER);
         visualizationPanel.revalidate();
         visualizationPanel.repaint();
     }
@@ -0,0 +1,239 @@
+package utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.BitSet;
+
+/**
+ * Vista de las posiciones de una DataStructure dibujada en un solo componente.
+ * Solo se pintan las celdas dentro del área visible y, tras una inserción o
+ * eliminación, solo se repintan las celdas que la estructura marcó como cambiadas.
+ */
+public class ArrayVisualization extends JPanel implements Scrollable, DataStructure.ChangeListener {
+    private static final int CELL_WIDTH = 60;
+    private static final int CELL_HEIGHT = 40;
+    private static final int CELL_GAP = 5;
+    private static final Font INDEX_FONT = new Font("Arial", Font.BOLD, 10);
+    // Con más celdas sucias que esto sale más barato repintar todo lo visible
+    private static final int MAX_DIRTY_CELLS = 256;
+
+    private DataStructure structure;
+    private volatile int highlightIndex = -1;
+
+    // Cambios pendientes de repintar (la estructura puede avisar desde otro hilo)
+    private final Object dirtyLock = new Object();
+    private final BitSet dirtyCells = new BitSet();
+    private boolean fullRepaint;
+
+    public ArrayVisualization() {
+        setBackground(new Color(248, 249, 250));
+        setOpaque(true);
+    }
+
+    public void setStructure(DataStructure structure) {
+        if (this.structure == structure) {
+            return;
+        }
+        if (this.structure != null) {
+            this.structure.setChangeListener(null);
+        }
+
+        this.structure = structure;
+        this.highlightIndex = -1;
+        if (structure != null) {
+            structure.setChangeListener(this);
+        }
+        structureChanged();
+    }
+
+    public DataStructure getStructure() {
+        return structure;
+    }
+
+    @Override
+    public void slotChanged(int index) {
+        synchronized (dirtyLock) {
+            if (index == highlightIndex) {
+                highlightIndex = -1;
+            }
+            dirtyCells.set(index);
+        }
+    }
+
+    @Override
+    public void structureChanged() {
+        synchronized (dirtyLock) {
+            dirtyCells.clear();
+            fullRepaint = true;
+        }
+    }
+
+    // Repinta lo acumulado desde la última llamada (hilo de eventos)
+    public void flushChanges() {
+        boolean full;
+        BitSet dirty;
+        synchronized (dirtyLock) {
+            full = fullRepaint || dirtyCells.cardinality() > MAX_DIRTY_CELLS;
+            dirty = full ? null : (BitSet) dirtyCells.clone();
+            dirtyCells.clear();
+            fullRepaint = false;
+        }
+
+        if (full) {
+            revalidate();
+            repaint();
+            return;
+        }
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            repaint(getCellBounds(i));
+        }
+    }
+
+    public void highlight(int index) {
+        int previous = highlightIndex;
+        highlightIndex = index;
+
+        if (previous >= 0) {
+            repaint(getCellBounds(previous));
+        }
+        if (index >= 0) {
+            Rectangle bounds = getCellBounds(index);
+            repaint(bounds);
+            scrollRectToVisible(bounds);
+        }
+    }
+
+    public Rectangle getCellBounds(int index) {
+        int columns = getColumns();
+        int x = CELL_GAP + (index % columns) * (CELL_WIDTH + CELL_GAP);
+        int y = CELL_GAP + (index / columns) * (CELL_HEIGHT + CELL_GAP);
+        return new Rectangle(x, y, CELL_WIDTH, CELL_HEIGHT);
+    }
+
+    private int getColumns() {
+        int width = getParent() instanceof JViewport ? getParent().getWidth() : getWidth();
+        return Math.max(1, (width - CELL_GAP) / (CELL_WIDTH + CELL_GAP));
+    }
+
+    private int getCellCount() {
+        return structure != null && structure.isInitialized() ? structure.getSize() : 0;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int columns = getColumns();
+        int rows = (getCellCount() + columns - 1) / columns;
+        return new Dimension(columns * (CELL_WIDTH + CELL_GAP) + CELL_GAP,
+                rows * (CELL_HEIGHT + CELL_GAP) + CELL_GAP);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        int count = getCellCount();
+        if (count == 0) {
+            return;
+        }
+
+        Graphics2D g2d = (Graphics2D) g.create();
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+
+        // Solo las filas y columnas que cortan el área a repintar
+        int columns = getColumns();
+        int rowHeight = CELL_HEIGHT + CELL_GAP;
+        int columnWidth = CELL_WIDTH + CELL_GAP;
+        int firstRow = Math.max(0, (clip.y - CELL_GAP) / rowHeight);
+        int lastRow = (clip.y + clip.height - CELL_GAP) / rowHeight;
+        int firstColumn = Math.max(0, (clip.x - CELL_GAP) / columnWidth);
+        int lastColumn = Math.min(columns - 1, (clip.x + clip.width - CELL_GAP) / columnWidth);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int index = row * columns + column;
+                if (index >= count) {
+                    break;
+                }
+                paintCell(g2d, index, CELL_GAP + column * columnWidth, CELL_GAP + row * rowHeight);
+            }
+        }
+
+        g2d.dispose();
+    }
+
+    private void paintCell(Graphics2D g2d, int index, int x, int y) {
+        boolean deleted = structure.isDeleted(index);
+        Object value = structure.getAt(index);
+
+        if (deleted) {
+            g2d.setColor(Constants.WARNING_COLOR);
+        } else if (value == null) {
+            g2d.setColor(Constants.BACKGROUND_COLOR);
+        } else {
+            g2d.setColor(Constants.SUCCESS_COLOR);
+        }
+        g2d.fillRect(x, y, CELL_WIDTH, CELL_HEIGHT);
+
+        if (index == highlightIndex) {
+            g2d.setColor(Constants.PRIMARY_COLOR);
+            g2d.setStroke(new BasicStroke(3));
+            g2d.drawRect(x + 1, y + 1, CELL_WIDTH - 3, CELL_HEIGHT - 3);
+            g2d.setStroke(new BasicStroke(1));
+        } else {
+            g2d.setColor(Constants.TEXT_COLOR);
+            g2d.drawRect(x, y, CELL_WIDTH - 1, CELL_HEIGHT - 1);
+        }
+
+        // Índice arriba, valor al centro
+        g2d.setFont(INDEX_FONT);
+        g2d.setColor(Constants.TEXT_COLOR);
+        drawCentered(g2d, String.valueOf(index + 1), x, y + 12);
+
+        String valueText = deleted ? "DEL" : (value == null ? "---" : value.toString());
+        g2d.setFont(Constants.BODY_FONT);
+        g2d.setColor(value == null ? Constants.TEXT_COLOR : Color.WHITE);
+        drawCentered(g2d, valueText, x, y + 30);
+    }
+
+    private void drawCentered(Graphics2D g2d, String text, int cellX, int baseline) {
+        FontMetrics fm = g2d.getFontMetrics();
+        int maxWidth = CELL_WIDTH - 4;
+
+        if (fm.stringWidth(text) > maxWidth) {
+            while (text.length() > 1 && fm.stringWidth(text + "…") > maxWidth) {
+                text = text.substring(0, text.length() - 1);
+            }
+            text = text + "…";
+        }
+        g2d.drawString(text, cellX + (CELL_WIDTH - fm.stringWidth(text)) / 2, baseline);
+    }
+
+    // Scrollable: el ancho sigue al visor y las filas se reparten en vertical
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(600, 200);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? CELL_HEIGHT + CELL_GAP : CELL_WIDTH + CELL_GAP;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
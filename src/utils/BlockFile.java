@@ -0,0 +1,463 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Estructura por bloques guardada en un archivo: cada bloque es una página de tamaño fijo
+ * (elementsPerBlock claves de keyLength bytes, o el tamaño en bytes de la BlockGeometry)
+ * dentro de regiones mapeadas en memoria, así que
+ * el archivo puede ser mucho mayor que el heap y las búsquedas leen las claves directamente
+ * de las páginas sin crear objetos. Ofrece el mismo API que BlockStructure (insertAt, getAt,
+ * remove, linearSearch, binarySearch) y devuelve sus mismos SearchResult.
+ *
+ * Las claves se guardan en ASCII con exactamente keyLength caracteres; una posición vacía
+ * empieza con el byte 0. Las comparaciones son por bytes, que para claves de dígitos de igual
+ * longitud coincide con el orden de SortKey.
+ */
+public class BlockFile implements Closeable {
+    private static final int MAGIC = 0x424C4B31; // "BLK1"
+    // La cabecera ocupa una página de 4 KiB para que los bloques empiecen alineados
+    private static final int HEADER_SIZE = 4096;
+    // Tamaño máximo de cada región mapeada (un MappedByteBuffer no pasa de 2 GiB)
+    private static final long MAX_REGION = 1L << 30;
+    private static final int SORTED_OFFSET = 20;
+    // Bytes por página; 0 en archivos anteriores, donde la página mide elementsPerBlock * keyLength
+    private static final int PAGE_SIZE_OFFSET = 24;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] regions;
+    private final int totalElements;
+    private final int keyLength;
+    private final int numBlocks;
+    private final int elementsPerBlock;
+    private final int lastBlockSize;
+    private final int pageSize;
+    private final int blocksPerRegion;
+    private boolean sorted;
+
+    private BlockFile(RandomAccessFile file, int totalElements, int keyLength, int numBlocks,
+                      int elementsPerBlock, int pageSize) throws IOException {
+        this.file = file;
+        this.channel = file.getChannel();
+        this.totalElements = totalElements;
+        this.keyLength = keyLength;
+        this.numBlocks = numBlocks;
+        this.elementsPerBlock = elementsPerBlock;
+        // En archivos anteriores el resto de n no tenía bloque: el último queda completo
+        this.lastBlockSize = Math.min(elementsPerBlock, totalElements - (numBlocks - 1) * elementsPerBlock);
+        this.pageSize = pageSize > 0 ? pageSize : elementsPerBlock * keyLength;
+        this.blocksPerRegion = (int) Math.max(1, MAX_REGION / this.pageSize);
+
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.regions = new MappedByteBuffer[(numBlocks + blocksPerRegion - 1) / blocksPerRegion];
+        for (int i = 0; i < regions.length; i++) {
+            int blocks = Math.min(blocksPerRegion, numBlocks - i * blocksPerRegion);
+            regions[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_SIZE + (long) i * blocksPerRegion * this.pageSize, (long) blocks * this.pageSize);
+        }
+    }
+
+    // Crea el archivo con la distribución clásica de BlockStructure (√n bloques)
+    public static BlockFile create(File path, int totalElements, int keyLength) throws Exception {
+        return create(path, BlockGeometry.of(BlockSizing.SQRT, totalElements, keyLength, 1));
+    }
+
+    /**
+     * Crea (o reemplaza) el archivo con la geometría indicada: una página de blockBytes por
+     * bloque, también para el último aunque sea parcial. El archivo se extiende sin escribir
+     * las páginas, que quedan vacías.
+     */
+    public static BlockFile create(File path, BlockGeometry geometry) throws Exception {
+        int numBlocks = geometry.getNumBlocks();
+        int pageSize = geometry.getBlockBytes();
+
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+        file.setLength(0);
+        file.setLength(HEADER_SIZE + (long) numBlocks * pageSize);
+
+        BlockFile blockFile = new BlockFile(file, geometry.getTotalElements(), geometry.getKeyLength(),
+                numBlocks, geometry.getElementsPerBlock(), pageSize);
+        blockFile.header.putInt(0, MAGIC);
+        blockFile.header.putInt(4, geometry.getTotalElements());
+        blockFile.header.putInt(8, geometry.getKeyLength());
+        blockFile.header.putInt(12, numBlocks);
+        blockFile.header.putInt(16, geometry.getElementsPerBlock());
+        blockFile.header.putInt(PAGE_SIZE_OFFSET, pageSize);
+        blockFile.setSorted(true);
+        return blockFile;
+    }
+
+    public static BlockFile open(File path) throws Exception {
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+        try {
+            if (file.length() < HEADER_SIZE || file.readInt() != MAGIC) {
+                throw new Exception("El archivo no es un archivo de bloques");
+            }
+            int totalElements = file.readInt();
+            int keyLength = file.readInt();
+            int numBlocks = file.readInt();
+            int elementsPerBlock = file.readInt();
+            file.seek(SORTED_OFFSET);
+            boolean sorted = file.readByte() != 0;
+            file.seek(PAGE_SIZE_OFFSET);
+            int pageSize = file.readInt();
+
+            BlockFile blockFile = new BlockFile(file, totalElements, keyLength, numBlocks, elementsPerBlock, pageSize);
+            blockFile.sorted = sorted;
+            return blockFile;
+        } catch (Exception ex) {
+            file.close();
+            throw ex;
+        }
+    }
+
+    // Copia una BlockStructure (posición por posición y con su geometría) a un archivo nuevo
+    public static BlockFile copyOf(BlockStructure structure, File path) throws Exception {
+        BlockFile blockFile = create(path, structure.getGeometry());
+        for (int i = 0; i < structure.getNumBlocks(); i++) {
+            for (int j = 0; j < structure.getBlockSize(i); j++) {
+                Object key = structure.getAt(i, j);
+                if (key != null) {
+                    blockFile.write(i, j, encode(key, blockFile.keyLength));
+                }
+            }
+        }
+        blockFile.setSorted(structure.isSorted());
+        return blockFile;
+    }
+
+    public void insertAt(Object key, int blockIndex, int position) throws Exception {
+        if (blockIndex < 0 || blockIndex >= numBlocks) {
+            throw new Exception("Índice de bloque fuera de rango");
+        }
+
+        if (position < 0 || position >= getBlockSize(blockIndex)) {
+            throw new Exception("Posición en bloque fuera de rango");
+        }
+
+        if (isOccupied(blockIndex, position)) {
+            throw new Exception("Posición ocupada");
+        }
+
+        write(blockIndex, position, encode(key, keyLength));
+        if (sorted) {
+            // Se vuelve a comprobar el orden en la siguiente búsqueda binaria
+            setSorted(false);
+        }
+    }
+
+    public Object getAt(int blockIndex, int position) {
+        if (blockIndex < 0 || blockIndex >= numBlocks ||
+                position < 0 || position >= getBlockSize(blockIndex) || !isOccupied(blockIndex, position)) {
+            return null;
+        }
+
+        MappedByteBuffer region = regionOf(blockIndex);
+        int offset = offsetOf(blockIndex, position);
+        byte[] bytes = new byte[keyLength];
+        for (int i = 0; i < keyLength; i++) {
+            bytes[i] = region.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    public boolean isOccupied(int blockIndex, int position) {
+        return regionOf(blockIndex).get(offsetOf(blockIndex, position)) != 0;
+    }
+
+    public boolean remove(Object key) throws Exception {
+        BlockStructure.SearchResult result = linearSearch(key, TraceMode.NONE);
+        if (!result.found) {
+            return false;
+        }
+
+        MappedByteBuffer region = regionOf(result.blockIndex);
+        int offset = offsetOf(result.blockIndex, result.position);
+        for (int i = 0; i < keyLength; i++) {
+            region.put(offset + i, (byte) 0);
+        }
+        return true;
+    }
+
+    public BlockStructure.SearchResult linearSearch(Object key) throws Exception {
+        return linearSearch(key, TraceMode.FULL);
+    }
+
+    public BlockStructure.SearchResult linearSearch(Object key, TraceMode traceMode) throws Exception {
+        BlockStructure.SearchTrace trace = new BlockStructure.SearchTrace(traceMode);
+        byte[] target = encode(key, keyLength);
+
+        for (int blockIndex = 0; blockIndex < numBlocks; blockIndex++) {
+            trace.blockAccess();
+            if (trace.recordsSteps()) {
+                trace.add(new BlockStructure.SearchStep(BlockStructure.SearchStep.Type.BLOCK_ACCESS, blockIndex, -1,
+                        "Leyendo página " + (blockIndex + 1)));
+            }
+
+            for (int position = 0; position < getBlockSize(blockIndex); position++) {
+                trace.elementAccess();
+                if (trace.recordsSteps()) {
+                    trace.add(new BlockStructure.SearchStep(BlockStructure.SearchStep.Type.ELEMENT_ACCESS, blockIndex, position,
+                            "Comparando con " + getAt(blockIndex, position)));
+                }
+
+                if (isOccupied(blockIndex, position) && compare(blockIndex, position, target) == 0) {
+                    return trace.result(true, blockIndex, position);
+                }
+            }
+        }
+
+        return trace.result(false, -1, -1);
+    }
+
+    public BlockStructure.SearchResult binarySearch(Object key) throws Exception {
+        return binarySearch(key, TraceMode.FULL);
+    }
+
+    public BlockStructure.SearchResult binarySearch(Object key, TraceMode traceMode) throws Exception {
+        if (!isSorted()) {
+            throw new Exception("El archivo debe estar ordenado para búsqueda binaria");
+        }
+
+        BlockStructure.SearchTrace trace = new BlockStructure.SearchTrace(traceMode);
+        byte[] target = encode(key, keyLength);
+
+        // Búsqueda binaria entre páginas usando la primera y la última clave de cada una
+        int leftBlock = 0;
+        int rightBlock = numBlocks - 1;
+        int targetBlock = -1;
+
+        while (leftBlock <= rightBlock) {
+            int mid = (leftBlock + rightBlock) >>> 1;
+            // Una página vacía no sirve de pivote: se usa la ocupada más cercana, primero a la derecha
+            int midBlock = nextNonEmptyPage(mid, rightBlock, leftBlock, rightBlock, trace);
+            if (midBlock == -1) {
+                midBlock = previousNonEmptyPage(mid - 1, leftBlock, leftBlock, rightBlock, trace);
+                if (midBlock == -1) {
+                    break;
+                }
+            }
+
+            int first = nextOccupied(midBlock, 0, getBlockSize(midBlock) - 1);
+            int last = previousOccupied(midBlock, getBlockSize(midBlock) - 1, first);
+
+            if (compare(midBlock, first, target) > 0) {
+                rightBlock = midBlock - 1;
+            } else if (compare(midBlock, last, target) < 0) {
+                leftBlock = midBlock + 1;
+            } else {
+                targetBlock = midBlock;
+                break;
+            }
+        }
+
+        if (targetBlock == -1) {
+            return trace.result(false, -1, -1);
+        }
+
+        // Búsqueda binaria dentro de la página, saltando las posiciones vacías
+        int left = 0;
+        int right = getBlockSize(targetBlock) - 1;
+        while (left <= right) {
+            int mid = (left + right) >>> 1;
+            int position = nextOccupied(targetBlock, mid, right);
+            if (position == -1) {
+                position = previousOccupied(targetBlock, mid - 1, left);
+                if (position == -1) {
+                    break;
+                }
+            }
+
+            trace.elementAccess();
+            if (trace.recordsSteps()) {
+                trace.add(new BlockStructure.SearchStep(BlockStructure.SearchStep.Type.ELEMENT_ACCESS, targetBlock, position,
+                        String.format("Búsqueda binaria en página: posición %d", position + 1)));
+            }
+
+            int cmp = compare(targetBlock, position, target);
+            if (cmp == 0) {
+                return trace.result(true, targetBlock, position);
+            } else if (cmp > 0) {
+                right = position - 1;
+            } else {
+                left = position + 1;
+            }
+        }
+
+        return trace.result(false, -1, -1);
+    }
+
+    // Primera página con claves en [from, to] (leyendo cada una), o -1
+    private int nextNonEmptyPage(int from, int to, int leftBlock, int rightBlock,
+                                 BlockStructure.SearchTrace trace) {
+        for (int blockIndex = from; blockIndex <= to; blockIndex++) {
+            if (readPage(blockIndex, leftBlock, rightBlock, trace)) {
+                return blockIndex;
+            }
+        }
+        return -1;
+    }
+
+    // Última página con claves en [to, from] (leyendo cada una), o -1
+    private int previousNonEmptyPage(int from, int to, int leftBlock, int rightBlock,
+                                     BlockStructure.SearchTrace trace) {
+        for (int blockIndex = from; blockIndex >= to; blockIndex--) {
+            if (readPage(blockIndex, leftBlock, rightBlock, trace)) {
+                return blockIndex;
+            }
+        }
+        return -1;
+    }
+
+    // Cuenta la lectura de la página en la búsqueda binaria; true si tiene alguna clave
+    private boolean readPage(int blockIndex, int leftBlock, int rightBlock, BlockStructure.SearchTrace trace) {
+        trace.blockAccess();
+        if (trace.recordsSteps()) {
+            trace.add(new BlockStructure.SearchStep(BlockStructure.SearchStep.Type.BLOCK_ACCESS, blockIndex, -1,
+                    String.format("Búsqueda binaria: página %d (entre %d y %d)",
+                            blockIndex + 1, leftBlock + 1, rightBlock + 1)));
+        }
+        return nextOccupied(blockIndex, 0, getBlockSize(blockIndex) - 1) != -1;
+    }
+
+    // Usa el indicador guardado en la cabecera; si no está marcado, revisa el archivo una vez
+    public boolean isSorted() {
+        if (!sorted && checkSorted()) {
+            setSorted(true);
+        }
+        return sorted;
+    }
+
+    private boolean checkSorted() {
+        boolean first = true;
+        byte[] previous = new byte[keyLength];
+
+        for (int blockIndex = 0; blockIndex < numBlocks; blockIndex++) {
+            for (int position = 0; position < getBlockSize(blockIndex); position++) {
+                if (!isOccupied(blockIndex, position)) {
+                    continue;
+                }
+                if (!first && compare(blockIndex, position, previous) < 0) {
+                    return false;
+                }
+                read(blockIndex, position, previous);
+                first = false;
+            }
+        }
+        return true;
+    }
+
+    // Escribe las páginas modificadas al disco
+    public void flush() {
+        header.force();
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+    }
+
+    /**
+     * Guarda los cambios y cierra el canal. Java 8 no permite liberar el mapeo de forma
+     * explícita: las regiones se liberan cuando el recolector las descarta.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+        file.close();
+    }
+
+    private void setSorted(boolean sorted) {
+        this.sorted = sorted;
+        header.put(SORTED_OFFSET, (byte) (sorted ? 1 : 0));
+    }
+
+    // Compara la clave guardada con target byte a byte (negativo si la guardada es menor)
+    private int compare(int blockIndex, int position, byte[] target) {
+        MappedByteBuffer region = regionOf(blockIndex);
+        int offset = offsetOf(blockIndex, position);
+        for (int i = 0; i < keyLength; i++) {
+            int cmp = (region.get(offset + i) & 0xFF) - (target[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private void read(int blockIndex, int position, byte[] into) {
+        MappedByteBuffer region = regionOf(blockIndex);
+        int offset = offsetOf(blockIndex, position);
+        for (int i = 0; i < keyLength; i++) {
+            into[i] = region.get(offset + i);
+        }
+    }
+
+    private void write(int blockIndex, int position, byte[] bytes) {
+        MappedByteBuffer region = regionOf(blockIndex);
+        int offset = offsetOf(blockIndex, position);
+        for (int i = 0; i < keyLength; i++) {
+            region.put(offset + i, bytes[i]);
+        }
+    }
+
+    private int nextOccupied(int blockIndex, int from, int to) {
+        for (int i = from; i <= to; i++) {
+            if (isOccupied(blockIndex, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int previousOccupied(int blockIndex, int from, int to) {
+        for (int i = from; i >= to; i--) {
+            if (isOccupied(blockIndex, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private MappedByteBuffer regionOf(int blockIndex) {
+        return regions[blockIndex / blocksPerRegion];
+    }
+
+    private int offsetOf(int blockIndex, int position) {
+        return (blockIndex % blocksPerRegion) * pageSize + position * keyLength;
+    }
+
+    private static byte[] encode(Object key, int keyLength) throws Exception {
+        String text = key.toString();
+        if (text.length() != keyLength) {
+            throw new Exception(String.format("La clave debe tener %d caracteres", keyLength));
+        }
+
+        byte[] bytes = new byte[keyLength];
+        for (int i = 0; i < keyLength; i++) {
+            char c = text.charAt(i);
+            if (c == 0 || c > 127) {
+                throw new Exception("La clave solo puede tener caracteres ASCII");
+            }
+            bytes[i] = (byte) c;
+        }
+        return bytes;
+    }
+
+    // Getters
+    public int getTotalElements() { return totalElements; }
+    public int getNumBlocks() { return numBlocks; }
+    public int getElementsPerBlock() { return elementsPerBlock; }
+    // Claves del bloque; el último puede ser parcial
+    public int getBlockSize(int blockIndex) { return blockIndex == numBlocks - 1 ? lastBlockSize : elementsPerBlock; }
+    public int getKeyLength() { return keyLength; }
+    public int getPageSize() { return pageSize; }
+    public long getFileSize() { return HEADER_SIZE + (long) numBlocks * pageSize; }
+}
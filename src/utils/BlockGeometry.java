@@ -0,0 +1,119 @@
+package utils;
+
+/**
+ * Reparto de n posiciones en bloques: cuántos bloques hay, cuántas posiciones tiene cada uno
+ * y cuántas el último, que puede quedar parcial (el resto de n no se descarta). El tamaño se
+ * elige con BlockSizing; blockBytes es lo que ocupa un bloque en disco.
+ */
+public final class BlockGeometry {
+    // Tamaño de página habitual; con BlockSizing.BYTES cada bloque ocupa una página
+    public static final int PAGE_SIZE = 4096;
+
+    private final BlockSizing sizing;
+    private final int totalElements;
+    private final int keyLength;
+    private final int numBlocks;
+    private final int elementsPerBlock;
+    private final int lastBlockSize;
+    private final int blockBytes;
+
+    private BlockGeometry(BlockSizing sizing, int totalElements, int keyLength, int elementsPerBlock,
+                          int blockBytes) {
+        this.sizing = sizing;
+        this.totalElements = totalElements;
+        this.keyLength = keyLength;
+        this.elementsPerBlock = elementsPerBlock;
+        this.numBlocks = (totalElements + elementsPerBlock - 1) / elementsPerBlock;
+        this.lastBlockSize = totalElements - (numBlocks - 1) * elementsPerBlock;
+        this.blockBytes = blockBytes;
+    }
+
+    // √n bloques de n/√n posiciones, más un bloque parcial con el resto si lo hay
+    public static BlockGeometry sqrt(int totalElements, int keyLength) {
+        int elementsPerBlock = totalElements / Math.max(1, (int) Math.floor(Math.sqrt(totalElements)));
+        return new BlockGeometry(BlockSizing.SQRT, totalElements, keyLength, Math.max(1, elementsPerBlock),
+                Math.max(1, elementsPerBlock) * keyLength);
+    }
+
+    public static BlockGeometry records(int totalElements, int keyLength, int elementsPerBlock) throws Exception {
+        check(totalElements, keyLength, elementsPerBlock);
+        elementsPerBlock = Math.min(elementsPerBlock, totalElements);
+        return new BlockGeometry(BlockSizing.RECORDS, totalElements, keyLength, elementsPerBlock,
+                elementsPerBlock * keyLength);
+    }
+
+    // Tantas claves como entren en blockBytes; el bloque ocupa blockBytes aunque sobre espacio
+    public static BlockGeometry bytes(int totalElements, int keyLength, int blockBytes) throws Exception {
+        check(totalElements, keyLength, blockBytes);
+        if (blockBytes < keyLength) {
+            throw new Exception(String.format("Un bloque de %d bytes no alcanza para una clave de %d",
+                    blockBytes, keyLength));
+        }
+        int elementsPerBlock = Math.min(blockBytes / keyLength, totalElements);
+        return new BlockGeometry(BlockSizing.BYTES, totalElements, keyLength, elementsPerBlock, blockBytes);
+    }
+
+    // size es el valor del tamaño de bloque (se ignora con SQRT)
+    public static BlockGeometry of(BlockSizing sizing, int totalElements, int keyLength, int size) throws Exception {
+        switch (sizing) {
+            case RECORDS:
+                return records(totalElements, keyLength, size);
+            case BYTES:
+                return bytes(totalElements, keyLength, size);
+            default:
+                check(totalElements, keyLength, 1);
+                return sqrt(totalElements, keyLength);
+        }
+    }
+
+    private static void check(int totalElements, int keyLength, int size) throws Exception {
+        if (totalElements < 1 || keyLength < 1 || size < 1) {
+            throw new Exception("Los valores deben ser positivos");
+        }
+        if ((long) size * keyLength > Integer.MAX_VALUE) {
+            throw new Exception("Bloque demasiado grande");
+        }
+    }
+
+    // Posiciones del bloque (el último puede tener menos)
+    public int getBlockSize(int blockIndex) {
+        return blockIndex == numBlocks - 1 ? lastBlockSize : elementsPerBlock;
+    }
+
+    // Valor con el que se eligió el tamaño: registros (o n/√n con SQRT) o bytes
+    public int getSize() {
+        return sizing == BlockSizing.BYTES ? blockBytes : elementsPerBlock;
+    }
+
+    public boolean hasPartialBlock() {
+        return lastBlockSize < elementsPerBlock;
+    }
+
+    // Texto para las ventanas: "4 (último con 1)" y "3 (12 bytes)"
+    public String describeBlocks() {
+        return hasPartialBlock() ? String.format("%d (último con %d)", numBlocks, lastBlockSize)
+                : String.valueOf(numBlocks);
+    }
+
+    public String describeBlockSize() {
+        return String.format("%d (%d bytes)", elementsPerBlock, blockBytes);
+    }
+
+    // Resumen para el terminal: "4 bloques de 3 registros, el último con 1 (12 bytes por bloque, √n bloques)"
+    public String describe() {
+        String blocks = String.format("%d bloques de %d registros", numBlocks, elementsPerBlock);
+        if (hasPartialBlock()) {
+            blocks += String.format(", el último con %d", lastBlockSize);
+        }
+        return String.format("%s (%d bytes por bloque, %s)", blocks, blockBytes, sizing.getLabel());
+    }
+
+    // Getters
+    public BlockSizing getSizing() { return sizing; }
+    public int getTotalElements() { return totalElements; }
+    public int getKeyLength() { return keyLength; }
+    public int getNumBlocks() { return numBlocks; }
+    public int getElementsPerBlock() { return elementsPerBlock; }
+    public int getLastBlockSize() { return lastBlockSize; }
+    public int getBlockBytes() { return blockBytes; }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+/**
+ * Cómo se elige el tamaño de bloque, con el texto que muestran las ventanas.
+ * SQRT usa √n bloques (la distribución clásica); RECORDS indica las posiciones por bloque
+ * y BYTES el tamaño del bloque en bytes (p. ej. 4096 para que cada bloque sea una página).
+ */
+public enum BlockSizing {
+    SQRT("√n bloques"),
+    RECORDS("Registros"),
+    BYTES("Bytes");
+
+    private final String label;
+
+    BlockSizing(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public static String[] labels() {
+        BlockSizing[] sizings = values();
+        String[] labels = new String[sizings.length];
+        for (int i = 0; i < sizings.length; i++) {
+            labels[i] = sizings[i].label;
+        }
+        return labels;
+    }
+
+    public static BlockSizing fromLabel(String label) throws Exception {
+        for (BlockSizing sizing : values()) {
+            if (sizing.label.equals(label)) {
+                return sizing;
+            }
+        }
+        throw new Exception("Tamaño de bloque no implementado");
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -1,31 +1,137 @@
 package utils;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class BlockStructure {
     private Object[][] blocks;
+    // Forma normalizada de cada clave, calculada al insertar
+    private SortKey[][] sortKeys;
+    private final BlockGeometry geometry;
+    // Cantidad de claves y límites (menor y mayor) de cada bloque
+    private final FenceDirectory directory;
     private int totalElements;
     private int numBlocks;
     private int elementsPerBlock;
     private int keyLength;
     private boolean initialized;
-
+    // Se sabe que está ordenada (se vuelve a revisar después de una inserción)
+    private boolean knownSorted;
+    // Bloques compactos: las claves de cada bloque ocupan sus primeras posiciones, tantas como su cantidad en el directorio
+    private boolean packed;
+    // Marcos por los que pasan los accesos a bloques; null = sin buffer pool
+    private BufferPool bufferPool;
+
+    // Distribución clásica: √n bloques (más uno parcial con el resto)
     public BlockStructure(int totalElements, int keyLength) {
-        this.totalElements = totalElements;
-        this.keyLength = keyLength;
-        this.numBlocks = (int) Math.floor(Math.sqrt(totalElements));
-        this.elementsPerBlock = totalElements / numBlocks;
-        this.blocks = new Object[numBlocks][elementsPerBlock];
+        this(BlockGeometry.sqrt(totalElements, keyLength));
+    }
+
+    public BlockStructure(BlockGeometry geometry) {
+        this.geometry = geometry;
+        this.totalElements = geometry.getTotalElements();
+        this.keyLength = geometry.getKeyLength();
+        this.numBlocks = geometry.getNumBlocks();
+        this.elementsPerBlock = geometry.getElementsPerBlock();
+        // El último bloque tiene solo las posiciones que le tocan
+        this.blocks = new Object[numBlocks][];
+        this.sortKeys = new SortKey[numBlocks][];
+        for (int i = 0; i < numBlocks; i++) {
+            blocks[i] = new Object[geometry.getBlockSize(i)];
+            sortKeys[i] = new SortKey[geometry.getBlockSize(i)];
+        }
+        this.directory = new FenceDirectory(numBlocks);
         this.initialized = false;
     }
 
     public void initialize() {
         for (int i = 0; i < numBlocks; i++) {
             Arrays.fill(blocks[i], null);
+            Arrays.fill(sortKeys[i], null);
+        }
+        if (bufferPool != null) {
+            bufferPool.clear();
         }
+        directory.clear();
+        this.knownSorted = true;
         this.initialized = true;
     }
 
+    /**
+     * Pone un buffer pool delante de los bloques (null lo quita). Las búsquedas, inserciones,
+     * eliminaciones y el ordenamiento fijan cada bloque que leen o modifican; getAt y getBlocks
+     * (visualización y exportación) no pasan por el pool.
+     */
+    public void setBufferPool(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Bloques compactos: cada bloque guarda sus claves en un prefijo sin huecos cuyo largo es
+     * su cantidad en el directorio. insertAt solo acepta la primera posición libre del bloque,
+     * remove corre las claves siguientes para tapar el hueco (sin cambiar su orden) y las
+     * búsquedas recorren solo ese prefijo. Al activarlo se compactan los bloques actuales.
+     * Las ventanas hash lo dejan apagado: ahí la posición es la dirección calculada.
+     */
+    public void setPacked(boolean packed) {
+        if (packed && !this.packed) {
+            for (int i = 0; i < numBlocks; i++) {
+                pin(i);
+                unpin(i, compact(i));
+            }
+        }
+        this.packed = packed;
+    }
+
+    public boolean isPacked() {
+        return packed;
+    }
+
+    // Corre las claves del bloque al inicio sin cambiar su orden; true si movió alguna
+    private boolean compact(int blockIndex) {
+        Object[] block = blocks[blockIndex];
+        SortKey[] keys = sortKeys[blockIndex];
+        int count = 0;
+        boolean moved = false;
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[j] != null) {
+                if (j != count) {
+                    block[count] = block[j];
+                    keys[count] = keys[j];
+                    block[j] = null;
+                    keys[j] = null;
+                    moved = true;
+                }
+                count++;
+            }
+        }
+        return moved;
+    }
+
+    // Fin de las posiciones a recorrer en el bloque: con bloques compactos, su cantidad de claves
+    private int occupiedEnd(int blockIndex) {
+        return packed ? directory.getCount(blockIndex) : blocks[blockIndex].length;
+    }
+
+    private void pin(int blockIndex) {
+        if (bufferPool != null) {
+            bufferPool.pin(blockIndex);
+        }
+    }
+
+    private void unpin(int blockIndex, boolean modified) {
+        if (bufferPool != null) {
+            bufferPool.unpin(blockIndex, modified);
+        }
+    }
+
     public void insertAt(Object key, int blockIndex, int position) throws Exception {
         if (!initialized) {
             throw new Exception("Estructura de bloques no inicializada");
@@ -35,20 +141,33 @@ public class BlockStructure {
             throw new Exception("Índice de bloque fuera de rango");
         }
 
-        if (position < 0 || position >= elementsPerBlock) {
+        if (position < 0 || position >= blocks[blockIndex].length) {
             throw new Exception("Posición en bloque fuera de rango");
         }
 
-        if (blocks[blockIndex][position] != null) {
-            throw new Exception("Posición ocupada");
+        if (packed && position > directory.getCount(blockIndex)) {
+            throw new Exception(String.format("Con bloques compactos se inserta en la primera posición libre del bloque (%d)",
+                    directory.getCount(blockIndex) + 1));
+        }
+
+        pin(blockIndex);
+        boolean occupied = blocks[blockIndex][position] != null;
+        if (!occupied) {
+            blocks[blockIndex][position] = key;
+            sortKeys[blockIndex][position] = SortKey.of(key);
+            directory.added(blockIndex, sortKeys[blockIndex][position]);
+            knownSorted = false;
         }
+        unpin(blockIndex, !occupied);
 
-        blocks[blockIndex][position] = key;
+        if (occupied) {
+            throw new Exception("Posición ocupada");
+        }
     }
 
     public Object getAt(int blockIndex, int position) {
         if (blockIndex < 0 || blockIndex >= numBlocks ||
-                position < 0 || position >= elementsPerBlock) {
+                position < 0 || position >= blocks[blockIndex].length) {
             return null;
         }
         return blocks[blockIndex][position];
@@ -56,70 +175,147 @@ public class BlockStructure {
 
     public boolean remove(Object key) {
         for (int i = 0; i < numBlocks; i++) {
-            for (int j = 0; j < elementsPerBlock; j++) {
+            pin(i);
+            boolean removed = false;
+            int end = occupiedEnd(i);
+            for (int j = 0; j < end && !removed; j++) {
                 if (Objects.equals(blocks[i][j], key)) {
+                    SortKey removedKey = sortKeys[i][j];
+                    if (packed) {
+                        // Tapar el hueco corriendo las claves siguientes del bloque
+                        System.arraycopy(blocks[i], j + 1, blocks[i], j, end - j - 1);
+                        System.arraycopy(sortKeys[i], j + 1, sortKeys[i], j, end - j - 1);
+                        j = end - 1;
+                    }
                     blocks[i][j] = null;
-                    return true;
+                    sortKeys[i][j] = null;
+                    directory.removed(i, removedKey, sortKeys[i]);
+                    removed = true;
                 }
             }
+            unpin(i, removed);
+            if (removed) {
+                return true;
+            }
         }
         return false;
     }
 
     public SearchResult linearSearch(Object key) {
-        List<SearchStep> steps = new ArrayList<>();
+        return linearSearch(key, TraceMode.FULL);
+    }
+
+    public SearchResult linearSearch(Object key, TraceMode traceMode) {
+        SearchTrace trace = new SearchTrace(traceMode);
 
         for (int blockIndex = 0; blockIndex < numBlocks; blockIndex++) {
-            steps.add(new SearchStep(SearchStep.Type.BLOCK_ACCESS, blockIndex, -1,
-                    "Accediendo bloque " + (blockIndex + 1)));
+            trace.blockAccess();
+            if (trace.recordsSteps()) {
+                trace.add(new SearchStep(SearchStep.Type.BLOCK_ACCESS, blockIndex, -1,
+                        "Accediendo bloque " + (blockIndex + 1)));
+            }
 
-            for (int position = 0; position < elementsPerBlock; position++) {
-                steps.add(new SearchStep(SearchStep.Type.ELEMENT_ACCESS, blockIndex, position,
-                        "Comparando con " + blocks[blockIndex][position]));
+            pin(blockIndex);
+            try {
+                int end = occupiedEnd(blockIndex);
+                for (int position = 0; position < end; position++) {
+                    trace.elementAccess();
+                    if (trace.recordsSteps()) {
+                        trace.add(new SearchStep(SearchStep.Type.ELEMENT_ACCESS, blockIndex, position,
+                                "Comparando con " + blocks[blockIndex][position]));
+                    }
 
-                if (Objects.equals(blocks[blockIndex][position], key)) {
-                    return new SearchResult(true, blockIndex, position, steps);
+                    if (Objects.equals(blocks[blockIndex][position], key)) {
+                        return trace.result(true, blockIndex, position);
+                    }
                 }
+            } finally {
+                unpin(blockIndex, false);
             }
         }
 
-        return new SearchResult(false, -1, -1, steps);
+        return trace.result(false, -1, -1);
+    }
+
+    /**
+     * Búsqueda secuencial repartida por rangos de bloques en el ForkJoinPool común; cuando un
+     * rango encuentra la clave los demás se detienen en el siguiente bloque. No registra pasos
+     * y los contadores suman los accesos de todos los hilos.
+     */
+    public SearchResult parallelLinearSearch(Object key) {
+        AtomicInteger found = new AtomicInteger(-1);
+        AtomicInteger blockAccesses = new AtomicInteger();
+        AtomicInteger elementAccesses = new AtomicInteger();
+        ForkJoinPool.commonPool().invoke(
+                new FindTask(key, 0, numBlocks, leafBlocks(), found, blockAccesses, elementAccesses));
+
+        int index = found.get();
+        return new SearchResult(index >= 0, index >= 0 ? index / elementsPerBlock : -1,
+                index >= 0 ? index % elementsPerBlock : -1, Collections.<SearchStep>emptyList(),
+                blockAccesses.get(), elementAccesses.get());
+    }
+
+    // Cantidad de claves con low <= clave <= high, contando los bloques en paralelo
+    public int countInRange(Object low, Object high) {
+        return ForkJoinPool.commonPool().invoke(
+                new CountTask(SortKey.of(low), SortKey.of(high), 0, numBlocks, leafBlocks()));
+    }
+
+    // Bloques por tarea hoja: unas cuatro hojas por hilo y al menos unas 16.000 posiciones
+    private int leafBlocks() {
+        int perTask = numBlocks / (ForkJoinPool.getCommonPoolParallelism() * 4);
+        int minimum = (16384 + elementsPerBlock - 1) / elementsPerBlock;
+        return Math.max(1, Math.max(perTask, minimum));
     }
 
     public SearchResult binarySearch(Object key) throws Exception {
+        return binarySearch(key, TraceMode.FULL);
+    }
+
+    public SearchResult binarySearch(Object key, TraceMode traceMode) throws Exception {
+        return binarySearch(key, traceMode, SearchMode.BINARY);
+    }
+
+    /**
+     * Búsqueda binaria entre bloques sobre el directorio de límites (se lee un solo bloque) y,
+     * dentro del bloque elegido, con la estrategia indicada
+     * (binaria, por interpolación o exponencial; EYTZINGER no aplica a bloques y busca binario).
+     */
+    public SearchResult binarySearch(Object key, TraceMode traceMode, SearchMode searchMode) throws Exception {
         // Verificar que esté ordenado
         if (!isSorted()) {
             throw new Exception("La estructura debe estar ordenada para búsqueda binaria");
         }
 
-        List<SearchStep> steps = new ArrayList<>();
+        SearchTrace trace = new SearchTrace(traceMode);
+        SortKey target = SortKey.of(key);
 
-        // Búsqueda binaria entre bloques
+        // Búsqueda binaria sobre el directorio de límites: elige el bloque sin leer ninguno
         int leftBlock = 0;
         int rightBlock = numBlocks - 1;
         int targetBlock = -1;
 
         while (leftBlock <= rightBlock) {
-            int midBlock = (leftBlock + rightBlock) / 2;
-            steps.add(new SearchStep(SearchStep.Type.BLOCK_ACCESS, midBlock, -1,
-                    String.format("Búsqueda binaria: bloque %d (entre %d y %d)",
-                            midBlock + 1, leftBlock + 1, rightBlock + 1)));
-
-            Object firstElement = getFirstNonNull(midBlock);
-            Object lastElement = getLastNonNull(midBlock);
-
-            if (firstElement == null) {
-                rightBlock = midBlock - 1;
-                continue;
+            int mid = (leftBlock + rightBlock) >>> 1;
+            int midBlock = directory.nextNonEmpty(mid, rightBlock);
+            if (midBlock == -1) {
+                midBlock = directory.previousNonEmpty(mid - 1, leftBlock);
+                if (midBlock == -1) {
+                    break;
+                }
             }
 
-            int cmpFirst = compareKeys(key, firstElement);
-            int cmpLast = lastElement != null ? compareKeys(key, lastElement) : cmpFirst;
+            if (trace.recordsSteps()) {
+                trace.add(new SearchStep(SearchStep.Type.DIRECTORY_ACCESS, midBlock, -1,
+                        String.format("Directorio: bloque %d [%s .. %s] (entre %d y %d)", midBlock + 1,
+                                directory.getMin(midBlock), directory.getMax(midBlock), leftBlock + 1, rightBlock + 1)));
+            }
 
-            if (cmpFirst >= 0 && cmpLast <= 0) {
+            int cmp = directory.compare(midBlock, target);
+            if (cmp == 0) {
                 targetBlock = midBlock;
                 break;
-            } else if (cmpFirst < 0) {
+            } else if (cmp < 0) {
                 rightBlock = midBlock - 1;
             } else {
                 leftBlock = midBlock + 1;
@@ -127,117 +323,294 @@ public class BlockStructure {
         }
 
         if (targetBlock == -1) {
-            return new SearchResult(false, -1, -1, steps);
+            return trace.result(false, -1, -1);
         }
 
-        // Búsqueda binaria dentro del bloque
-        return binarySearchInBlock(targetBlock, key, steps);
-    }
+        // Única lectura de bloque: el que eligió el directorio
+        trace.blockAccess();
+        if (trace.recordsSteps()) {
+            trace.add(new SearchStep(SearchStep.Type.BLOCK_ACCESS, targetBlock, -1,
+                    String.format("Búsqueda binaria: bloque %d", targetBlock + 1)));
+        }
 
-    private SearchResult binarySearchInBlock(int blockIndex, Object key, List<SearchStep> steps) {
-        List<Integer> validPositions = new ArrayList<>();
-        for (int i = 0; i < elementsPerBlock; i++) {
-            if (blocks[blockIndex][i] != null) {
-                validPositions.add(i);
+        // Búsqueda dentro del bloque
+        pin(targetBlock);
+        try {
+            switch (searchMode) {
+                case INTERPOLATION:
+                    return interpolationSearchInBlock(targetBlock, target, trace);
+                case EXPONENTIAL:
+                    return exponentialSearchInBlock(targetBlock, target, trace);
+                default:
+                    return binarySearchInBlock(targetBlock, target, trace);
             }
+        } finally {
+            unpin(targetBlock, false);
         }
+    }
 
-        if (validPositions.isEmpty()) {
-            return new SearchResult(false, -1, -1, steps);
-        }
+    /*
+     * Las búsquedas dentro del bloque saltan las posiciones vacías sin copiar el bloque; con
+     * bloques compactos no hay huecos y trabajan directo sobre las posiciones 0..cantidad-1.
+     */
+    private SearchResult binarySearchInBlock(int blockIndex, SortKey target, SearchTrace trace) {
+        return binarySearchInBlock(blockIndex, target, 0, occupiedEnd(blockIndex) - 1, trace,
+                "Búsqueda binaria en bloque: posición %d");
+    }
 
-        int left = 0;
-        int right = validPositions.size() - 1;
+    private SearchResult binarySearchInBlock(int blockIndex, SortKey target, int left, int right,
+                                             SearchTrace trace, String description) {
+        SortKey[] keys = sortKeys[blockIndex];
 
         while (left <= right) {
-            int mid = (left + right) / 2;
-            int actualPos = validPositions.get(mid);
-            Object midValue = blocks[blockIndex][actualPos];
+            int mid = (left + right) >>> 1;
+            int actualPos = nextOccupied(keys, mid, right);
+            if (actualPos == -1) {
+                actualPos = previousOccupied(keys, mid - 1, left);
+                if (actualPos == -1) {
+                    break;
+                }
+            }
+
+            int cmp = compareInBlock(blockIndex, actualPos, target, trace, description);
+
+            if (cmp == 0) {
+                return trace.result(true, blockIndex, actualPos);
+            } else if (cmp < 0) {
+                right = actualPos - 1;
+            } else {
+                left = actualPos + 1;
+            }
+        }
+
+        return trace.result(false, -1, -1);
+    }
+
+    private SearchResult interpolationSearchInBlock(int blockIndex, SortKey target, SearchTrace trace) {
+        SortKey[] keys = sortKeys[blockIndex];
+        int end = occupiedEnd(blockIndex);
+        int left = nextOccupied(keys, 0, end - 1);
+        int right = previousOccupied(keys, end - 1, 0);
 
-            steps.add(new SearchStep(SearchStep.Type.ELEMENT_ACCESS, blockIndex, actualPos,
-                    String.format("Búsqueda binaria en bloque: posición %d", actualPos + 1)));
+        while (left != -1 && left <= right) {
+            SortKey first = keys[left];
+            SortKey last = keys[right];
+            if (target.compareTo(first) < 0 || target.compareTo(last) > 0) {
+                break;
+            }
 
-            int cmp = compareKeys(key, midValue);
+            // Con claves numéricas se estima la posición; si no, se toma el punto medio
+            int estimate = (left + right) >>> 1;
+            if (target.isNumeric() && first.isNumeric() && last.isNumeric()
+                    && last.getNumber() != first.getNumber()) {
+                double fraction = (double) (target.getNumber() - first.getNumber())
+                        / (last.getNumber() - first.getNumber());
+                estimate = left + (int) (fraction * (right - left));
+            }
+            int actualPos = nextOccupied(keys, estimate, right);
+
+            int cmp = compareInBlock(blockIndex, actualPos, target, trace,
+                    "Búsqueda por interpolación en bloque: posición %d");
 
             if (cmp == 0) {
-                return new SearchResult(true, blockIndex, actualPos, steps);
+                return trace.result(true, blockIndex, actualPos);
             } else if (cmp < 0) {
-                right = mid - 1;
+                right = previousOccupied(keys, actualPos - 1, left);
             } else {
-                left = mid + 1;
+                left = nextOccupied(keys, actualPos + 1, right);
+            }
+        }
+
+        return trace.result(false, -1, -1);
+    }
+
+    private SearchResult exponentialSearchInBlock(int blockIndex, SortKey target, SearchTrace trace) {
+        SortKey[] keys = sortKeys[blockIndex];
+        int end = occupiedEnd(blockIndex);
+        int start = nextOccupied(keys, 0, end - 1);
+        if (start == -1) {
+            return trace.result(false, -1, -1);
+        }
+        int right = previousOccupied(keys, end - 1, start);
+        int left = start;
+
+        // Duplicar el salto desde el inicio del bloque hasta pasar la clave
+        for (int jump = 1; left <= right; jump <<= 1) {
+            int actualPos = nextOccupied(keys, Math.min(start + jump - 1, right), right);
+            int cmp = compareInBlock(blockIndex, actualPos, target, trace,
+                    "Búsqueda exponencial en bloque: posición %d");
+
+            if (cmp == 0) {
+                return trace.result(true, blockIndex, actualPos);
+            } else if (cmp < 0) {
+                right = actualPos - 1;
+                break;
             }
+            left = actualPos + 1;
         }
 
-        return new SearchResult(false, -1, -1, steps);
+        return binarySearchInBlock(blockIndex, target, left, right, trace,
+                "Búsqueda exponencial en bloque (tramo binario): posición %d");
     }
 
-    private Object getFirstNonNull(int blockIndex) {
-        for (int i = 0; i < elementsPerBlock; i++) {
-            if (blocks[blockIndex][i] != null) {
-                return blocks[blockIndex][i];
+    // Compara la clave buscada con la de la posición (negativo si la buscada es menor)
+    private int compareInBlock(int blockIndex, int position, SortKey target, SearchTrace trace,
+                               String description) {
+        trace.elementAccess();
+        if (trace.recordsSteps()) {
+            trace.add(new SearchStep(SearchStep.Type.ELEMENT_ACCESS, blockIndex, position,
+                    String.format(description, position + 1)));
+        }
+        return target.compareTo(sortKeys[blockIndex][position]);
+    }
+
+    // Primera posición ocupada en [from, to], o -1 (con bloques compactos es from)
+    private int nextOccupied(SortKey[] keys, int from, int to) {
+        if (packed) {
+            return from <= to ? from : -1;
+        }
+        for (int i = from; i <= to; i++) {
+            if (keys[i] != null) {
+                return i;
             }
         }
-        return null;
+        return -1;
     }
 
-    private Object getLastNonNull(int blockIndex) {
-        for (int i = elementsPerBlock - 1; i >= 0; i--) {
-            if (blocks[blockIndex][i] != null) {
-                return blocks[blockIndex][i];
+    // Última posición ocupada en [to, from], o -1 (con bloques compactos es from)
+    private int previousOccupied(SortKey[] keys, int from, int to) {
+        if (packed) {
+            return from >= to ? from : -1;
+        }
+        for (int i = from; i >= to; i--) {
+            if (keys[i] != null) {
+                return i;
             }
         }
-        return null;
+        return -1;
     }
 
+    // Después de ordenar (o de eliminar, que no cambia el orden) no hace falta recorrer los bloques
     public boolean isSorted() {
-        Object lastValue = null;
+        if (knownSorted) {
+            return true;
+        }
+
+        SortKey lastValue = null;
 
         for (int i = 0; i < numBlocks; i++) {
-            for (int j = 0; j < elementsPerBlock; j++) {
-                Object current = blocks[i][j];
-                if (current != null) {
-                    if (lastValue != null && compareKeys(current, lastValue) < 0) {
-                        return false;
+            pin(i);
+            try {
+                int end = occupiedEnd(i);
+                for (int j = 0; j < end; j++) {
+                    SortKey current = sortKeys[i][j];
+                    if (current != null) {
+                        if (lastValue != null && current.compareTo(lastValue) < 0) {
+                            return false;
+                        }
+                        lastValue = current;
                     }
-                    lastValue = current;
                 }
+            } finally {
+                unpin(i, false);
             }
         }
+        knownSorted = true;
         return true;
     }
 
     public void sort() {
-        // Recopilar todos los elementos no nulos
-        List<Object> allElements = new ArrayList<>();
+        // Recopilar todas las claves (ya normalizadas) en un arreglo del tamaño justo
+        int count = 0;
+        boolean digitKeys = NumericKeyStore.supports(keyLength);
         for (int i = 0; i < numBlocks; i++) {
-            for (int j = 0; j < elementsPerBlock; j++) {
-                if (blocks[i][j] != null) {
-                    allElements.add(blocks[i][j]);
+            pin(i);
+            for (int j = 0; j < sortKeys[i].length; j++) {
+                if (sortKeys[i][j] != null) {
+                    count++;
+                    digitKeys = digitKeys && isDigitKey(sortKeys[i][j]);
                 }
             }
+            unpin(i, false);
         }
 
-        // Ordenar
-        allElements.sort((a, b) -> compareKeys(a, b));
-
-        // Limpiar estructura
-        initialize();
+        knownSorted = true;
+        if (digitKeys) {
+            sortDigitKeys(count);
+            return;
+        }
 
-        // Redistribuir elementos ordenados
+        SortKey[] allElements = new SortKey[count];
         int elementIndex = 0;
-        for (int i = 0; i < numBlocks && elementIndex < allElements.size(); i++) {
-            for (int j = 0; j < elementsPerBlock && elementIndex < allElements.size(); j++) {
-                blocks[i][j] = allElements.get(elementIndex++);
+        for (int i = 0; i < numBlocks; i++) {
+            pin(i);
+            for (int j = 0; j < sortKeys[i].length; j++) {
+                if (sortKeys[i][j] != null) {
+                    allElements[elementIndex++] = sortKeys[i][j];
+                }
+            }
+            unpin(i, false);
+        }
+
+        // Ordenar (en paralelo si hay suficientes claves)
+        Arrays.parallelSort(allElements);
+
+        // Redistribuir sobre los mismos bloques, de corrido entre uno y otro
+        elementIndex = 0;
+        for (int i = 0; i < numBlocks; i++) {
+            pin(i);
+            for (int j = 0; j < sortKeys[i].length; j++) {
+                SortKey element = elementIndex < count ? allElements[elementIndex++] : null;
+                blocks[i][j] = element != null ? element.getKey() : null;
+                sortKeys[i][j] = element;
             }
+            unpin(i, true);
         }
+        directory.rebuild(sortKeys);
     }
 
-    private int compareKeys(Object a, Object b) {
-        try {
-            return Integer.compare(Integer.parseInt(a.toString()), Integer.parseInt(b.toString()));
-        } catch (NumberFormatException e) {
-            return a.toString().compareTo(b.toString());
+    // Clave de exactamente keyLength dígitos: se puede reconstruir a partir de su valor
+    private boolean isDigitKey(SortKey key) {
+        String text = key.toString();
+        return key.isNumeric() && text.length() == keyLength && text.charAt(0) >= '0' && text.charAt(0) <= '9';
+    }
+
+    /**
+     * Ordenamiento cuando todas las claves son de keyLength dígitos: se ordenan sus valores
+     * en un long[] (sin comparar objetos) y se reconstruye cada clave con ceros a la izquierda.
+     */
+    private void sortDigitKeys(int count) {
+        long[] values = new long[count];
+        int elementIndex = 0;
+        for (int i = 0; i < numBlocks; i++) {
+            pin(i);
+            for (int j = 0; j < sortKeys[i].length; j++) {
+                if (sortKeys[i][j] != null) {
+                    values[elementIndex++] = sortKeys[i][j].getNumber();
+                }
+            }
+            unpin(i, false);
+        }
+
+        Arrays.parallelSort(values);
+
+        elementIndex = 0;
+        for (int i = 0; i < numBlocks; i++) {
+            pin(i);
+            for (int j = 0; j < sortKeys[i].length; j++) {
+                if (elementIndex < count) {
+                    long value = values[elementIndex++];
+                    String key = NumericKeyStore.format(value, keyLength);
+                    blocks[i][j] = key;
+                    sortKeys[i][j] = SortKey.ofNumber(key, value);
+                } else {
+                    blocks[i][j] = null;
+                    sortKeys[i][j] = null;
+                }
+            }
+            unpin(i, true);
         }
+        directory.rebuild(sortKeys);
     }
 
     public BlockPosition getHashPosition(int hashValue) {
@@ -247,7 +620,7 @@ public class BlockStructure {
 
         // Asegurar que esté dentro de los límites
         blockIndex = Math.max(0, Math.min(blockIndex, numBlocks - 1));
-        position = Math.max(0, Math.min(position, elementsPerBlock - 1));
+        position = Math.max(0, Math.min(position, blocks[blockIndex].length - 1));
 
         return new BlockPosition(blockIndex, position);
     }
@@ -262,26 +635,163 @@ public class BlockStructure {
     public int getTotalElements() { return totalElements; }
     public int getNumBlocks() { return numBlocks; }
     public int getElementsPerBlock() { return elementsPerBlock; }
+    // Posiciones del bloque; el último puede ser parcial
+    public int getBlockSize(int blockIndex) { return blocks[blockIndex].length; }
+    public BlockGeometry getGeometry() { return geometry; }
+    public FenceDirectory getFenceDirectory() { return directory; }
     public int getKeyLength() { return keyLength; }
     public boolean isInitialized() { return initialized; }
 
+    private final class FindTask extends RecursiveAction {
+        private final Object key;
+        private final int fromBlock, toBlock, leaf;
+        private final AtomicInteger found, blockAccesses, elementAccesses;
+
+        FindTask(Object key, int fromBlock, int toBlock, int leaf, AtomicInteger found,
+                 AtomicInteger blockAccesses, AtomicInteger elementAccesses) {
+            this.key = key;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+            this.leaf = leaf;
+            this.found = found;
+            this.blockAccesses = blockAccesses;
+            this.elementAccesses = elementAccesses;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock > leaf) {
+                int mid = (fromBlock + toBlock) >>> 1;
+                invokeAll(new FindTask(key, fromBlock, mid, leaf, found, blockAccesses, elementAccesses),
+                        new FindTask(key, mid, toBlock, leaf, found, blockAccesses, elementAccesses));
+                return;
+            }
+
+            int blocksRead = 0;
+            int elementsRead = 0;
+            for (int blockIndex = fromBlock; blockIndex < toBlock && found.get() < 0; blockIndex++) {
+                blocksRead++;
+                Object[] block = blocks[blockIndex];
+                int end = occupiedEnd(blockIndex);
+                pin(blockIndex);
+                for (int position = 0; position < end; position++) {
+                    elementsRead++;
+                    if (Objects.equals(block[position], key)) {
+                        found.compareAndSet(-1, blockIndex * elementsPerBlock + position);
+                        break;
+                    }
+                }
+                unpin(blockIndex, false);
+            }
+            blockAccesses.addAndGet(blocksRead);
+            elementAccesses.addAndGet(elementsRead);
+        }
+    }
+
+    private final class CountTask extends RecursiveTask<Integer> {
+        private final SortKey low, high;
+        private final int fromBlock, toBlock, leaf;
+
+        CountTask(SortKey low, SortKey high, int fromBlock, int toBlock, int leaf) {
+            this.low = low;
+            this.high = high;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (toBlock - fromBlock > leaf) {
+                int mid = (fromBlock + toBlock) >>> 1;
+                CountTask left = new CountTask(low, high, fromBlock, mid, leaf);
+                left.fork();
+                int right = new CountTask(low, high, mid, toBlock, leaf).compute();
+                return left.join() + right;
+            }
+
+            int count = 0;
+            for (int blockIndex = fromBlock; blockIndex < toBlock; blockIndex++) {
+                pin(blockIndex);
+                SortKey[] keys = sortKeys[blockIndex];
+                int end = occupiedEnd(blockIndex);
+                for (int position = 0; position < end; position++) {
+                    SortKey current = keys[position];
+                    if (current != null && current.compareTo(low) >= 0 && current.compareTo(high) <= 0) {
+                        count++;
+                    }
+                }
+                unpin(blockIndex, false);
+            }
+            return count;
+        }
+    }
+
     // Clases auxiliares
     public static class SearchResult {
         public final boolean found;
         public final int blockIndex;
         public final int position;
         public final List<SearchStep> steps;
+        // Accesos a bloques y a elementos hechos durante la búsqueda (0 con TraceMode.NONE)
+        public final int blockAccesses;
+        public final int elementAccesses;
 
-        public SearchResult(boolean found, int blockIndex, int position, List<SearchStep> steps) {
+        public SearchResult(boolean found, int blockIndex, int position, List<SearchStep> steps,
+                            int blockAccesses, int elementAccesses) {
             this.found = found;
             this.blockIndex = blockIndex;
             this.position = position;
             this.steps = steps;
+            this.blockAccesses = blockAccesses;
+            this.elementAccesses = elementAccesses;
+        }
+
+        public int getTotalAccesses() {
+            return blockAccesses + elementAccesses;
+        }
+    }
+
+    // Pasos y contadores de una búsqueda según el modo de traza (también los usa BlockFile)
+    static final class SearchTrace {
+        private final TraceMode mode;
+        private final List<SearchStep> steps;
+        private int blockAccesses;
+        private int elementAccesses;
+
+        SearchTrace(TraceMode mode) {
+            this.mode = mode;
+            this.steps = mode.recordsSteps() ? new ArrayList<>() : Collections.emptyList();
+        }
+
+        boolean recordsSteps() {
+            return mode.recordsSteps();
+        }
+
+        void add(SearchStep step) {
+            steps.add(step);
+        }
+
+        void blockAccess() {
+            if (mode.countsAccesses()) {
+                blockAccesses++;
+            }
+        }
+
+        void elementAccess() {
+            if (mode.countsAccesses()) {
+                elementAccesses++;
+            }
+        }
+
+        SearchResult result(boolean found, int blockIndex, int position) {
+            return new SearchResult(found, blockIndex, position, steps, blockAccesses, elementAccesses);
         }
     }
 
     public static class SearchStep {
-        public enum Type { BLOCK_ACCESS, ELEMENT_ACCESS }
+        // DIRECTORY_ACCESS consulta el directorio de límites en memoria (no cuenta como acceso)
+        public enum Type { DIRECTORY_ACCESS, BLOCK_ACCESS, ELEMENT_ACCESS }
 
         public final Type type;
         public final int blockIndex;
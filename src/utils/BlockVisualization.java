@@ -68,18 +68,21 @@ public class BlockVisualization extends JPanel {
         // Dibujar información general
         g2d.setColor(Constants.TEXT_COLOR);
         g2d.setFont(Constants.BODY_FONT);
-        g2d.drawString(String.format("Bloques: %d | Elementos por bloque: %d | Total: %d",
-                blockStructure.getNumBlocks(), blockStructure.getElementsPerBlock(),
-                blockStructure.getTotalElements()), startX, startY);
+        BlockGeometry geometry = blockStructure.getGeometry();
+        g2d.drawString(String.format("Bloques: %d | Elementos por bloque: %d | Último bloque: %d | Total: %d | Bloque: %d bytes (%s)",
+                geometry.getNumBlocks(), geometry.getElementsPerBlock(), geometry.getLastBlockSize(),
+                geometry.getTotalElements(), geometry.getBlockBytes(), geometry.getSizing()), startX, startY);
 
-        startY += 30;
+        startY += 22;
 
-        // Dibujar bloques
+        // Dibujar el directorio de límites y, debajo, los bloques
         Object[][] blocks = blockStructure.getBlocks();
+        FenceDirectory directory = blockStructure.getFenceDirectory();
         int currentX = startX;
 
         for (int blockIndex = 0; blockIndex < blocks.length; blockIndex++) {
-            drawBlock(g2d, blocks[blockIndex], blockIndex, currentX, startY);
+            drawFenceEntry(g2d, directory, blockIndex, currentX, startY);
+            drawBlock(g2d, blocks[blockIndex], blockIndex, currentX, startY + 18);
             currentX += BLOCK_WIDTH + BLOCK_SPACING;
         }
 
@@ -130,6 +133,30 @@ public class BlockVisualization extends JPanel {
         }
     }
 
+    // Entrada del directorio: "mín .. máx (claves)", resaltada si la búsqueda la está consultando
+    private void drawFenceEntry(Graphics2D g2d, FenceDirectory directory, int blockIndex, int x, int y) {
+        boolean current = false;
+        if (searchSteps != null && currentStep >= 0 && currentStep < searchSteps.size()) {
+            BlockStructure.SearchStep step = searchSteps.get(currentStep);
+            current = step.blockIndex == blockIndex && step.type == BlockStructure.SearchStep.Type.DIRECTORY_ACCESS;
+        }
+
+        String text = directory.isEmpty(blockIndex) ? "vacío"
+                : String.format("%s .. %s (%d)", directory.getMin(blockIndex), directory.getMax(blockIndex),
+                        directory.getCount(blockIndex));
+
+        g2d.setFont(new Font("Arial", Font.PLAIN, 10));
+        FontMetrics fm = g2d.getFontMetrics();
+        if (current) {
+            g2d.setColor(Constants.INFO_COLOR);
+            g2d.fillRect(x, y, BLOCK_WIDTH, 14);
+            g2d.setColor(Color.WHITE);
+        } else {
+            g2d.setColor(Constants.TEXT_COLOR);
+        }
+        g2d.drawString(text, x + (BLOCK_WIDTH - fm.stringWidth(text)) / 2, y + 11);
+    }
+
     private void drawBlockElement(Graphics2D g2d, Object element, int blockIndex, int position,
                                   int x, int y, int width) {
 
@@ -0,0 +1,214 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Buffer pool de N marcos delante de los bloques. Cada acceso fija (pin) el bloque en un marco
+ * y lo libera (unpin) al terminar, indicando si lo modificó. Si el bloque no está en un marco
+ * se cuenta un fallo y una lectura; al desalojar un marco modificado se cuenta su escritura
+ * (write-back). La E/S es simulada: los datos siguen en la estructura y el pool solo decide
+ * qué bloques estarían en memoria, para dimensionar la caché de una carga real.
+ *
+ * Es seguro entre hilos; pin espera si todos los marcos están fijados, así que quien fija un
+ * bloque no debe fijar otro antes de liberarlo.
+ */
+public class BufferPool {
+    private static final int EMPTY = -1;
+
+    private final EvictionPolicy policy;
+    // Por marco: bloque cargado, fijaciones activas, si se modificó y datos de reemplazo
+    private final int[] pages;
+    private final int[] pinCounts;
+    private final boolean[] dirty;
+    private final boolean[] referenced;
+    private final long[] lastUse;
+    private final Map<Integer, Integer> frameOf = new HashMap<>();
+
+    private long tick;
+    private int hand;
+    private long hits, misses, reads, writes;
+
+    public BufferPool(int frames, EvictionPolicy policy) throws Exception {
+        if (frames < 1) {
+            throw new Exception("El buffer pool necesita al menos un marco");
+        }
+
+        this.policy = policy;
+        this.pages = new int[frames];
+        this.pinCounts = new int[frames];
+        this.dirty = new boolean[frames];
+        this.referenced = new boolean[frames];
+        this.lastUse = new long[frames];
+        Arrays.fill(pages, EMPTY);
+    }
+
+    // Fija el bloque en un marco (cargándolo si hace falta) y devuelve el marco
+    public synchronized int pin(int page) {
+        Integer cached = frameOf.get(page);
+        if (cached != null) {
+            hits++;
+            use(cached);
+            return cached;
+        }
+
+        misses++;
+        int frame = victim();
+        while (frame == EMPTY) {
+            // Todos los marcos están fijados: esperar a que otro hilo libere uno
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Espera de marco interrumpida");
+            }
+
+            // Mientras se esperaba otro hilo pudo cargar el mismo bloque
+            cached = frameOf.get(page);
+            if (cached != null) {
+                use(cached);
+                return cached;
+            }
+            frame = victim();
+        }
+
+        if (pages[frame] != EMPTY) {
+            if (dirty[frame]) {
+                writes++; // write-back del bloque desalojado
+            }
+            frameOf.remove(pages[frame]);
+        }
+
+        reads++;
+        pages[frame] = page;
+        dirty[frame] = false;
+        frameOf.put(page, frame);
+        use(frame);
+        return frame;
+    }
+
+    // Libera una fijación del bloque; modified indica que se modificó mientras estaba fijado
+    public synchronized void unpin(int page, boolean modified) {
+        Integer frame = frameOf.get(page);
+        if (frame == null || pinCounts[frame] == 0) {
+            throw new IllegalStateException("El bloque " + (page + 1) + " no está fijado");
+        }
+
+        dirty[frame] |= modified;
+        if (--pinCounts[frame] == 0) {
+            notifyAll();
+        }
+    }
+
+    // Escribe todos los marcos modificados (los marcos siguen cargados)
+    public synchronized void flush() {
+        for (int frame = 0; frame < pages.length; frame++) {
+            if (pages[frame] != EMPTY && dirty[frame]) {
+                writes++;
+                dirty[frame] = false;
+            }
+        }
+    }
+
+    // Descarta el contenido de los marcos sin escribirlo (p. ej. al reinicializar la estructura)
+    public synchronized void clear() {
+        Arrays.fill(pages, EMPTY);
+        Arrays.fill(pinCounts, 0);
+        Arrays.fill(dirty, false);
+        Arrays.fill(referenced, false);
+        frameOf.clear();
+        hand = 0;
+        notifyAll();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, reads, writes);
+    }
+
+    public synchronized void resetStats() {
+        hits = misses = reads = writes = 0;
+    }
+
+    public synchronized boolean isResident(int page) {
+        return frameOf.containsKey(page);
+    }
+
+    public synchronized int getResidentPages() {
+        return frameOf.size();
+    }
+
+    public int getFrames() { return pages.length; }
+    public EvictionPolicy getPolicy() { return policy; }
+
+    private void use(int frame) {
+        pinCounts[frame]++;
+        referenced[frame] = true;
+        lastUse[frame] = ++tick;
+    }
+
+    // Marco a reutilizar: uno vacío o el que elige la política; EMPTY si todos están fijados
+    private int victim() {
+        for (int frame = 0; frame < pages.length; frame++) {
+            if (pages[frame] == EMPTY) {
+                return frame;
+            }
+        }
+        return policy == EvictionPolicy.CLOCK ? clockVictim() : lruVictim();
+    }
+
+    private int lruVictim() {
+        int victim = EMPTY;
+        for (int frame = 0; frame < pages.length; frame++) {
+            if (pinCounts[frame] == 0 && (victim == EMPTY || lastUse[frame] < lastUse[victim])) {
+                victim = frame;
+            }
+        }
+        return victim;
+    }
+
+    // Dos vueltas alcanzan: en la primera se borran las marcas de uso de los marcos libres
+    private int clockVictim() {
+        for (int step = 0; step < 2 * pages.length; step++) {
+            int frame = hand;
+            hand = (hand + 1) % pages.length;
+
+            if (pinCounts[frame] > 0) {
+                continue;
+            }
+            if (referenced[frame]) {
+                referenced[frame] = false;
+            } else {
+                return frame;
+            }
+        }
+        return EMPTY;
+    }
+
+    // Contadores acumulados del pool; since() da los de una operación
+    public static final class Stats {
+        public final long hits, misses, reads, writes;
+
+        public Stats(long hits, long misses, long reads, long writes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        public long getAccesses() {
+            return hits + misses;
+        }
+
+        // Porcentaje de aciertos (0 si no hubo accesos)
+        public double getHitRatio() {
+            long accesses = getAccesses();
+            return accesses == 0 ? 0 : 100.0 * hits / accesses;
+        }
+
+        public Stats since(Stats before) {
+            return new Stats(hits - before.hits, misses - before.misses,
+                    reads - before.reads, writes - before.writes);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Diálogo de carga masiva: las claves pueden pegarse como lista, leerse de un archivo
+ * o generarse como rango numérico. Solo describe el origen; la lectura y la
+ * inserción ocurren después fuera del hilo de eventos.
+ */
+public class BulkInsertDialog extends JDialog {
+    private static final String SEPARATORS = "[\\s,;]+";
+
+    private final int keyLength;
+    private JTabbedPane sourceTabs;
+    private JTextArea pastedKeysArea;
+    private JLabel selectedFileLabel;
+    private File selectedFile;
+    private JTextField rangeFromField, rangeToField, rangeStepField;
+    private KeySource result;
+
+    public interface KeySource {
+        List<String> load() throws Exception;
+    }
+
+    public BulkInsertDialog(Window owner, int keyLength) {
+        super(owner, "Carga Masiva de Claves", ModalityType.APPLICATION_MODAL);
+        this.keyLength = keyLength;
+
+        setLayout(new BorderLayout());
+        add(createSourceTabs(), BorderLayout.CENTER);
+        add(createButtonPanel(), BorderLayout.SOUTH);
+
+        setSize(450, 320);
+        setLocationRelativeTo(owner);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+    }
+
+    // Muestra el diálogo y devuelve el origen elegido, o null si se canceló
+    public KeySource showDialog() {
+        setVisible(true);
+        return result;
+    }
+
+    private JTabbedPane createSourceTabs() {
+        sourceTabs = new JTabbedPane();
+
+        // Lista pegada
+        pastedKeysArea = new JTextArea();
+        pastedKeysArea.setFont(Constants.MONO_FONT);
+        JPanel pastePanel = new JPanel(new BorderLayout());
+        pastePanel.setBackground(Constants.BACKGROUND_COLOR);
+        pastePanel.add(new JLabel("Claves separadas por espacios, comas o saltos de línea:"), BorderLayout.NORTH);
+        pastePanel.add(new JScrollPane(pastedKeysArea), BorderLayout.CENTER);
+        sourceTabs.addTab("Pegar lista", pastePanel);
+
+        // Archivo
+        JPanel filePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filePanel.setBackground(Constants.BACKGROUND_COLOR);
+        JButton chooseFileButton = new JButton("Seleccionar archivo...");
+        selectedFileLabel = new JLabel("Ningún archivo seleccionado");
+        chooseFileButton.addActionListener(e -> chooseFile());
+        filePanel.add(chooseFileButton);
+        filePanel.add(selectedFileLabel);
+        sourceTabs.addTab("Archivo", filePanel);
+
+        // Rango generado
+        JPanel rangePanel = new JPanel(new GridBagLayout());
+        rangePanel.setBackground(Constants.BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        rangeFromField = new JTextField("0", 10);
+        rangeToField = new JTextField(10);
+        rangeStepField = new JTextField("1", 10);
+
+        gbc.gridx = 0; gbc.gridy = 0;
+        rangePanel.add(new JLabel("Desde:"), gbc);
+        gbc.gridx = 1;
+        rangePanel.add(rangeFromField, gbc);
+        gbc.gridx = 0; gbc.gridy = 1;
+        rangePanel.add(new JLabel("Hasta:"), gbc);
+        gbc.gridx = 1;
+        rangePanel.add(rangeToField, gbc);
+        gbc.gridx = 0; gbc.gridy = 2;
+        rangePanel.add(new JLabel("Paso:"), gbc);
+        gbc.gridx = 1;
+        rangePanel.add(rangeStepField, gbc);
+        sourceTabs.addTab("Rango generado", rangePanel);
+
+        return sourceTabs;
+    }
+
+    private JPanel createButtonPanel() {
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.setBackground(Constants.BACKGROUND_COLOR);
+
+        JButton acceptButton = new JButton("Insertar");
+        JButton cancelButton = new JButton("Cancelar");
+        acceptButton.addActionListener(e -> accept());
+        cancelButton.addActionListener(e -> dispose());
+
+        buttonPanel.add(acceptButton);
+        buttonPanel.add(cancelButton);
+        return buttonPanel;
+    }
+
+    private void chooseFile() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Archivo de claves");
+
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            selectedFile = fileChooser.getSelectedFile();
+            selectedFileLabel.setText(selectedFile.getName());
+        }
+    }
+
+    private void accept() {
+        try {
+            switch (sourceTabs.getSelectedIndex()) {
+                case 0:
+                    String text = pastedKeysArea.getText();
+                    result = () -> splitKeys(text);
+                    break;
+                case 1:
+                    if (selectedFile == null) {
+                        throw new Exception("Seleccione un archivo");
+                    }
+                    File file = selectedFile;
+                    result = () -> splitKeys(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+                    break;
+                default:
+                    long from = Long.parseLong(rangeFromField.getText().trim());
+                    long to = Long.parseLong(rangeToField.getText().trim());
+                    long step = Long.parseLong(rangeStepField.getText().trim());
+                    if (step <= 0 || from < 0 || to < from) {
+                        throw new Exception("Rango inválido: se requiere 0 <= desde <= hasta y paso > 0");
+                    }
+                    result = () -> generateRange(from, to, step);
+                    break;
+            }
+            dispose();
+
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Ingrese valores numéricos válidos",
+                    "Error de configuración", JOptionPane.ERROR_MESSAGE);
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(),
+                    "Error de configuración", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private static List<String> splitKeys(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return Arrays.asList(trimmed.split(SEPARATORS));
+    }
+
+    private List<String> generateRange(long from, long to, long step) {
+        String pattern = "%0" + keyLength + "d";
+        List<String> keys = new ArrayList<>();
+        for (long value = from; value <= to; value += step) {
+            keys.add(String.format(pattern, value));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,27 @@
+package utils;
+
+/**
+ * Área de desbordamiento para resolver colisiones por encadenamiento.
+ * Las claves que colisionan con una posición ocupada de la tabla principal
+ * se guardan en la cadena de esa posición (posición base 0).
+ */
+public interface CollisionChains {
+    // Agrega la clave al final de la cadena y devuelve su posición en ella (desde 1)
+    int add(int home, Object key);
+
+    // Posición de la clave en la cadena (desde 1) o -1 si no está
+    int find(int home, Object key);
+
+    boolean remove(int home, Object key);
+
+    // Extrae el primer elemento de la cadena (o null si está vacía)
+    Object removeFirst(int home);
+
+    Object[] getChain(int home);
+
+    int getChainLength(int home);
+
+    int getCount();
+
+    void clear();
+}
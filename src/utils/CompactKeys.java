@@ -0,0 +1,22 @@
+package utils;
+
+/**
+ * Copia compacta de las posiciones ocupadas de una DataStructure, en orden de posición.
+ * Si todas las claves son numéricas se guardan también sus valores en un long[] paralelo,
+ * de modo que las búsquedas recorren arreglos primitivos sin huecos ni objetos.
+ * DataStructure la reconstruye solo después de una modificación.
+ */
+public final class CompactKeys {
+    // Posición (desde 0) de cada clave
+    public final int[] slots;
+    // Valor numérico de cada clave, o null si hay claves no numéricas
+    public final long[] numbers;
+
+    CompactKeys(int[] slots, long[] numbers) {
+        this.slots = slots;
+        this.numbers = numbers;
+    }
+
+    public int length() { return slots.length; }
+    public boolean isNumeric() { return numbers != null; }
+}
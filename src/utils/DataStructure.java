@@ -3,20 +3,50 @@ package utils;
 import java.util.*;
 
 public class DataStructure {
+    public static final double DEFAULT_MAX_TOMBSTONE_RATIO = 0.25;
+
+    // Claves numéricas de longitud fija en almacenamiento primitivo
+    private NumericKeyStore numericKeys;
+    // Claves no numéricas (se crea solo si aparece alguna)
     private Object[] data;
+    // Forma normalizada de cada clave no numérica, calculada al insertar
+    private SortKey[] sortKeys;
+    private Map<Object, Integer> objectIndex;
+    private int objectCount;
+    // Posiciones ocupadas y primera posición posiblemente libre
+    private BitSet usedSlots;
+    private int firstFree;
+    // Posiciones eliminadas (DELETED) que los sondeos deben saltar
+    private BitSet deletedSlots;
+    private int tombstoneCount;
+    private double maxTombstoneRatio;
     private int size;
     private int keyLength;
     private boolean initialized;
+    // Modo ordenado: claves contiguas en [0, firstFree) y siempre en orden
+    private boolean keepSorted;
+    // Se sabe que las posiciones ocupadas están en orden (si es false hay que revisarlas)
+    private boolean sorted = true;
+    // Copia compacta para las búsquedas sobre claves ordenadas (null si hubo cambios)
+    private CompactKeys compactKeys;
+    // Copia congelada en orden Eytzinger (null si hubo cambios)
+    private EytzingerLayout eytzinger;
+    // Aviso de posiciones modificadas (p. ej. para repintar solo esas celdas)
+    private ChangeListener changeListener;
 
     public DataStructure(int size, int keyLength) {
         this.size = size;
         this.keyLength = keyLength;
-        this.data = new Object[size];
+        this.numericKeys = NumericKeyStore.supports(keyLength) ? new NumericKeyStore(size, keyLength) : null;
+        this.objectIndex = new HashMap<>();
+        this.usedSlots = new BitSet(size);
+        this.deletedSlots = new BitSet(size);
+        this.maxTombstoneRatio = DEFAULT_MAX_TOMBSTONE_RATIO;
         this.initialized = false;
     }
 
     public void initialize() {
-        Arrays.fill(data, null);
+        clearSlots();
         this.initialized = true;
     }
 
@@ -25,6 +55,10 @@ public class DataStructure {
             throw new Exception("Estructura no inicializada");
         }
 
+        if (keepSorted) {
+            return insertSorted(key);
+        }
+
         if (isDuplicate(key)) {
             throw new Exception("Clave '" + key + "' ya existe");
         }
@@ -34,7 +68,7 @@ public class DataStructure {
             throw new Exception("Estructura llena");
         }
 
-        data[index] = key;
+        store(key, index);
         return index + 1; // Indexación desde 1
     }
 
@@ -43,97 +77,554 @@ public class DataStructure {
             throw new Exception("Estructura no inicializada");
         }
 
+        if (keepSorted) {
+            throw new Exception("Inserción por posición no disponible en modo ordenado");
+        }
+
         if (index < 0 || index >= size) {
             throw new Exception("Índice fuera de rango");
         }
 
-        if (data[index] != null) {
+        if (isOccupied(index)) {
             throw new Exception("Posición ocupada");
         }
 
-        data[index] = key;
+        if (isDuplicate(key)) {
+            throw new Exception("Clave '" + key + "' ya existe");
+        }
+
+        store(key, index);
         return index + 1;
     }
 
     public boolean remove(Object key) {
+        int index = search(key);
+        if (index == -1) {
+            return false;
+        }
+
+        if (keepSorted) {
+            removeSorted(index);
+        } else {
+            clearAt(index);
+        }
+        return true;
+    }
+
+    // Elimina dejando una marca DELETED para no cortar las cadenas de sondeo
+    public boolean markDeleted(Object key) {
+        if (keepSorted) {
+            // Sin sondeos no hacen falta marcas: se compacta
+            return remove(key);
+        }
+
         int index = search(key);
         if (index != -1) {
-            data[index] = null;
+            clearAt(index);
+            deletedSlots.set(index);
+            tombstoneCount++;
+            fireSlotChanged(index);
             return true;
         }
         return false;
     }
 
+    public boolean isDeleted(int index) {
+        return index >= 0 && index < size && deletedSlots.get(index);
+    }
+
+    public boolean needsRehash() {
+        return tombstoneCount > 0 && tombstoneCount > maxTombstoneRatio * size;
+    }
+
+    /**
+     * Reubica todas las claves en la misma tabla descartando las marcas DELETED.
+     * El resolver indica la nueva posición de cada clave según el método de la ventana;
+     * si falla, se restaura la distribución original.
+     */
+    public int rehash(SlotResolver resolver) throws Exception {
+        int[] positions = new int[getCount()];
+        Object[] keys = new Object[positions.length];
+        int count = 0;
+        for (int i = usedSlots.nextSetBit(0); i >= 0; i = usedSlots.nextSetBit(i + 1)) {
+            positions[count] = i;
+            keys[count++] = getAt(i);
+        }
+
+        clearSlots();
+        try {
+            for (int i = 0; i < count; i++) {
+                store(keys[i], resolver.resolve(keys[i]));
+            }
+        } catch (Exception ex) {
+            clearSlots();
+            for (int i = 0; i < count; i++) {
+                store(keys[i], positions[i]);
+            }
+            throw ex;
+        }
+        return count;
+    }
+
     public int search(Object key) {
-        for (int i = 0; i < data.length; i++) {
-            if (Objects.equals(data[i], key)) {
-                return i;
+        if (keepSorted) {
+            return sortedIndexOf(key);
+        }
+
+        long numericKey = toNumericKey(key);
+        if (numericKey >= 0) {
+            return numericKeys.indexOf(numericKey);
+        }
+
+        Integer index = objectIndex.get(key);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Búsqueda secuencial sin índices: las claves numéricas se recorren por tramos sobre el
+     * arreglo primitivo (NumericKeyStore.scan) y las demás una a una.
+     */
+    public int scan(Object key) {
+        return scan(key, 0, size);
+    }
+
+    // Igual que scan(key) pero en las posiciones [from, to); from debe ser múltiplo de NumericKeyStore.LANES
+    public int scan(Object key, int from, int to) {
+        long numericKey = toNumericKey(key);
+        if (numericKey >= 0) {
+            return numericKeys.scan(numericKey, from, to);
+        }
+
+        if (data != null) {
+            for (int i = from; i < to; i++) {
+                if (key.equals(data[i])) {
+                    return i;
+                }
             }
         }
         return -1;
     }
 
+    // Claves de [from, to) con low <= clave <= high según SortKey
+    public int countInRange(SortKey low, SortKey high, int from, int to) {
+        if (objectCount == 0 && numericKeys != null && low.isNumeric() && high.isNumeric()) {
+            return numericKeys.countInRange(low.getNumber(), high.getNumber(), from, to);
+        }
+
+        int count = 0;
+        for (int i = usedSlots.nextSetBit(from); i >= 0 && i < to; i = usedSlots.nextSetBit(i + 1)) {
+            if (compareAt(i, low) >= 0 && compareAt(i, high) <= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Posiciones (desde 0) de [from, to) cuya clave está entre low y high, en orden de posición
+    public int[] slotsInRange(SortKey low, SortKey high, int from, int to) {
+        int[] slots = new int[countInRange(low, high, from, to)];
+        int count = 0;
+        for (int i = usedSlots.nextSetBit(from); i >= 0 && i < to && count < slots.length;
+             i = usedSlots.nextSetBit(i + 1)) {
+            if (compareAt(i, low) >= 0 && compareAt(i, high) <= 0) {
+                slots[count++] = i;
+            }
+        }
+        return slots;
+    }
+
     public boolean isDuplicate(Object key) {
         return search(key) != -1;
     }
 
     public int findEmptySlot() {
-        for (int i = 0; i < data.length; i++) {
-            if (data[i] == null) {
-                return i;
-            }
+        // Todo lo anterior a firstFree está ocupado, así que la búsqueda parte de ahí
+        firstFree = usedSlots.nextClearBit(firstFree);
+        return firstFree < size ? firstFree : -1;
+    }
+
+    public boolean isOccupied(int index) {
+        return index >= 0 && index < size && usedSlots.get(index);
+    }
+
+    // Compara la clave de una posición sin materializar el String almacenado
+    public boolean containsAt(int index, Object key) {
+        if (index < 0 || index >= size) {
+            return false;
         }
-        return -1;
+
+        if (numericKeys != null && numericKeys.isOccupied(index)) {
+            long numericKey = numericKeys.parse(key);
+            return numericKey >= 0 && numericKeys.get(index) == numericKey;
+        }
+        return data != null && data[index] != null && data[index].equals(key);
     }
 
     public void sort() {
-        Object[] nonNullElements = Arrays.stream(data)
-                .filter(Objects::nonNull)
-                .toArray();
-
-        Arrays.sort(nonNullElements, (a, b) -> {
-            try {
-                return Integer.compare(Integer.parseInt(a.toString()),
-                        Integer.parseInt(b.toString()));
-            } catch (NumberFormatException e) {
-                return a.toString().compareTo(b.toString());
-            }
-        });
+        if (keepSorted) {
+            return;
+        }
 
-        Arrays.fill(data, null);
-        System.arraycopy(nonNullElements, 0, data, 0, nonNullElements.length);
+        if (objectCount == 0 && numericKeys != null) {
+            sortNumeric();
+            return;
+        }
+
+        // Las claves ya están normalizadas: el ordenamiento no convierte texto
+        SortKey[] keys = new SortKey[getCount()];
+        int count = 0;
+        for (int i = usedSlots.nextSetBit(0); i >= 0; i = usedSlots.nextSetBit(i + 1)) {
+            keys[count++] = sortKeyAt(i);
+        }
+        Arrays.parallelSort(keys, 0, count);
+
+        clearSlots();
+        for (int i = 0; i < count; i++) {
+            store(keys[i].getKey(), i);
+        }
+        sorted = true;
     }
 
+    // Todas las claves son numéricas: se ordenan en su propio long[] sin copias intermedias
+    private void sortNumeric() {
+        numericKeys.sortCompact();
+
+        int count = numericKeys.getCount();
+        usedSlots.clear();
+        usedSlots.set(0, count);
+        firstFree = count;
+        deletedSlots.clear();
+        tombstoneCount = 0;
+        invalidateSnapshots();
+        sorted = true;
+        fireCleared();
+    }
+
+    /**
+     * Activa el modo ordenado: se ordena y compacta una vez y, desde entonces, cada inserción
+     * ubica su posición con búsqueda binaria y desplaza las siguientes con arraycopy, y cada
+     * eliminación compacta. Las búsquedas pasan a ser binarias, así que no se mantienen
+     * los índices hash; al desactivarlo se reconstruyen.
+     */
+    public void setKeepSorted(boolean keepSorted) {
+        if (this.keepSorted == keepSorted) {
+            return;
+        }
+
+        if (keepSorted) {
+            sort();
+            objectIndex.clear();
+            firstFree = getCount();
+        } else if (data != null) {
+            for (int i = usedSlots.nextSetBit(0); i >= 0; i = usedSlots.nextSetBit(i + 1)) {
+                if (data[i] != null) {
+                    objectIndex.put(data[i], i);
+                }
+            }
+        }
+        if (numericKeys != null) {
+            numericKeys.setIndexed(!keepSorted);
+        }
+        this.keepSorted = keepSorted;
+    }
+
+    public boolean isKeepSorted() { return keepSorted; }
+
+    // Indicador O(1); solo si una inserción pudo romper el orden se revisan las posiciones
     public boolean isSorted() {
-        Object[] nonNullElements = Arrays.stream(data)
-                .filter(Objects::nonNull)
-                .toArray();
-
-        for (int i = 1; i < nonNullElements.length; i++) {
-            try {
-                int prev = Integer.parseInt(nonNullElements[i-1].toString());
-                int curr = Integer.parseInt(nonNullElements[i].toString());
-                if (prev > curr) return false;
-            } catch (NumberFormatException e) {
-                String prev = nonNullElements[i-1].toString();
-                String curr = nonNullElements[i].toString();
-                if (prev.compareTo(curr) > 0) return false;
+        if (!sorted) {
+            sorted = checkSorted();
+        }
+        return sorted;
+    }
+
+    private boolean checkSorted() {
+        int previous = -1;
+        for (int i = usedSlots.nextSetBit(0); i >= 0; i = usedSlots.nextSetBit(i + 1)) {
+            if (previous >= 0 && compareSlots(previous, i) > 0) {
+                return false;
             }
+            previous = i;
         }
         return true;
     }
 
+    // Compara la clave de una posición ocupada con otra clave (negativo si la de la posición es menor)
+    public int compareAt(int index, SortKey key) {
+        if (numericKeys != null && numericKeys.isOccupied(index) && key.isNumeric()) {
+            return Long.compare(numericKeys.get(index), key.getNumber());
+        }
+        return sortKeyAt(index).compareTo(key);
+    }
+
+    /**
+     * Posiciones ocupadas en orden y, si todas las claves son numéricas, sus valores.
+     * Se reutiliza entre búsquedas mientras la estructura no cambie.
+     */
+    public CompactKeys getCompactKeys() {
+        if (compactKeys == null) {
+            int[] slots = new int[getCount()];
+            boolean numeric = numericKeys != null && objectCount == 0;
+            long[] numbers = numeric ? new long[slots.length] : null;
+            int count = 0;
+            for (int i = usedSlots.nextSetBit(0); i >= 0; i = usedSlots.nextSetBit(i + 1)) {
+                if (numeric) {
+                    numbers[count] = numericKeys.get(i);
+                }
+                slots[count++] = i;
+            }
+            compactKeys = new CompactKeys(slots, numbers);
+        }
+        return compactKeys;
+    }
+
+    /**
+     * Copia de solo lectura en orden Eytzinger para búsquedas sin saltos condicionales.
+     * Requiere que la estructura esté ordenada y que todas las claves sean numéricas
+     * (si no, devuelve null); se construye una vez y se reutiliza hasta el siguiente cambio.
+     */
+    public EytzingerLayout getEytzingerLayout() {
+        if (eytzinger == null) {
+            CompactKeys keys = getCompactKeys();
+            if (!keys.isNumeric()) {
+                return null;
+            }
+            eytzinger = EytzingerLayout.from(keys);
+        }
+        return eytzinger;
+    }
+
+    public boolean hasEytzingerLayout() { return eytzinger != null; }
+
+    private void invalidateSnapshots() {
+        compactKeys = null;
+        eytzinger = null;
+    }
+
+    // Primera posición de [0, count) cuya clave no es menor que target (modo ordenado)
+    private int lowerBound(SortKey target, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(mid, target) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int sortedIndexOf(Object key) {
+        SortKey target = SortKey.of(key);
+        // Claves distintas pueden compararse iguales (p. ej. "7" y "007")
+        for (int i = lowerBound(target, firstFree); i < firstFree && compareAt(i, target) == 0; i++) {
+            if (containsAt(i, key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int insertSorted(Object key) throws Exception {
+        SortKey target = SortKey.of(key);
+        int count = firstFree;
+        int index = lowerBound(target, count);
+        while (index < count && compareAt(index, target) == 0) {
+            if (containsAt(index, key)) {
+                throw new Exception("Clave '" + key + "' ya existe");
+            }
+            index++;
+        }
+
+        if (count == size) {
+            throw new Exception("Estructura llena");
+        }
+
+        // Abrir el hueco desplazando [index, count) una posición a la derecha
+        if (numericKeys != null) {
+            numericKeys.shiftRight(index, count);
+        }
+        if (data != null) {
+            System.arraycopy(data, index, data, index + 1, count - index);
+            System.arraycopy(sortKeys, index, sortKeys, index + 1, count - index);
+            data[index] = null;
+            sortKeys[index] = null;
+        }
+        usedSlots.set(count);
+        firstFree = count + 1;
+
+        store(key, index);
+        for (int i = index + 1; i <= count; i++) {
+            fireSlotChanged(i);
+        }
+        return index + 1;
+    }
+
+    private void removeSorted(int index) {
+        int count = firstFree;
+        clearAt(index);
+
+        // Cerrar el hueco desplazando (index, count) una posición a la izquierda
+        if (numericKeys != null) {
+            numericKeys.shiftLeft(index, count);
+        }
+        if (data != null) {
+            System.arraycopy(data, index + 1, data, index, count - index - 1);
+            System.arraycopy(sortKeys, index + 1, sortKeys, index, count - index - 1);
+            data[count - 1] = null;
+            sortKeys[count - 1] = null;
+        }
+        usedSlots.set(index);
+        usedSlots.clear(count - 1);
+        firstFree = count - 1;
+        invalidateSnapshots();
+
+        for (int i = index + 1; i < count; i++) {
+            fireSlotChanged(i);
+        }
+    }
+
+    private int compareSlots(int a, int b) {
+        if (numericKeys != null && numericKeys.isOccupied(a) && numericKeys.isOccupied(b)) {
+            return Long.compare(numericKeys.get(a), numericKeys.get(b));
+        }
+        return sortKeyAt(a).compareTo(sortKeyAt(b));
+    }
+
+    private SortKey sortKeyAt(int index) {
+        if (numericKeys != null && numericKeys.isOccupied(index)) {
+            long value = numericKeys.get(index);
+            return SortKey.ofNumber(numericKeys.format(value), value);
+        }
+        return sortKeys[index];
+    }
+
     public void reset() {
-        Arrays.fill(data, null);
+        clearSlots();
         initialized = false;
     }
 
+    private long toNumericKey(Object key) {
+        return numericKeys == null ? -1 : numericKeys.parse(key);
+    }
+
+    private void store(Object key, int index) {
+        invalidateSnapshots();
+        usedSlots.set(index);
+        if (deletedSlots.get(index)) {
+            deletedSlots.clear(index);
+            tombstoneCount--;
+        }
+
+        long numericKey = toNumericKey(key);
+        if (numericKey >= 0) {
+            numericKeys.put(index, numericKey);
+        } else {
+            if (data == null) {
+                data = new Object[size];
+                sortKeys = new SortKey[size];
+            }
+            data[index] = key;
+            sortKeys[index] = SortKey.of(key);
+            objectCount++;
+            if (!keepSorted) {
+                objectIndex.put(key, index);
+            }
+        }
+
+        if (sorted && !keepSorted) {
+            // Basta comparar con las posiciones ocupadas vecinas
+            int previous = usedSlots.previousSetBit(index - 1);
+            int next = usedSlots.nextSetBit(index + 1);
+            if ((previous >= 0 && compareSlots(previous, index) > 0)
+                    || (next >= 0 && compareSlots(index, next) > 0)) {
+                sorted = false;
+            }
+        }
+        fireSlotChanged(index);
+    }
+
+    private void clearAt(int index) {
+        invalidateSnapshots();
+        usedSlots.clear(index);
+        firstFree = Math.min(firstFree, index);
+
+        if (numericKeys != null) {
+            numericKeys.clear(index);
+        }
+        if (data != null && data[index] != null) {
+            objectIndex.remove(data[index]);
+            data[index] = null;
+            sortKeys[index] = null;
+            objectCount--;
+        }
+        fireSlotChanged(index);
+    }
+
+    private void clearSlots() {
+        if (numericKeys != null) {
+            numericKeys.clearAll();
+        }
+        data = null;
+        sortKeys = null;
+        objectIndex.clear();
+        objectCount = 0;
+        invalidateSnapshots();
+        usedSlots.clear();
+        firstFree = 0;
+        sorted = true;
+        deletedSlots.clear();
+        tombstoneCount = 0;
+        fireCleared();
+    }
+
+    private void fireSlotChanged(int index) {
+        if (changeListener != null) {
+            changeListener.slotChanged(index);
+        }
+    }
+
+    private void fireCleared() {
+        if (changeListener != null) {
+            changeListener.structureChanged();
+        }
+    }
+
     // Getters
-    public Object[] getData() { return data.clone(); }
+    public Object[] getData() {
+        Object[] snapshot = new Object[size];
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = getAt(i);
+        }
+        return snapshot;
+    }
     public int getSize() { return size; }
     public int getKeyLength() { return keyLength; }
     public boolean isInitialized() { return initialized; }
+    public int getCount() { return usedSlots.cardinality(); }
+    public int getTombstoneCount() { return tombstoneCount; }
+    public double getMaxTombstoneRatio() { return maxTombstoneRatio; }
+    public void setMaxTombstoneRatio(double maxTombstoneRatio) { this.maxTombstoneRatio = maxTombstoneRatio; }
+    public void setChangeListener(ChangeListener changeListener) { this.changeListener = changeListener; }
     public Object getAt(int index) {
-        return (index >= 0 && index < size) ? data[index] : null;
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        if (numericKeys != null && numericKeys.isOccupied(index)) {
+            return numericKeys.format(numericKeys.get(index));
+        }
+        return data != null ? data[index] : null;
+    }
+
+    public interface SlotResolver {
+        int resolve(Object key) throws Exception;
+    }
+
+    // Puede invocarse desde el hilo que modifica la estructura (p. ej. una carga masiva)
+    public interface ChangeListener {
+        void slotChanged(int index);
+        void structureChanged();
     }
 }
@@ -0,0 +1,42 @@
+package utils;
+
+/**
+ * Política de reemplazo del buffer pool, con el texto que muestran las ventanas.
+ * LRU desaloja el marco libre de fijaciones que lleva más tiempo sin usarse; CLOCK recorre
+ * los marcos en círculo dando una segunda oportunidad a los que se usaron desde la última vuelta.
+ */
+public enum EvictionPolicy {
+    LRU("LRU"),
+    CLOCK("CLOCK");
+
+    private final String label;
+
+    EvictionPolicy(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public static String[] labels() {
+        EvictionPolicy[] policies = values();
+        String[] labels = new String[policies.length];
+        for (int i = 0; i < policies.length; i++) {
+            labels[i] = policies[i].label;
+        }
+        return labels;
+    }
+
+    public static EvictionPolicy fromLabel(String label) throws Exception {
+        for (EvictionPolicy policy : values()) {
+            if (policy.label.equals(label)) {
+                return policy;
+            }
+        }
+        throw new Exception("Política de reemplazo no implementada");
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,69 @@
+package utils;
+
+/**
+ * Copia congelada de claves numéricas ordenadas en orden Eytzinger (por niveles, como un
+ * montículo: los hijos de k están en 2k y 2k+1). Los primeros niveles del árbol quedan
+ * juntos en memoria, así que las primeras comparaciones de cada búsqueda caen en las mismas
+ * líneas de caché; la búsqueda baja sin saltos condicionales y al final recupera la posición.
+ * Es de solo lectura: DataStructure la reconstruye si la estructura cambia.
+ */
+public final class EytzingerLayout {
+    // Claves desde la posición 1 (la 0 no se usa)
+    private final long[] keys;
+    // Posición original (desde 0) de cada clave en la DataStructure
+    private final int[] slots;
+    private final int length;
+
+    private EytzingerLayout(int length) {
+        this.length = length;
+        this.keys = new long[length + 1];
+        this.slots = new int[length + 1];
+    }
+
+    // Requiere claves numéricas en orden (CompactKeys.isNumeric())
+    public static EytzingerLayout from(CompactKeys sorted) {
+        EytzingerLayout layout = new EytzingerLayout(sorted.length());
+        layout.fill(sorted, 0, 1);
+        return layout;
+    }
+
+    // Recorrido en orden del árbol implícito: asigna las claves ordenadas a sus nodos
+    private int fill(CompactKeys sorted, int next, int node) {
+        if (node <= length) {
+            next = fill(sorted, next, 2 * node);
+            keys[node] = sorted.numbers[next];
+            slots[node] = sorted.slots[next];
+            next++;
+            next = fill(sorted, next, 2 * node + 1);
+        }
+        return next;
+    }
+
+    /**
+     * Nodo con la menor clave mayor o igual que target, o 0 si no hay ninguna.
+     * En cada nivel se baja a 2k o 2k+1 según la comparación, sin ramas.
+     */
+    public int lowerBound(long target) {
+        int node = 1;
+        while (node <= length) {
+            node = 2 * node + (keys[node] < target ? 1 : 0);
+        }
+        // Quitar los giros a la derecha del final y el último a la izquierda
+        return node >>> (Integer.numberOfTrailingZeros(~node) + 1);
+    }
+
+    // Posición (desde 0) de la clave en la DataStructure o -1
+    public int search(long target) {
+        int node = lowerBound(target);
+        return node != 0 && keys[node] == target ? slots[node] : -1;
+    }
+
+    // Comparaciones de una búsqueda: una por nivel del árbol
+    public int getDepth() {
+        return 32 - Integer.numberOfLeadingZeros(length);
+    }
+
+    public long keyAt(int node) { return keys[node]; }
+    public int slotAt(int node) { return slots[node]; }
+    public int length() { return length; }
+}
@@ -0,0 +1,141 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Directorio de claves límite (fence keys) de una BlockStructure: por bloque, cuántas claves
+ * tiene y cuáles son la menor y la mayor. Se actualiza en cada inserción, eliminación y
+ * ordenamiento, así que la búsqueda binaria elige el bloque sin leer ninguno. Mientras todas
+ * las claves sean numéricas los límites se comparan en los arreglos long; si no, con SortKey.
+ */
+public final class FenceDirectory {
+    private final int[] counts;
+    private final SortKey[] minKeys;
+    private final SortKey[] maxKeys;
+    private final long[] minNumbers;
+    private final long[] maxNumbers;
+    // Claves no numéricas en la estructura; con alguna, los arreglos long no sirven
+    private int nonNumericKeys;
+
+    FenceDirectory(int numBlocks) {
+        this.counts = new int[numBlocks];
+        this.minKeys = new SortKey[numBlocks];
+        this.maxKeys = new SortKey[numBlocks];
+        this.minNumbers = new long[numBlocks];
+        this.maxNumbers = new long[numBlocks];
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(minKeys, null);
+        Arrays.fill(maxKeys, null);
+        nonNumericKeys = 0;
+    }
+
+    // Clave agregada al bloque: solo puede ampliar sus límites
+    void added(int block, SortKey key) {
+        if (!key.isNumeric()) {
+            nonNumericKeys++;
+        }
+        if (counts[block]++ == 0 || key.compareTo(minKeys[block]) < 0) {
+            setMin(block, key);
+        }
+        if (counts[block] == 1 || key.compareTo(maxKeys[block]) > 0) {
+            setMax(block, key);
+        }
+    }
+
+    // Clave quitada del bloque: si era uno de sus límites se recalculan con las claves restantes
+    void removed(int block, SortKey key, SortKey[] blockKeys) {
+        if (!key.isNumeric()) {
+            nonNumericKeys--;
+        }
+        counts[block]--;
+        if (key.compareTo(minKeys[block]) == 0 || key.compareTo(maxKeys[block]) == 0) {
+            rebuild(block, blockKeys);
+        }
+    }
+
+    // Recalcula la entrada del bloque (sin tocar el total de claves no numéricas)
+    void rebuild(int block, SortKey[] blockKeys) {
+        counts[block] = 0;
+        minKeys[block] = null;
+        maxKeys[block] = null;
+        for (SortKey key : blockKeys) {
+            if (key == null) {
+                continue;
+            }
+            if (counts[block]++ == 0 || key.compareTo(minKeys[block]) < 0) {
+                setMin(block, key);
+            }
+            if (counts[block] == 1 || key.compareTo(maxKeys[block]) > 0) {
+                setMax(block, key);
+            }
+        }
+    }
+
+    // Recalcula todo el directorio (p. ej. después de ordenar)
+    void rebuild(SortKey[][] blocks) {
+        nonNumericKeys = 0;
+        for (int block = 0; block < blocks.length; block++) {
+            rebuild(block, blocks[block]);
+            for (SortKey key : blocks[block]) {
+                if (key != null && !key.isNumeric()) {
+                    nonNumericKeys++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compara la clave con los límites del bloque: negativo si es menor que su mínimo, positivo
+     * si es mayor que su máximo y 0 si cae dentro. El bloque no debe estar vacío.
+     */
+    int compare(int block, SortKey target) {
+        if (nonNumericKeys == 0 && target.isNumeric()) {
+            long number = target.getNumber();
+            return number < minNumbers[block] ? -1 : (number > maxNumbers[block] ? 1 : 0);
+        }
+        if (target.compareTo(minKeys[block]) < 0) {
+            return -1;
+        }
+        return target.compareTo(maxKeys[block]) > 0 ? 1 : 0;
+    }
+
+    // Primer bloque con claves en [from, to], o -1
+    int nextNonEmpty(int from, int to) {
+        for (int block = from; block <= to; block++) {
+            if (counts[block] > 0) {
+                return block;
+            }
+        }
+        return -1;
+    }
+
+    // Último bloque con claves en [to, from], o -1
+    int previousNonEmpty(int from, int to) {
+        for (int block = from; block >= to; block--) {
+            if (counts[block] > 0) {
+                return block;
+            }
+        }
+        return -1;
+    }
+
+    private void setMin(int block, SortKey key) {
+        minKeys[block] = key;
+        minNumbers[block] = key.getNumber();
+    }
+
+    private void setMax(int block, SortKey key) {
+        maxKeys[block] = key;
+        maxNumbers[block] = key.getNumber();
+    }
+
+    public int size() { return counts.length; }
+    public int getCount(int block) { return counts[block]; }
+    public boolean isEmpty(int block) { return counts[block] == 0; }
+    // Límites del bloque (null si está vacío)
+    public SortKey getMin(int block) { return minKeys[block]; }
+    public SortKey getMax(int block) { return maxKeys[block]; }
+}
@@ -0,0 +1,62 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Plegamiento: suma de grupos de cifras de izquierda a derecha, módulo el tamaño de la tabla
+public class FoldingHash implements HashFunction {
+    private final int tableSize;
+    private final int keyLength;
+    private final int groupSize;
+    // Divisor y módulo de cada grupo, calculados una sola vez
+    private final long[] groupDivisors;
+    private final long[] groupModuli;
+
+    public FoldingHash(int tableSize, int keyLength, int groupSize) {
+        this.tableSize = tableSize;
+        this.keyLength = keyLength;
+        this.groupSize = groupSize;
+
+        int groups = (keyLength + groupSize - 1) / groupSize;
+        this.groupDivisors = new long[groups];
+        this.groupModuli = new long[groups];
+
+        for (int g = 0; g < groups; g++) {
+            int start = g * groupSize;
+            int end = Math.min(start + groupSize, keyLength);
+            groupDivisors[g] = POWERS_OF_TEN[keyLength - end];
+            groupModuli[g] = POWERS_OF_TEN[end - start];
+        }
+    }
+
+    @Override
+    public int hash(long key) {
+        return (int) (sum(key) % tableSize) + 1;
+    }
+
+    private long sum(long key) {
+        long sum = 0;
+        for (int g = 0; g < groupDivisors.length; g++) {
+            sum += (key / groupDivisors[g]) % groupModuli[g];
+        }
+        return sum;
+    }
+
+    @Override
+    public List<String> explain(long key) {
+        List<String> steps = new ArrayList<>();
+        steps.add(String.format("Calculando hash por plegamiento para clave: %0" + keyLength + "d", key));
+        steps.add(String.format("Tamaño de grupo: %d cifras", groupSize));
+
+        for (int g = 0; g < groupDivisors.length; g++) {
+            long groupValue = (key / groupDivisors[g]) % groupModuli[g];
+            int width = HashFunction.digitCount(groupModuli[g]) - 1;
+            steps.add(String.format("Grupo: %0" + width + "d = %d", groupValue, groupValue));
+        }
+
+        long sum = sum(key);
+        steps.add(String.format("Suma total de grupos: %d", sum));
+        steps.add(String.format("Hash calculado: (%d %% %d) + 1 = %d", sum, tableSize, hash(key)));
+        return steps;
+    }
+}
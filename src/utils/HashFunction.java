@@ -0,0 +1,45 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * Función hash sobre claves numéricas. Las implementaciones reciben sus parámetros
+ * (tamaño de tabla, grupos, posiciones) una sola vez al inicializar y calculan
+ * la posición solo con aritmética, sin crear Strings por clave.
+ */
+public interface HashFunction {
+    long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    // Posición en la tabla, indexada desde 1
+    int hash(long key);
+
+    // Pasos intermedios del cálculo para mostrarlos en el terminal
+    List<String> explain(long key);
+
+    static long toNumericKey(String key) throws Exception {
+        long numericKey = NumericKeyStore.parse(key, key.length());
+        if (numericKey < 0) {
+            throw new Exception(String.format("La clave '%s' debe ser numérica (máximo %d dígitos)",
+                    key, NumericKeyStore.MAX_DIGITS));
+        }
+        return numericKey;
+    }
+
+    static int digitCount(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    // Dígitos [start, end) de un número de 'length' cifras, contando desde la izquierda
+    static long digitRange(long value, int length, int start, int end) {
+        return (value / POWERS_OF_TEN[length - end]) % POWERS_OF_TEN[end - start];
+    }
+}
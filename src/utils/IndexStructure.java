@@ -3,6 +3,8 @@ package utils;
 import java.util.*;
 
 public class IndexStructure {
+    private static final Comparator<IndexEntry> BY_KEY = (a, b) -> a.sortKey.compareTo(b.sortKey);
+
     private List<IndexEntry> entries;
     private String indexType;
     private int maxEntriesPerLevel;
@@ -11,6 +13,8 @@ public class IndexStructure {
 
     public static class IndexEntry {
         public Object key;
+        // Forma normalizada de la clave para ordenar y comparar
+        public final SortKey sortKey;
         public Object value;
         public int blockPointer;
         public List<Integer> recordPointers;
@@ -18,6 +22,7 @@ public class IndexStructure {
 
         public IndexEntry(Object key, Object value, int blockPointer) {
             this.key = key;
+            this.sortKey = SortKey.of(key);
             this.value = value;
             this.blockPointer = blockPointer;
             this.recordPointers = new ArrayList<>();
@@ -44,13 +49,19 @@ public class IndexStructure {
         public final int level;
         public final int position;
         public final List<SearchStep> steps;
+        // Niveles recorridos y claves comparadas (0 con TraceMode.NONE)
+        public final int levelAccesses;
+        public final int comparisons;
 
-        public SearchResult(boolean found, IndexEntry entry, int level, int position, List<SearchStep> steps) {
+        public SearchResult(boolean found, IndexEntry entry, int level, int position, List<SearchStep> steps,
+                            int levelAccesses, int comparisons) {
             this.found = found;
             this.entry = entry;
             this.level = level;
             this.position = position;
             this.steps = steps;
+            this.levelAccesses = levelAccesses;
+            this.comparisons = comparisons;
         }
     }
 
@@ -103,7 +114,7 @@ public class IndexStructure {
         }
 
         entries.add(entry);
-        Collections.sort(entries, (a, b) -> compareKeys(a.key, b.key));
+        entries.sort(BY_KEY);
 
         if (isMultilevel && !levels.isEmpty()) {
             levels.get(0).clear();
@@ -122,7 +133,7 @@ public class IndexStructure {
             // Nueva clave secundaria
             entry.recordPointers.add(entry.blockPointer);
             entries.add(entry);
-            Collections.sort(entries, (a, b) -> compareKeys(a.key, b.key));
+            entries.sort(BY_KEY);
         }
 
         if (isMultilevel && !levels.isEmpty()) {
@@ -182,36 +193,51 @@ public class IndexStructure {
     }
 
     public SearchResult search(Object key) {
-        List<SearchStep> steps = new ArrayList<>();
+        return search(key, TraceMode.FULL);
+    }
+
+    public SearchResult search(Object key, TraceMode traceMode) {
+        SearchTrace trace = new SearchTrace(traceMode);
 
         if (isMultilevel) {
-            return searchMultilevel(key, steps);
+            return searchMultilevel(key, trace);
         } else {
-            return searchSingleLevel(key, steps);
+            return searchSingleLevel(key, trace);
         }
     }
 
-    private SearchResult searchSingleLevel(Object key, List<SearchStep> steps) {
+    private SearchResult searchSingleLevel(Object key, SearchTrace trace) {
+        trace.levelAccess();
         for (int i = 0; i < entries.size(); i++) {
             IndexEntry entry = entries.get(i);
-            steps.add(new SearchStep(0, i, entry.key, "Comparando con " + entry.key));
+            trace.comparison();
+            if (trace.recordsSteps()) {
+                trace.add(new SearchStep(0, i, entry.key, "Comparando con " + entry.key));
+            }
 
             if (entry.key.equals(key)) {
-                steps.add(new SearchStep(0, i, entry.key, "¡Encontrado!"));
-                return new SearchResult(true, entry, 0, i, steps);
+                if (trace.recordsSteps()) {
+                    trace.add(new SearchStep(0, i, entry.key, "¡Encontrado!"));
+                }
+                return trace.result(true, entry, 0, i);
             }
         }
 
-        return new SearchResult(false, null, 0, -1, steps);
+        return trace.result(false, null, 0, -1);
     }
 
-    private SearchResult searchMultilevel(Object key, List<SearchStep> steps) {
+    private SearchResult searchMultilevel(Object key, SearchTrace trace) {
+        SortKey target = SortKey.of(key);
+
         // Comenzar desde el nivel más alto
         int currentLevel = levels.size() - 1;
 
         while (currentLevel >= 0) {
             List<IndexEntry> levelEntries = levels.get(currentLevel);
-            steps.add(new SearchStep(currentLevel, -1, key, "Buscando en nivel " + currentLevel));
+            trace.levelAccess();
+            if (trace.recordsSteps()) {
+                trace.add(new SearchStep(currentLevel, -1, key, "Buscando en nivel " + currentLevel));
+            }
 
             // Buscar en el nivel actual
             IndexEntry foundEntry = null;
@@ -219,9 +245,12 @@ public class IndexStructure {
 
             for (int i = 0; i < levelEntries.size(); i++) {
                 IndexEntry entry = levelEntries.get(i);
-                steps.add(new SearchStep(currentLevel, i, entry.key, "Comparando con " + entry.key));
+                trace.comparison();
+                if (trace.recordsSteps()) {
+                    trace.add(new SearchStep(currentLevel, i, entry.key, "Comparando con " + entry.key));
+                }
 
-                if (compareKeys(key, entry.key) <= 0) {
+                if (target.compareTo(entry.sortKey) <= 0) {
                     foundEntry = entry;
                     position = i;
                     break;
@@ -231,10 +260,12 @@ public class IndexStructure {
             if (currentLevel == 0) {
                 // Nivel hoja
                 if (foundEntry != null && foundEntry.key.equals(key)) {
-                    steps.add(new SearchStep(currentLevel, position, foundEntry.key, "¡Encontrado en nivel hoja!"));
-                    return new SearchResult(true, foundEntry, currentLevel, position, steps);
+                    if (trace.recordsSteps()) {
+                        trace.add(new SearchStep(currentLevel, position, foundEntry.key, "¡Encontrado en nivel hoja!"));
+                    }
+                    return trace.result(true, foundEntry, currentLevel, position);
                 } else {
-                    return new SearchResult(false, null, currentLevel, -1, steps);
+                    return trace.result(false, null, currentLevel, -1);
                 }
             } else {
                 // Nivel interno - continuar búsqueda
@@ -242,7 +273,44 @@ public class IndexStructure {
             }
         }
 
-        return new SearchResult(false, null, 0, -1, steps);
+        return trace.result(false, null, 0, -1);
+    }
+
+    // Pasos y contadores de una búsqueda según el modo de traza
+    private static final class SearchTrace {
+        private final TraceMode mode;
+        private final List<SearchStep> steps;
+        private int levelAccesses;
+        private int comparisons;
+
+        SearchTrace(TraceMode mode) {
+            this.mode = mode;
+            this.steps = mode.recordsSteps() ? new ArrayList<>() : Collections.emptyList();
+        }
+
+        boolean recordsSteps() {
+            return mode.recordsSteps();
+        }
+
+        void add(SearchStep step) {
+            steps.add(step);
+        }
+
+        void levelAccess() {
+            if (mode.countsAccesses()) {
+                levelAccesses++;
+            }
+        }
+
+        void comparison() {
+            if (mode.countsAccesses()) {
+                comparisons++;
+            }
+        }
+
+        SearchResult result(boolean found, IndexEntry entry, int level, int position) {
+            return new SearchResult(found, entry, level, position, steps, levelAccesses, comparisons);
+        }
     }
 
     public boolean remove(Object key) {
@@ -274,14 +342,6 @@ public class IndexStructure {
         checkMultilevelReorganization();
     }
 
-    private int compareKeys(Object a, Object b) {
-        try {
-            return Integer.compare(Integer.parseInt(a.toString()), Integer.parseInt(b.toString()));
-        } catch (NumberFormatException e) {
-            return a.toString().compareTo(b.toString());
-        }
-    }
-
     public void reset() {
         entries.clear();
         levels.clear();
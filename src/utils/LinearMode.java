@@ -0,0 +1,47 @@
+package utils;
+
+/**
+ * Variante de la búsqueda lineal, con el texto que muestran las ventanas.
+ * SEQUENTIAL compara posición por posición; CHUNKED recorre el arreglo primitivo
+ * de claves comparando NumericKeyStore.LANES claves por tramo; PARALLEL reparte la
+ * tabla (o los bloques) entre los hilos del ForkJoinPool común.
+ */
+public enum LinearMode {
+    SEQUENTIAL("Secuencial"),
+    CHUNKED("Por tramos"),
+    PARALLEL("Paralela");
+
+    private final String label;
+
+    LinearMode(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public static String[] labels() {
+        return labels(values());
+    }
+
+    public static String[] labels(LinearMode... modes) {
+        String[] labels = new String[modes.length];
+        for (int i = 0; i < modes.length; i++) {
+            labels[i] = modes[i].label;
+        }
+        return labels;
+    }
+
+    public static LinearMode fromLabel(String label) throws Exception {
+        for (LinearMode mode : values()) {
+            if (mode.label.equals(label)) {
+                return mode;
+            }
+        }
+        throw new Exception("Modo de búsqueda no implementado");
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
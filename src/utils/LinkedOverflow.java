@@ -0,0 +1,147 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Estructuras enlazadas: los nodos de desbordamiento viven en arreglos compactos
+ * (clave + índice del siguiente nodo) y cada posición de la tabla apunta al primero
+ * y al último nodo de su lista. Los nodos liberados se reutilizan mediante una lista libre.
+ */
+public class LinkedOverflow implements CollisionChains {
+    private static final int NIL = -1;
+    private static final int INITIAL_NODES = 16;
+
+    private final int[] heads;
+    private final int[] tails;
+    private final int[] lengths;
+    private Object[] nodeKeys;
+    private int[] next;
+    private int usedNodes;
+    private int freeList;
+    private int count;
+
+    public LinkedOverflow(int tableSize) {
+        this.heads = new int[tableSize];
+        this.tails = new int[tableSize];
+        this.lengths = new int[tableSize];
+        this.nodeKeys = new Object[INITIAL_NODES];
+        this.next = new int[INITIAL_NODES];
+        clear();
+    }
+
+    @Override
+    public int add(int home, Object key) {
+        int node = allocateNode();
+        nodeKeys[node] = key;
+        next[node] = NIL;
+
+        if (heads[home] == NIL) {
+            heads[home] = node;
+        } else {
+            next[tails[home]] = node;
+        }
+        tails[home] = node;
+
+        count++;
+        return ++lengths[home];
+    }
+
+    @Override
+    public int find(int home, Object key) {
+        int position = 1;
+        for (int node = heads[home]; node != NIL; node = next[node]) {
+            if (nodeKeys[node].equals(key)) {
+                return position;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean remove(int home, Object key) {
+        int previous = NIL;
+        for (int node = heads[home]; node != NIL; node = next[node]) {
+            if (nodeKeys[node].equals(key)) {
+                unlink(home, previous, node);
+                return true;
+            }
+            previous = node;
+        }
+        return false;
+    }
+
+    @Override
+    public Object removeFirst(int home) {
+        int node = heads[home];
+        if (node == NIL) {
+            return null;
+        }
+        Object first = nodeKeys[node];
+        unlink(home, NIL, node);
+        return first;
+    }
+
+    private void unlink(int home, int previous, int node) {
+        if (previous == NIL) {
+            heads[home] = next[node];
+        } else {
+            next[previous] = next[node];
+        }
+        if (tails[home] == node) {
+            tails[home] = previous;
+        }
+
+        nodeKeys[node] = null;
+        next[node] = freeList;
+        freeList = node;
+
+        lengths[home]--;
+        count--;
+    }
+
+    private int allocateNode() {
+        if (freeList != NIL) {
+            int node = freeList;
+            freeList = next[node];
+            return node;
+        }
+
+        if (usedNodes == nodeKeys.length) {
+            nodeKeys = Arrays.copyOf(nodeKeys, nodeKeys.length * 2);
+            next = Arrays.copyOf(next, next.length * 2);
+        }
+        return usedNodes++;
+    }
+
+    @Override
+    public Object[] getChain(int home) {
+        Object[] chain = new Object[lengths[home]];
+        int i = 0;
+        for (int node = heads[home]; node != NIL; node = next[node]) {
+            chain[i++] = nodeKeys[node];
+        }
+        return chain;
+    }
+
+    @Override
+    public int getChainLength(int home) {
+        return lengths[home];
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(heads, NIL);
+        Arrays.fill(tails, NIL);
+        Arrays.fill(lengths, 0);
+        Arrays.fill(nodeKeys, null);
+        usedNodes = 0;
+        freeList = NIL;
+        count = 0;
+    }
+}
@@ -0,0 +1,42 @@
+package utils;
+
+/**
+ * Niveles de detalle del terminal, de más a menos verboso.
+ * TRACE cubre los pasos internos (cada intento de sondeo, cada bit recorrido).
+ */
+public enum LogLevel {
+    TRACE("Traza", "trace"),
+    INFO("Información", "info"),
+    WARN("Advertencia", "warning"),
+    ERROR("Error", "error");
+
+    private final String label;
+    private final String type;
+
+    LogLevel(String label, String type) {
+        this.label = label;
+        this.type = type;
+    }
+
+    // Tipo de mensaje (icono) que se usa cuando no se indica otro
+    public String getType() { return type; }
+
+    public boolean includes(LogLevel level) {
+        return level.ordinal() >= ordinal();
+    }
+
+    // Nivel equivalente a los tipos usados por logToTerminal
+    public static LogLevel fromType(String type) {
+        switch (type.toLowerCase()) {
+            case "error": return ERROR;
+            case "warning": return WARN;
+            case "trace": return TRACE;
+            default: return INFO;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
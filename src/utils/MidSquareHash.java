@@ -0,0 +1,52 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Cuadrado medio: dígitos centrales de clave², módulo el tamaño de la tabla
+public class MidSquareHash implements HashFunction {
+    private final int tableSize;
+    private final int keyLength;
+
+    public MidSquareHash(int tableSize, int keyLength) {
+        this.tableSize = tableSize;
+        this.keyLength = keyLength;
+    }
+
+    @Override
+    public int hash(long key) {
+        return (int) (middleDigits(square(key)) % tableSize) + 1;
+    }
+
+    private long square(long key) {
+        // Las claves de más de 9 dígitos desbordan el long, igual que antes; se descarta el signo
+        return (key * key) & Long.MAX_VALUE;
+    }
+
+    private long middleDigits(long squared) {
+        int length = HashFunction.digitCount(squared);
+        int start = length / 4;
+        int end = length - start;
+
+        if (start >= end) {
+            start = 0;
+            end = Math.min(3, length); // Tomar hasta 3 dígitos si el número es muy pequeño
+        }
+
+        return HashFunction.digitRange(squared, length, start, end);
+    }
+
+    @Override
+    public List<String> explain(long key) {
+        long squared = square(key);
+        long middle = middleDigits(squared);
+        String keyText = String.format("%0" + keyLength + "d", key);
+
+        List<String> steps = new ArrayList<>();
+        steps.add(String.format("Clave: %s", keyText));
+        steps.add(String.format("Cuadrado: %s² = %d", keyText, squared));
+        steps.add(String.format("Dígitos centrales extraídos: %d", middle));
+        steps.add(String.format("Hash calculado: (%d %% %d) + 1 = %d", middle, tableSize, hash(key)));
+        return steps;
+    }
+}
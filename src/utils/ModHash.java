@@ -0,0 +1,24 @@
+package utils;
+
+import java.util.Collections;
+import java.util.List;
+
+// Hash Mod: (clave % tamaño) + 1
+public class ModHash implements HashFunction {
+    private final int tableSize;
+
+    public ModHash(int tableSize) {
+        this.tableSize = tableSize;
+    }
+
+    @Override
+    public int hash(long key) {
+        return (int) (key % tableSize) + 1;
+    }
+
+    @Override
+    public List<String> explain(long key) {
+        return Collections.singletonList(String.format("Hash calculado: (%d %% %d) + 1 = %d",
+                key, tableSize, hash(key)));
+    }
+}
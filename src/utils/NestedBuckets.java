@@ -0,0 +1,98 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Estructuras anidadas: cada posición de la tabla tiene su propio arreglo
+ * de desbordamiento, que se crea al primer choque y duplica su tamaño al llenarse.
+ */
+public class NestedBuckets implements CollisionChains {
+    private static final int INITIAL_BUCKET_SIZE = 2;
+
+    private final Object[][] buckets;
+    private final int[] lengths;
+    private int count;
+
+    public NestedBuckets(int tableSize) {
+        this.buckets = new Object[tableSize][];
+        this.lengths = new int[tableSize];
+    }
+
+    @Override
+    public int add(int home, Object key) {
+        Object[] bucket = buckets[home];
+        if (bucket == null) {
+            bucket = new Object[INITIAL_BUCKET_SIZE];
+            buckets[home] = bucket;
+        } else if (lengths[home] == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            buckets[home] = bucket;
+        }
+
+        bucket[lengths[home]++] = key;
+        count++;
+        return lengths[home];
+    }
+
+    @Override
+    public int find(int home, Object key) {
+        Object[] bucket = buckets[home];
+        for (int i = 0; i < lengths[home]; i++) {
+            if (bucket[i].equals(key)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean remove(int home, Object key) {
+        int position = find(home, key);
+        if (position == -1) {
+            return false;
+        }
+        removeAt(home, position - 1);
+        return true;
+    }
+
+    @Override
+    public Object removeFirst(int home) {
+        if (lengths[home] == 0) {
+            return null;
+        }
+        Object first = buckets[home][0];
+        removeAt(home, 0);
+        return first;
+    }
+
+    private void removeAt(int home, int index) {
+        Object[] bucket = buckets[home];
+        int length = lengths[home];
+        System.arraycopy(bucket, index + 1, bucket, index, length - index - 1);
+        bucket[length - 1] = null;
+        lengths[home]--;
+        count--;
+    }
+
+    @Override
+    public Object[] getChain(int home) {
+        return lengths[home] == 0 ? new Object[0] : Arrays.copyOf(buckets[home], lengths[home]);
+    }
+
+    @Override
+    public int getChainLength(int home) {
+        return lengths[home];
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buckets, null);
+        Arrays.fill(lengths, 0);
+        count = 0;
+    }
+}
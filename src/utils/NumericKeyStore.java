@@ -0,0 +1,308 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Almacén primitivo para claves numéricas de longitud fija.
+ * Cada posición guarda la clave como long y un mapa de bits marca las ocupadas,
+ * de modo que una tabla de 100.000 posiciones no mantiene 100.000 objetos String.
+ * Un índice de direccionamiento abierto (clave -> posición) permite detectar
+ * duplicados y buscar en tiempo O(1) esperado. En el modo ordenado de DataStructure
+ * el índice se desactiva y las claves se desplazan con arraycopy.
+ */
+public class NumericKeyStore {
+    // Un long admite hasta 18 dígitos decimales sin desbordarse
+    public static final int MAX_DIGITS = 18;
+
+    // Claves comparadas por tramo en scan (divide a 64, así un tramo cae en una sola palabra de bits)
+    public static final int LANES = 8;
+
+    private static final long EMPTY_KEY = -1L;
+
+    private final long[] keys;
+    private final long[] occupancy;
+    private final int capacity;
+    private final int keyLength;
+    private int count;
+
+    // Índice hash clave -> posición (sondeo lineal con borrado por desplazamiento)
+    private final long[] indexKeys;
+    private final int[] indexSlots;
+    private final int indexMask;
+    private boolean indexed = true;
+
+    public NumericKeyStore(int capacity, int keyLength) {
+        this.capacity = capacity;
+        this.keyLength = keyLength;
+        this.keys = new long[capacity];
+        this.occupancy = new long[(capacity + 63) >>> 6];
+
+        int indexCapacity = Integer.highestOneBit(Math.max(16, capacity * 2 - 1)) << 1;
+        this.indexKeys = new long[indexCapacity];
+        this.indexSlots = new int[indexCapacity];
+        this.indexMask = indexCapacity - 1;
+        Arrays.fill(indexKeys, EMPTY_KEY);
+    }
+
+    public static boolean supports(int keyLength) {
+        return keyLength > 0 && keyLength <= MAX_DIGITS;
+    }
+
+    /**
+     * Convierte la clave a long si está formada solo por dígitos y tiene la longitud
+     * configurada; en otro caso devuelve -1.
+     */
+    public static long parse(Object key, int keyLength) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        String text = (String) key;
+        if (text.length() != keyLength || keyLength > MAX_DIGITS) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = 0; i < keyLength; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public long parse(Object key) {
+        return parse(key, keyLength);
+    }
+
+    // Reconstruye la clave con ceros a la izquierda
+    public String format(long key) {
+        return format(key, keyLength);
+    }
+
+    public static String format(long key, int keyLength) {
+        char[] digits = new char[keyLength];
+        for (int i = keyLength - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + (key % 10));
+            key /= 10;
+        }
+        return new String(digits);
+    }
+
+    public boolean isOccupied(int slot) {
+        return (occupancy[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public long get(int slot) {
+        return keys[slot];
+    }
+
+    public void put(int slot, long key) {
+        keys[slot] = key;
+        occupancy[slot >>> 6] |= 1L << slot;
+        if (indexed) {
+            indexInsert(key, slot);
+        }
+        count++;
+    }
+
+    public void clear(int slot) {
+        if (!isOccupied(slot)) {
+            return;
+        }
+        occupancy[slot >>> 6] &= ~(1L << slot);
+        if (indexed) {
+            indexRemove(keys[slot]);
+        }
+        count--;
+    }
+
+    // Desplaza las posiciones [from, end) una a la derecha y deja libre from (solo sin índice)
+    public void shiftRight(int from, int end) {
+        System.arraycopy(keys, from, keys, from + 1, end - from);
+        for (int i = end; i > from; i--) {
+            setOccupied(i, isOccupied(i - 1));
+        }
+        setOccupied(from, false);
+    }
+
+    // Desplaza las posiciones (from, end) una a la izquierda; from ya debe estar libre (solo sin índice)
+    public void shiftLeft(int from, int end) {
+        System.arraycopy(keys, from + 1, keys, from, end - from - 1);
+        for (int i = from; i < end - 1; i++) {
+            setOccupied(i, isOccupied(i + 1));
+        }
+        setOccupied(end - 1, false);
+    }
+
+    /**
+     * Ordena en el mismo arreglo: compacta las claves al inicio, las ordena con
+     * Arrays.parallelSort y deja ocupadas las posiciones [0, count). Reconstruye el índice.
+     */
+    public void sortCompact() {
+        int next = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isOccupied(slot)) {
+                keys[next++] = keys[slot];
+            }
+        }
+        Arrays.parallelSort(keys, 0, count);
+
+        Arrays.fill(occupancy, 0L);
+        Arrays.fill(occupancy, 0, count >>> 6, -1L);
+        if ((count & 63) != 0) {
+            occupancy[count >>> 6] = (1L << count) - 1;
+        }
+
+        if (indexed) {
+            Arrays.fill(indexKeys, EMPTY_KEY);
+            for (int slot = 0; slot < count; slot++) {
+                indexInsert(keys[slot], slot);
+            }
+        }
+    }
+
+    /**
+     * Activa o desactiva el índice clave -> posición. Sin índice indexOf recorre las posiciones;
+     * al reactivarlo se reconstruye con las claves presentes.
+     */
+    public void setIndexed(boolean indexed) {
+        if (this.indexed == indexed) {
+            return;
+        }
+        this.indexed = indexed;
+        Arrays.fill(indexKeys, EMPTY_KEY);
+        if (indexed) {
+            for (int slot = 0; slot < capacity; slot++) {
+                if (isOccupied(slot)) {
+                    indexInsert(keys[slot], slot);
+                }
+            }
+        }
+    }
+
+    public void clearAll() {
+        Arrays.fill(occupancy, 0L);
+        Arrays.fill(indexKeys, EMPTY_KEY);
+        count = 0;
+    }
+
+    public int indexOf(long key) {
+        if (key < 0) {
+            return -1;
+        }
+
+        if (!indexed) {
+            for (int slot = 0; slot < capacity; slot++) {
+                if (isOccupied(slot) && keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        int i = indexHash(key);
+        while (indexKeys[i] != EMPTY_KEY) {
+            if (indexKeys[i] == key) {
+                return indexSlots[i];
+            }
+            i = (i + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    /**
+     * Recorrido secuencial del arreglo de claves, sin usar el índice. Compara LANES claves
+     * por tramo y combina los resultados en una máscara sin saltos, que se cruza con los bits
+     * de ocupación; solo hay una bifurcación por tramo.
+     */
+    public int scan(long key) {
+        return scan(key, 0, capacity);
+    }
+
+    // Igual que scan(key) pero en las posiciones [from, to); from debe ser múltiplo de LANES
+    public int scan(long key, int from, int to) {
+        int full = to - (to - from) % LANES;
+        for (int base = from; base < full; base += LANES) {
+            long hits = 0;
+            for (int lane = 0; lane < LANES; lane++) {
+                hits |= (keys[base + lane] == key ? 1L : 0L) << lane;
+            }
+            hits &= occupancy[base >>> 6] >>> (base & 63);
+            if (hits != 0) {
+                return base + Long.numberOfTrailingZeros(hits);
+            }
+        }
+
+        for (int slot = full; slot < to; slot++) {
+            if (keys[slot] == key && isOccupied(slot)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // Claves ocupadas de [from, to) con low <= clave <= high
+    public int countInRange(long low, long high, int from, int to) {
+        int count = 0;
+        for (int slot = from; slot < to; slot++) {
+            if (keys[slot] >= low && keys[slot] <= high && isOccupied(slot)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getCount() { return count; }
+    public boolean isIndexed() { return indexed; }
+    public int getCapacity() { return capacity; }
+    public int getKeyLength() { return keyLength; }
+
+    private void setOccupied(int slot, boolean occupied) {
+        if (occupied) {
+            occupancy[slot >>> 6] |= 1L << slot;
+        } else {
+            occupancy[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    private int indexHash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & indexMask;
+    }
+
+    private void indexInsert(long key, int slot) {
+        int i = indexHash(key);
+        while (indexKeys[i] != EMPTY_KEY) {
+            i = (i + 1) & indexMask;
+        }
+        indexKeys[i] = key;
+        indexSlots[i] = slot;
+    }
+
+    private void indexRemove(long key) {
+        int i = indexHash(key);
+        while (indexKeys[i] != key) {
+            if (indexKeys[i] == EMPTY_KEY) {
+                return;
+            }
+            i = (i + 1) & indexMask;
+        }
+
+        // Desplazar hacia atrás las entradas siguientes para no dejar huecos en la cadena
+        int gap = i;
+        int j = (i + 1) & indexMask;
+        while (indexKeys[j] != EMPTY_KEY) {
+            int home = indexHash(indexKeys[j]);
+            if (((j - home) & indexMask) >= ((j - gap) & indexMask)) {
+                indexKeys[gap] = indexKeys[j];
+                indexSlots[gap] = indexSlots[j];
+                gap = j;
+            }
+            j = (j + 1) & indexMask;
+        }
+        indexKeys[gap] = EMPTY_KEY;
+    }
+}
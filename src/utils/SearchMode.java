@@ -0,0 +1,49 @@
+package utils;
+
+/**
+ * Estrategia para buscar sobre claves ordenadas, con el texto que muestran las ventanas.
+ * La interpolación estima la posición a partir del valor numérico de la clave (útil con
+ * claves casi uniformes); la exponencial duplica el salto hasta acotar la clave y luego
+ * termina con búsqueda binaria. Eytzinger busca sobre una copia congelada de la tabla
+ * ordenada por niveles (solo para DataStructure).
+ */
+public enum SearchMode {
+    BINARY("Binaria"),
+    INTERPOLATION("Interpolación"),
+    EXPONENTIAL("Exponencial"),
+    EYTZINGER("Eytzinger");
+
+    private final String label;
+
+    SearchMode(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public static String[] labels() {
+        return labels(values());
+    }
+
+    public static String[] labels(SearchMode... modes) {
+        String[] labels = new String[modes.length];
+        for (int i = 0; i < modes.length; i++) {
+            labels[i] = modes[i].label;
+        }
+        return labels;
+    }
+
+    public static SearchMode fromLabel(String label) throws Exception {
+        for (SearchMode mode : values()) {
+            if (mode.label.equals(label)) {
+                return mode;
+            }
+        }
+        throw new Exception("Modo de búsqueda no implementado");
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,78 @@
+package utils;
+
+/**
+ * Clave normalizada para ordenar y buscar. Si el texto es un número (hasta 18 dígitos,
+ * con signo opcional) se convierte a long una sola vez; si no, se compara como texto.
+ * Dos claves numéricas se comparan por valor y en cualquier otro caso por texto;
+ * todas las estructuras ordenan y buscan con este mismo criterio.
+ */
+public final class SortKey implements Comparable<SortKey> {
+    private static final int MAX_DIGITS = 18;
+    private static final long NOT_NUMERIC = Long.MIN_VALUE;
+
+    private final Object key;
+    private final String text;
+    private final long number;
+
+    private SortKey(Object key, String text, long number) {
+        this.key = key;
+        this.text = text;
+        this.number = number;
+    }
+
+    public static SortKey of(Object key) {
+        String text = key.toString();
+        return new SortKey(key, text, parse(text));
+    }
+
+    // Clave ya convertida a número (p. ej. desde NumericKeyStore)
+    public static SortKey ofNumber(Object key, long number) {
+        return new SortKey(key, key.toString(), number);
+    }
+
+    // Compara dos claves sin normalizar; para comparaciones sueltas fuera de los ciclos
+    public static int compare(Object a, Object b) {
+        return of(a).compareTo(of(b));
+    }
+
+    @Override
+    public int compareTo(SortKey other) {
+        if (number != NOT_NUMERIC && other.number != NOT_NUMERIC) {
+            return Long.compare(number, other.number);
+        }
+        return text.compareTo(other.text);
+    }
+
+    public Object getKey() { return key; }
+    public boolean isNumeric() { return number != NOT_NUMERIC; }
+    public long getNumber() { return number; }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static long parse(String text) {
+        int length = text.length();
+        int start = 0;
+        boolean negative = false;
+
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            start = 1;
+        }
+        if (length == start || length - start > MAX_DIGITS) {
+            return NOT_NUMERIC;
+        }
+
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_NUMERIC;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,135 @@
+package utils;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal de mensajes del terminal. Cualquier hilo encola líneas sin bloquearse y un
+ * temporizador de Swing las vuelca en una sola actualización del documento por cuadro.
+ * El terminal conserva como máximo maxLines líneas: las más antiguas se descartan.
+ */
+public class TerminalLogSink {
+    public static final int DEFAULT_MAX_LINES = 2000;
+    public static final int FLUSH_INTERVAL_MS = 33;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(-1, "");
+
+    private final JTextArea terminalArea;
+    private final ConcurrentLinkedQueue<String> pending;
+    private final AtomicInteger pendingCount;
+    private final AtomicInteger droppedCount;
+    private final Timer flushTimer;
+    private volatile int maxLines;
+
+    public TerminalLogSink(JTextArea terminalArea) {
+        this.terminalArea = terminalArea;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.pendingCount = new AtomicInteger();
+        this.droppedCount = new AtomicInteger();
+        this.maxLines = DEFAULT_MAX_LINES;
+        this.flushTimer = new Timer(FLUSH_INTERVAL_MS, e -> flush());
+        this.flushTimer.setCoalesce(true);
+        this.flushTimer.start();
+    }
+
+    // Encola una línea ya formateada; si la cola supera el límite se pierde la más antigua
+    public void log(String line) {
+        pending.offer(line);
+        if (pendingCount.incrementAndGet() > maxLines && pending.poll() != null) {
+            pendingCount.decrementAndGet();
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    // Vuelca lo pendiente en el terminal (hilo de eventos)
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        StringBuilder batch = new StringBuilder();
+        int dropped = droppedCount.getAndSet(0);
+        if (dropped > 0) {
+            batch.append(String.format("... %d mensajes omitidos\n", dropped));
+        }
+
+        String line;
+        while ((line = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.append(line);
+        }
+
+        terminalArea.append(batch.toString());
+        trimToMaxLines();
+        terminalArea.setCaretPosition(terminalArea.getDocument().getLength());
+    }
+
+    public void clear() {
+        pending.clear();
+        pendingCount.set(0);
+        droppedCount.set(0);
+        terminalArea.setText("");
+    }
+
+    public void stop() {
+        flushTimer.stop();
+    }
+
+    public int getMaxLines() { return maxLines; }
+
+    public void setMaxLines(int maxLines) {
+        if (maxLines <= 0) {
+            throw new IllegalArgumentException("El máximo de líneas debe ser positivo");
+        }
+        this.maxLines = maxLines;
+    }
+
+    // Hora del mensaje; el texto se reutiliza mientras no cambie el segundo
+    public static String timestamp() {
+        // La clave y el texto salen del mismo instante
+        long now = System.currentTimeMillis();
+        long second = now / 1000;
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.second != second) {
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+            cached = new CachedTimestamp(second, time.format(TIMESTAMP_FORMAT));
+            cachedTimestamp = cached;
+        }
+        return cached.text;
+    }
+
+    private void trimToMaxLines() {
+        Document document = terminalArea.getDocument();
+        Element root = document.getDefaultRootElement();
+        // El último elemento es la línea vacía tras el salto final
+        int excess = root.getElementCount() - 1 - maxLines;
+        if (excess <= 0) {
+            return;
+        }
+
+        try {
+            document.remove(0, root.getElement(excess).getStartOffset());
+        } catch (BadLocationException ex) {
+            terminalArea.setText("");
+        }
+    }
+
+    private static final class CachedTimestamp {
+        final long second;
+        final String text;
+
+        CachedTimestamp(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package utils;
+
+/**
+ * Cuánto registra una búsqueda: FULL guarda cada paso con su descripción (para la
+ * animación y el terminal), COUNTS_ONLY solo cuenta los accesos y NONE no registra nada.
+ */
+public enum TraceMode {
+    FULL,
+    COUNTS_ONLY,
+    NONE;
+
+    public boolean recordsSteps() {
+        return this == FULL;
+    }
+
+    public boolean countsAccesses() {
+        return this != NONE;
+    }
+}
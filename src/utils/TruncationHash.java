@@ -0,0 +1,79 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Truncamiento: concatena los dígitos de posiciones fijas, módulo el tamaño de la tabla
+public class TruncationHash implements HashFunction {
+    private final int tableSize;
+    private final int keyLength;
+    private final int[] positions;
+    private final long[] positionDivisors;
+
+    public TruncationHash(int tableSize, int keyLength, String positionsText) throws Exception {
+        this.tableSize = tableSize;
+        this.keyLength = keyLength;
+        this.positions = parsePositions(positionsText, keyLength);
+
+        this.positionDivisors = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            positionDivisors[i] = POWERS_OF_TEN[keyLength - positions[i]];
+        }
+    }
+
+    // Posiciones desde 1 separadas por comas (ej: 1,4,7); se ignoran las que exceden la clave
+    public static int[] parsePositions(String positionsText, int keyLength) throws Exception {
+        String[] parts = positionsText.split(",");
+        int[] parsed = new int[parts.length];
+        int count = 0;
+
+        for (String part : parts) {
+            int position;
+            try {
+                position = Integer.parseInt(part.trim());
+            } catch (NumberFormatException e) {
+                throw new Exception("Formato de posiciones inválido. Use: 1,4,7");
+            }
+            if (position >= 1 && position <= keyLength) {
+                parsed[count++] = position;
+            }
+        }
+
+        if (count == 0) {
+            throw new Exception("No se pudieron extraer dígitos válidos");
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(parsed, 0, result, 0, count);
+        return result;
+    }
+
+    @Override
+    public int hash(long key) {
+        return (int) (extract(key) % tableSize) + 1;
+    }
+
+    private long extract(long key) {
+        long value = 0;
+        for (long divisor : positionDivisors) {
+            value = value * 10 + (key / divisor) % 10;
+        }
+        return value;
+    }
+
+    @Override
+    public List<String> explain(long key) {
+        List<String> steps = new ArrayList<>();
+        steps.add(String.format("Calculando hash por truncamiento para clave: %0" + keyLength + "d", key));
+        steps.add(String.format("Posiciones a extraer: %s", java.util.Arrays.toString(positions)));
+
+        for (int i = 0; i < positions.length; i++) {
+            steps.add(String.format("Posición %d: '%d'", positions[i], (key / positionDivisors[i]) % 10));
+        }
+
+        long extracted = extract(key);
+        steps.add(String.format("Dígitos extraídos: %0" + positions.length + "d = %d", extracted, extracted));
+        steps.add(String.format("Hash calculado: (%d %% %d) + 1 = %d", extracted, tableSize, hash(key)));
+        return steps;
+    }
+}